@@ -0,0 +1,77 @@
+package org.ecn.benchmark;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+
+import java.util.Random;
+
+/**
+ * Positions shared by benchmarks, built deterministically so that runs can be compared
+ */
+final class BenchmarkPositions {
+
+    /**
+     * Number of played turns for each mid-game position, from early to late mid-game
+     */
+    static final int[] MID_GAME_TURNS = {8, 16, 24};
+
+    private BenchmarkPositions() {
+        throw new IllegalStateException("Utility class: " + getClass());
+    }
+
+    /**
+     * Play random legal turns from the initial board, black playing first as in {@link org.ecn.BoardController}.
+     * Games ending before the requested number of turns are replayed with another seed.
+     *
+     * @param tailleBoard board size
+     * @param engine      engine of the returned board
+     * @param position    index in {@link #MID_GAME_TURNS}
+     * @return a board where black has to play as an even number of turns is played
+     */
+    static Board midGame(int tailleBoard, Board.Engine engine, int position) {
+        MoveBuffer moves = new MoveBuffer();
+        for (long seed = 31L * tailleBoard + position; ; seed += 1000) {
+            Random random = new Random(seed);
+            Board board = new Board(tailleBoard, engine);
+            boolean isWhiteTurn = false;
+            int playedTurns = 0;
+            while (playedTurns < MID_GAME_TURNS[position] && board.generateLegalMoves(isWhiteTurn, moves) > 0) {
+                if (board.playMove(moves.get(random.nextInt(moves.size())))) {
+                    isWhiteTurn = !isWhiteTurn;
+                    playedTurns++;
+                }
+            }
+            if (playedTurns == MID_GAME_TURNS[position] && !board.didGameOver()) {
+                return board;
+            }
+        }
+    }
+
+    /**
+     * White pawn at 7, 2 eats black pawns at 6, 3 then 4, 5 with directions 9 from 7, 2 then 9 from 5, 4
+     */
+    static Board pawnChain(int tailleBoard, Board.Engine engine) {
+        Board board = new Board(tailleBoard, engine);
+        board.clearBoard();
+        board.setPiece(7, 2, Board.WHITE_PAWN);
+        board.setPiece(6, 3, Board.BLACK_PAWN);
+        board.setPiece(4, 5, Board.BLACK_PAWN);
+        board.setPiece(1, 2, Board.BLACK_PAWN);
+        return board;
+    }
+
+    /**
+     * White queen at 7, 2 eats black pawns at 5, 4 then 3, 4 then 3, 2 with
+     * direction 9 steps 3 from 7, 2, direction 7 steps 2 from 4, 5 and direction 1 steps 2 from 2, 3
+     */
+    static Board queenChain(int tailleBoard, Board.Engine engine) {
+        Board board = new Board(tailleBoard, engine);
+        board.clearBoard();
+        board.setPiece(7, 2, Board.WHITE_QUEEN);
+        board.setPiece(5, 4, Board.BLACK_PAWN);
+        board.setPiece(3, 4, Board.BLACK_PAWN);
+        board.setPiece(3, 2, Board.BLACK_PAWN);
+        board.setPiece(1, 2, Board.BLACK_PAWN);
+        return board;
+    }
+}
@@ -0,0 +1,72 @@
+package org.ecn.benchmark;
+
+import org.ecn.Board;
+import org.ecn.BoardLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule queries run by {@link org.ecn.BoardController} on every turn, measured on mid-game positions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"8", "10", "14"})
+    public int tailleBoard;
+
+    /**
+     * Index in {@link BenchmarkPositions#MID_GAME_TURNS}
+     */
+    @Param({"0", "1", "2"})
+    public int position;
+
+    @Param({"ARRAY", "BITBOARD"})
+    public Board.Engine engine;
+
+    private Board board;
+    private List<BoardLocation> blackPawns;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkPositions.midGame(tailleBoard, engine, position);
+        blackPawns = board.getPawnsList(false);
+    }
+
+    /**
+     * Attack possibilities of every black pawn, as done by a full scan of the side to play
+     */
+    @Benchmark
+    public void getAttackPossibilitiesList(Blackhole blackhole) {
+        for (BoardLocation pawn : blackPawns) {
+            blackhole.consume(board.getAttackPossibilitiesList(pawn.getRow(), pawn.getCol()));
+        }
+    }
+
+    @Benchmark
+    public List<BoardLocation> getAttackersList() {
+        return board.getAttackersList(false);
+    }
+
+    @Benchmark
+    public boolean didGameOver() {
+        return board.didGameOver();
+    }
+}
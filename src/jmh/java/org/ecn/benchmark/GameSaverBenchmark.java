@@ -0,0 +1,68 @@
+package org.ecn.benchmark;
+
+import org.ecn.Board;
+import org.ecn.BoardController;
+import org.ecn.GameSaver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading a mid-game through {@link GameSaver}, including file system access
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSaverBenchmark {
+
+    @Param({"8", "10", "14"})
+    public int tailleBoard;
+
+    private BoardController boardController;
+    private File saveFile;
+    private File loadFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Board board = BenchmarkPositions.midGame(tailleBoard, Board.Engine.ARRAY, 1);
+        boardController = new BoardController(board, "Player one", "Player two");
+        saveFile = File.createTempFile("benchmark-save", ".json");
+        loadFile = File.createTempFile("benchmark-load", ".json");
+        GameSaver.saveGame(boardController, loadFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saveFile.toPath());
+        Files.deleteIfExists(loadFile.toPath());
+    }
+
+    @Benchmark
+    public File saveGame() throws IOException {
+        GameSaver.saveGame(boardController, saveFile);
+        return saveFile;
+    }
+
+    @Benchmark
+    public BoardController loadGame() throws IOException {
+        return GameSaver.loadGame(loadFile);
+    }
+}
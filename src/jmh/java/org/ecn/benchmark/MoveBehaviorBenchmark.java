@@ -0,0 +1,40 @@
+package org.ecn.benchmark;
+
+import org.ecn.MoveBehavior;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direction deduction used for every suggested attack and every generated move
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBehaviorBenchmark {
+
+    /**
+     * Diagonal moves of 1 to 3 steps in the 4 directions
+     */
+    private final int[] dx = {-1, 1, -1, 1, -2, 2, -2, 2, -3, 3, -3, 3};
+    private final int[] dy = {1, 1, -1, -1, 2, 2, -2, -2, 3, 3, -3, -3};
+
+    @Benchmark
+    public void getDirectionFromDxDy(Blackhole blackhole) {
+        for (int i = 0; i < dx.length; i++) {
+            blackhole.consume(MoveBehavior.getDirectionFromDxDy(dx[i], dy[i]));
+        }
+    }
+}
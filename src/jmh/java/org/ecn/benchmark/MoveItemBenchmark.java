@@ -0,0 +1,73 @@
+package org.ecn.benchmark;
+
+import org.ecn.Board;
+import org.ecn.GameEventListener;
+import org.ecn.exp.EatObligationException;
+import org.ecn.exp.InvalidDirectionException;
+import org.ecn.exp.OutOfBoardException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chained attacks played through {@link Board#moveItem(int, int, int, int)}.
+ * Each invocation plays on a fresh copy of the position, {@link #copyBoard()} gives the cost of that copy.
+ * <p>
+ * Boards play with {@link GameEventListener#NONE}, as copies do, so that no event is built during the measure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveItemBenchmark {
+
+    @Param({"8", "10", "14"})
+    public int tailleBoard;
+
+    @Param({"ARRAY", "BITBOARD"})
+    public Board.Engine engine;
+
+    private Board pawnChain;
+    private Board queenChain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pawnChain = BenchmarkPositions.pawnChain(tailleBoard, engine);
+        pawnChain.setGameEventListener(GameEventListener.NONE);
+        queenChain = BenchmarkPositions.queenChain(tailleBoard, engine);
+        queenChain.setGameEventListener(GameEventListener.NONE);
+    }
+
+    @Benchmark
+    public Board copyBoard() {
+        return new Board(queenChain);
+    }
+
+    @Benchmark
+    public boolean pawnChain() throws InvalidDirectionException, OutOfBoardException, EatObligationException {
+        Board board = new Board(pawnChain);
+        board.moveItem(7, 2, 9, 1);
+        return board.moveItem(5, 4, 9, 1);
+    }
+
+    @Benchmark
+    public boolean queenChain() throws InvalidDirectionException, OutOfBoardException, EatObligationException {
+        Board board = new Board(queenChain);
+        board.moveItem(7, 2, 9, 3);
+        board.moveItem(4, 5, 7, 2);
+        return board.moveItem(2, 3, 1, 2);
+    }
+}
@@ -0,0 +1,100 @@
+package org.ecn;
+
+/**
+ * Squares holding a piece with a pending attack, maintained by {@link Board} for {@link Board.Engine#ARRAY}
+ * so that {@link Board#getAttackersList(boolean)} does not rescan every piece of the board.
+ * <p>
+ * Changed squares are queued as the board changes, and only pieces whose attacks may depend on them are recomputed
+ * on the next query. Whether a piece can attack only depends on the squares it looks at:
+ * <ul>
+ *     <li>a normal pawn looks at the next two squares of each diagonal</li>
+ *     <li>a queen looks along its whole diagonals</li>
+ * </ul>
+ * So a change can only affect the changed square itself, pawns at most two squares away on its diagonals,
+ * and queens anywhere on its diagonals. Recomputing exactly these squares gives the same set as a full scan.
+ * When too many changes are queued between two queries, the whole set is recomputed instead.
+ */
+final class AttackerSet {
+
+    private static final int SQUARES = 256;
+    private static final int QUEUE_CAPACITY = 32;
+
+    /**
+     * Bit set of squares, indexed as defined in {@link BoardLocation#toSquare(int, int)}
+     */
+    private final long[] attackers = new long[SQUARES / 64];
+    private final long[] dirty = new long[SQUARES / 64];
+    private final int[] changedSquares = new int[QUEUE_CAPACITY];
+    private int changedCount;
+    private boolean isFullRefreshNeeded = true;
+
+    void changed(int square) {
+        if (isFullRefreshNeeded)
+            return;
+        if (changedCount == QUEUE_CAPACITY) {
+            isFullRefreshNeeded = true;
+            return;
+        }
+        changedSquares[changedCount++] = square;
+    }
+
+    /**
+     * Bring the set up to date with the board
+     */
+    void refresh(Board board) {
+        int tailleBoard = board.getTailleBoard();
+        if (isFullRefreshNeeded) {
+            for (int i = 1; i <= tailleBoard; i++) {
+                for (int j = 1; j <= tailleBoard; j++) {
+                    set(attackers, BoardLocation.toSquare(i, j), board.canAttack(i, j));
+                }
+            }
+            isFullRefreshNeeded = false;
+            changedCount = 0;
+            return;
+        }
+        if (changedCount == 0)
+            return;
+
+        DiagonalRays rays = DiagonalRays.of(tailleBoard);
+        for (int c = 0; c < changedCount; c++) {
+            set(dirty, changedSquares[c], true);
+            for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+                int[] ray = rays.ray(changedSquares[c], direction);
+                for (int k = 0; k < ray.length; k++) {
+                    if (k < 2 || board.isQueenPawn(BoardLocation.squareRow(ray[k]), BoardLocation.squareCol(ray[k])))
+                        set(dirty, ray[k], true);
+                }
+            }
+        }
+        changedCount = 0;
+
+        for (int word = 0; word < dirty.length; word++) {
+            while (dirty[word] != 0) {
+                int square = word << 6 | Long.numberOfTrailingZeros(dirty[word]);
+                dirty[word] &= dirty[word] - 1;
+                set(attackers, square, board.canAttack(BoardLocation.squareRow(square), BoardLocation.squareCol(square)));
+            }
+        }
+    }
+
+    /**
+     * @return first attacker square from given square in row major order, or -1 if none
+     */
+    int nextAttacker(int fromSquare) {
+        for (int word = fromSquare >>> 6; word < attackers.length; word++) {
+            long bits = word == fromSquare >>> 6 ? attackers[word] & -1L << fromSquare : attackers[word];
+            if (bits != 0)
+                return word << 6 | Long.numberOfTrailingZeros(bits);
+        }
+        return -1;
+    }
+
+    private static void set(long[] bits, int square, boolean value) {
+        if (value) {
+            bits[square >>> 6] |= 1L << square;
+        } else {
+            bits[square >>> 6] &= ~(1L << square);
+        }
+    }
+}
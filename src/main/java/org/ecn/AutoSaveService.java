@@ -0,0 +1,160 @@
+package org.ecn;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Save a game in the background, so that a slow disk never holds the game thread.
+ * <p>
+ * {@link #save(BoardController)} only takes a snapshot of the game as bytes, then returns.
+ * A single writer thread writes the latest snapshot with {@link GameSaver}: snapshots taken while it is writing
+ * replace each other, so rapid saves of the same game end in one write of the last one.
+ * Every write goes through a temporary file renamed over the target.
+ */
+public class AutoSaveService implements Closeable {
+
+    private final Path targetFile;
+    private final boolean isBinary;
+    private final ExecutorService writer;
+    /**
+     * Latest snapshot not written yet, <code>null</code> when the writer is up to date
+     */
+    private final AtomicReference<byte[]> pendingSnapshot = new AtomicReference<>();
+    private final AtomicReference<IOException> lastError = new AtomicReference<>();
+    private final AtomicLong saveCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    /**
+     * @param isBinary <code>true</code> to save as {@link GameSaver#saveGameBinary(BoardController, File)},
+     *                 <code>false</code> as {@link GameSaver#saveGame(BoardController, File)}
+     */
+    public AutoSaveService(File targetFile, boolean isBinary) {
+        this(targetFile, isBinary, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * @param writer single thread running the writes, shut down by {@link #close()}
+     */
+    AutoSaveService(File targetFile, boolean isBinary, ExecutorService writer) {
+        this.targetFile = targetFile.toPath();
+        this.isBinary = isBinary;
+        this.writer = writer;
+    }
+
+    public File getTargetFile() {
+        return targetFile.toFile();
+    }
+
+    /**
+     * Take a snapshot of the game, written later by the writer thread.
+     * To be called from the thread playing the game, between two moves.
+     *
+     * @throws IOException if the game cannot be serialized
+     */
+    public void save(BoardController boardController) throws IOException {
+        byte[] snapshot = GameSaver.toBytes(boardController, isBinary);
+        saveCount.incrementAndGet();
+        if (pendingSnapshot.getAndSet(snapshot) == null) {
+            // no write waiting for a snapshot yet
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        byte[] snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot == null)
+            return;
+        try {
+            GameSaver.writeAtomically(snapshot, targetFile);
+            writeCount.incrementAndGet();
+        } catch (IOException e) {
+            lastError.set(e);
+        }
+    }
+
+    /**
+     * Wait until every snapshot taken so far is written
+     *
+     * @throws IOException if a write failed since the last call, the error being then cleared
+     */
+    public void flush() throws IOException {
+        try {
+            awaitWrites(writer.submit(() -> {
+            }), Long.MAX_VALUE);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Endless wait timed out", e);
+        }
+    }
+
+    /**
+     * Wait at most given time until every snapshot taken so far is written
+     *
+     * @return <code>false</code> if the time elapsed first
+     * @throws IOException if a write failed since the last call, the error being then cleared
+     */
+    public boolean await(long millis) throws IOException {
+        try {
+            awaitWrites(writer.submit(() -> {
+            }), millis);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void awaitWrites(Future<?> marker, long millis) throws IOException, TimeoutException {
+        try {
+            marker.get(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for autosave", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Autosave thread failed", e.getCause());
+        }
+        IOException error = lastError.getAndSet(null);
+        if (error != null)
+            throw error;
+    }
+
+    /**
+     * @return number of calls to {@link #save(BoardController)}
+     */
+    public long getSaveCount() {
+        return saveCount.get();
+    }
+
+    /**
+     * @return number of snapshots written, at most {@link #getSaveCount()} as rapid saves are coalesced
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Write the last snapshot then stop the writer thread
+     */
+    @Override
+    public void close() throws IOException {
+        if (writer.isShutdown())
+            return;
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+        }
+    }
+}
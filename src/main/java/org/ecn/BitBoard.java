@@ -0,0 +1,265 @@
+package org.ecn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bitboard engine used by {@link Board} when created with {@link Board.Engine#BITBOARD}.
+ * <p>
+ * Only squares of one diagonal color are reachable from each other, so each color is stored as its own layer:
+ * layer 0 holds squares where row and column parity differ (the dark squares used by {@link Board#Board(int)}),
+ * layer 1 holds the other ones. Inside a layer, rows are packed 2 by 2 with a ghost bit after each pair
+ * so that every diagonal step is the same shift everywhere on the board:
+ * <pre>
+ *     7 : -(h + 1)     9 : -h
+ *     1 : +h           3 : +(h + 1)
+ * </pre>
+ * where h is the number of slots per row. A step leaving the board always lands on a ghost or an invalid bit,
+ * which lets capture detection run as shift and mask operations over all pieces at once.
+ * <p>
+ * Boards up to 14x14 need at most 119 bits per layer, each mask is then stored as 2 longs (low and high word).
+ */
+final class BitBoard {
+
+    private static final int LAYERS = 2;
+    /**
+     * Black pawn, black queen, white pawn, white queen, dead pawn and occupied squares
+     */
+    private static final int KINDS = 6;
+    private static final int DEAD_KIND = 4;
+    private static final int OCCUPIED_KIND = 5;
+    private static final int MAX_BITS = 128;
+    /**
+     * Largest board size whose dark squares fit in the masks
+     */
+    static final int MAX_SIZE = 14;
+
+    private final int tailleBoard;
+    private final int slotsPerRow;
+    private final int rowPairStride;
+    /**
+     * Shift for each direction in {@link Board#ALLOWED_DIRECTIONS} order (1, 3, 7, 9)
+     */
+    private final int[] directionDeltas;
+    private final long[] validMasks = new long[LAYERS * 2];
+    private final long[] masks = new long[LAYERS * KINDS * 2];
+
+    BitBoard(int tailleBoard) {
+        if (tailleBoard < 1 || tailleBoard > MAX_SIZE) {
+            throw new IllegalArgumentException("Bitboard engine supports board size from 1 to " + MAX_SIZE + ", got " + tailleBoard);
+        }
+        this.tailleBoard = tailleBoard;
+        // columns are shifted by one on layer 1, so a layer spans tailleBoard + 1 virtual columns
+        this.slotsPerRow = (tailleBoard + 2) / 2;
+        this.rowPairStride = 2 * slotsPerRow + 1;
+        this.directionDeltas = new int[]{slotsPerRow, slotsPerRow + 1, -(slotsPerRow + 1), -slotsPerRow};
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                setBit(validMasks, layerOf(i, j), bitOf(i, j));
+            }
+        }
+    }
+
+    BitBoard(BitBoard other) {
+        this.tailleBoard = other.tailleBoard;
+        this.slotsPerRow = other.slotsPerRow;
+        this.rowPairStride = other.rowPairStride;
+        this.directionDeltas = other.directionDeltas;
+        System.arraycopy(other.validMasks, 0, validMasks, 0, validMasks.length);
+        System.arraycopy(other.masks, 0, masks, 0, masks.length);
+    }
+
+    /**
+     * Rebuild all masks from the given board array
+     *
+     * @param boardArray board array as stored in {@link Board}
+     */
+    void load(int[][] boardArray) {
+        Arrays.fill(masks, 0L);
+        for (int i = 1; i <= tailleBoard && i < boardArray.length; i++) {
+            for (int j = 1; j <= tailleBoard && j < boardArray[i].length; j++) {
+                update(i, j, Board.EMPTY_PLACE, boardArray[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Mirror a change of one square of the board array
+     */
+    void update(int rowIndex, int colIndex, int previousPiece, int newPiece) {
+        int layer = layerOf(rowIndex, colIndex);
+        int bit = bitOf(rowIndex, colIndex);
+        if (previousPiece != Board.EMPTY_PLACE) {
+            clearBit(masks, layer * KINDS + kindOf(previousPiece), bit);
+            clearBit(masks, layer * KINDS + OCCUPIED_KIND, bit);
+        }
+        if (newPiece != Board.EMPTY_PLACE) {
+            setBit(masks, layer * KINDS + kindOf(newPiece), bit);
+            setBit(masks, layer * KINDS + OCCUPIED_KIND, bit);
+        }
+    }
+
+    /**
+     * Same semantic as {@link Board#getAttackPossibilitiesList(int, int)}, walking bit by bit along each diagonal
+     *
+     * @param piece the piece located at (rowIndex, colIndex), must be an alive pawn or queen
+     */
+    List<BoardLocation> getAttackPossibilitiesList(int rowIndex, int colIndex, int piece) {
+        List<BoardLocation> attackList = new ArrayList<>();
+        int layer = layerOf(rowIndex, colIndex);
+        int opponentPawns = layer * KINDS + kindOf(isWhite(piece) ? Board.BLACK_PAWN : Board.WHITE_PAWN);
+        int occupied = layer * KINDS + OCCUPIED_KIND;
+        int steps = piece == Board.BLACK_PAWN || piece == Board.WHITE_PAWN ? 1 : tailleBoard;
+        int origin = bitOf(rowIndex, colIndex);
+        for (int delta : directionDeltas) {
+            int eaten = origin + delta;
+            for (int i = 1; i <= steps && isValid(layer, eaten); i++, eaten += delta) {
+                if (!testBit(masks, occupied, eaten)) {
+                    continue;
+                }
+                int landing = eaten + delta;
+                if ((testBit(masks, opponentPawns, eaten) || testBit(masks, opponentPawns + 1, eaten))
+                        && isValid(layer, landing) && !testBit(masks, occupied, landing)) {
+                    attackList.add(new BoardLocation(rowOf(eaten), colOf(layer, eaten)));
+                }
+                break;
+            }
+        }
+        return attackList;
+    }
+
+    /**
+     * Same semantic as {@link Board#getAttackersList(boolean)}, computed for all pieces at once:
+     * <ol>
+     *     <li>capturable squares are opponent squares followed by an empty square</li>
+     *     <li>pawns attack if they stand right before a capturable square</li>
+     *     <li>queens attack if an empty path leads them right before a capturable square</li>
+     * </ol>
+     */
+    List<BoardLocation> getAttackersList(boolean isUsingWhitePawns) {
+        int ownKind = kindOf(isUsingWhitePawns ? Board.WHITE_PAWN : Board.BLACK_PAWN);
+        int opponentKind = kindOf(isUsingWhitePawns ? Board.BLACK_PAWN : Board.WHITE_PAWN);
+        int[] squares = new int[2 * Long.SIZE * LAYERS];
+        int count = 0;
+        for (int layer = 0; layer < LAYERS; layer++) {
+            int base = layer * KINDS;
+            long pawnsLo = masks[(base + ownKind) * 2];
+            long pawnsHi = masks[(base + ownKind) * 2 + 1];
+            long queensLo = masks[(base + ownKind + 1) * 2];
+            long queensHi = masks[(base + ownKind + 1) * 2 + 1];
+            long opponentLo = masks[(base + opponentKind) * 2] | masks[(base + opponentKind + 1) * 2];
+            long opponentHi = masks[(base + opponentKind) * 2 + 1] | masks[(base + opponentKind + 1) * 2 + 1];
+            long emptyLo = validMasks[layer * 2] & ~masks[(base + OCCUPIED_KIND) * 2];
+            long emptyHi = validMasks[layer * 2 + 1] & ~masks[(base + OCCUPIED_KIND) * 2 + 1];
+            if ((pawnsLo | pawnsHi | queensLo | queensHi) == 0) {
+                continue;
+            }
+
+            long attackersLo = 0;
+            long attackersHi = 0;
+            for (int delta : directionDeltas) {
+                long capturableLo = opponentLo & precedingLo(emptyLo, emptyHi, delta);
+                long capturableHi = opponentHi & precedingHi(emptyLo, emptyHi, delta);
+                long reachLo = precedingLo(capturableLo, capturableHi, delta);
+                long reachHi = precedingHi(capturableLo, capturableHi, delta);
+                attackersLo |= pawnsLo & reachLo;
+                attackersHi |= pawnsHi & reachHi;
+                // extend backward through empty squares to find queens attacking from distance
+                long walkLo = reachLo & emptyLo;
+                long walkHi = reachHi & emptyHi;
+                while ((walkLo | walkHi) != 0) {
+                    long nextLo = precedingLo(walkLo, walkHi, delta);
+                    long nextHi = precedingHi(walkLo, walkHi, delta);
+                    walkLo = nextLo & ~reachLo;
+                    walkHi = nextHi & ~reachHi;
+                    reachLo |= nextLo;
+                    reachHi |= nextHi;
+                    walkLo &= emptyLo;
+                    walkHi &= emptyHi;
+                }
+                attackersLo |= queensLo & reachLo;
+                attackersHi |= queensHi & reachHi;
+            }
+            count = collectSquares(layer, attackersLo, 0, squares, count);
+            count = collectSquares(layer, attackersHi, Long.SIZE, squares, count);
+        }
+        // packed squares sort in the same row major order as a scan of the board array
+        Arrays.sort(squares, 0, count);
+        List<BoardLocation> attackersList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            attackersList.add(new BoardLocation(BoardLocation.squareRow(squares[i]), BoardLocation.squareCol(squares[i])));
+        }
+        return attackersList;
+    }
+
+    private int collectSquares(int layer, long word, int offset, int[] squares, int count) {
+        while (word != 0) {
+            int bit = offset + Long.numberOfTrailingZeros(word);
+            squares[count++] = BoardLocation.toSquare(rowOf(bit), colOf(layer, bit));
+            word &= word - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Low word of the set of squares whose neighbor in direction delta belongs to the given mask
+     */
+    private static long precedingLo(long lo, long hi, int delta) {
+        return delta > 0 ? (lo >>> delta) | (hi << (Long.SIZE - delta)) : lo << -delta;
+    }
+
+    /**
+     * High word of the set of squares whose neighbor in direction delta belongs to the given mask
+     */
+    private static long precedingHi(long lo, long hi, int delta) {
+        return delta > 0 ? hi >>> delta : (hi << -delta) | (lo >>> (Long.SIZE + delta));
+    }
+
+    private static boolean isWhite(int piece) {
+        return piece == Board.WHITE_PAWN || piece == Board.WHITE_QUEEN;
+    }
+
+    private static int kindOf(int piece) {
+        return piece == Board.DEAD_PAWN ? DEAD_KIND : piece - 1;
+    }
+
+    private static int layerOf(int rowIndex, int colIndex) {
+        return rowIndex % 2 == colIndex % 2 ? 1 : 0;
+    }
+
+    private int bitOf(int rowIndex, int colIndex) {
+        int virtualCol = colIndex + layerOf(rowIndex, colIndex);
+        int rowPair = (rowIndex - 1) / 2;
+        if (rowIndex % 2 == 1) {
+            return rowPair * rowPairStride + (virtualCol - 2) / 2;
+        }
+        return rowPair * rowPairStride + slotsPerRow + (virtualCol - 1) / 2;
+    }
+
+    private int rowOf(int bit) {
+        return 2 * (bit / rowPairStride) + (bit % rowPairStride < slotsPerRow ? 1 : 2);
+    }
+
+    private int colOf(int layer, int bit) {
+        int slot = bit % rowPairStride;
+        int virtualCol = slot < slotsPerRow ? 2 * slot + 2 : 2 * (slot - slotsPerRow) + 1;
+        return virtualCol - layer;
+    }
+
+    private boolean isValid(int layer, int bit) {
+        return bit >= 0 && bit < MAX_BITS && testBit(validMasks, layer, bit);
+    }
+
+    private static boolean testBit(long[] array, int mask, int bit) {
+        return (array[mask * 2 + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    private static void setBit(long[] array, int mask, int bit) {
+        array[mask * 2 + (bit >>> 6)] |= 1L << bit;
+    }
+
+    private static void clearBit(long[] array, int mask, int bit) {
+        array[mask * 2 + (bit >>> 6)] &= ~(1L << bit);
+    }
+}
@@ -1,7 +1,12 @@
 package org.ecn;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.ecn.exp.EatObligationException;
 import org.ecn.exp.InvalidDirectionException;
 import org.ecn.exp.OutOfBoardException;
@@ -10,7 +15,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * For the simplicity of the project, integer are used to designate Pawns,
@@ -37,6 +41,10 @@ public class Board {
      * check wiki <a href="https://fr.wikipedia.org/wiki/Dames#La_prise">Game eat rules</a>
      */
     public static final int DEAD_PAWN = -1;
+    /**
+     * Largest board size, so that squares of {@link BoardLocation#toSquare(int, int)} fit in a byte
+     */
+    public static final int MAX_SIZE = 15;
 
     /**
      * Allowed direction are only diagonals
@@ -45,13 +53,140 @@ public class Board {
      */
     public static final List<Integer> ALLOWED_DIRECTIONS = Collections.unmodifiableList(Arrays.asList(1, 3, 7, 9));
 
+    /**
+     * Debug mode, enabled with <code>-Dorg.ecn.checkAttackers=true</code>: every incrementally maintained attackers list
+     * is compared to a full scan of the board
+     */
+    private static final boolean CHECK_ATTACKERS = Boolean.getBoolean("org.ecn.checkAttackers");
+
+    /**
+     * Engine answering rule queries such as {@link #getAttackPossibilitiesList(int, int)} or {@link #getAttackersList(boolean)}.
+     * Pieces are always mirrored in {@link #boardArray}, so both engines share the same move semantics.
+     */
+    public enum Engine {
+        /**
+         * Rule queries walk the board array cell by cell
+         */
+        ARRAY(MAX_SIZE),
+        /**
+         * Rule queries are answered with shift and mask operations over dark square bitboards
+         *
+         * @see BitBoard
+         */
+        BITBOARD(BitBoard.MAX_SIZE);
+
+        private final int maxSize;
+
+        Engine(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * @return largest board size the engine supports
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+    }
+
+    /**
+     * Pieces indexed by row then column, only edited through {@link #putPiece(int, int, int)} and moves
+     */
+    @JsonProperty
     private int[][] boardArray;
 
     private int tailleBoard;
 
+    private Engine engine = Engine.ARRAY;
+
+    /**
+     * Masks mirroring {@link #boardArray}, built lazily when using {@link Engine#BITBOARD}
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BitBoard bitBoard;
+
+    /**
+     * Changes made by {@link #makeMove(int)}, allocated on first use
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private UndoStack undoStack;
+
+    /**
+     * Zobrist key of {@link #boardArray}, updated on every change
+     *
+     * @see Zobrist
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long zobristKey;
+
+    /**
+     * Number of alive pieces on the board, indexed by piece constant, updated on every change
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] pieceCounts = new int[WHITE_QUEEN + 1];
+
+    /**
+     * Pieces with a pending attack, built lazily when using {@link Engine#ARRAY}
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AttackerSet attackerSet;
+
+    /**
+     * Last move tried by {@link #tryMove(int, int, int, int)}, allocated on first use
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private MoveReport moveReport;
+
+    /**
+     * Receive the events of played moves, not copied along with the board
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private GameEventListener gameEventListener = GameEventListener.NONE;
+
     public Board(int tailleBoard) {
-        this.tailleBoard = tailleBoard;
+        this(tailleBoard, Engine.ARRAY);
+    }
+
+    /**
+     * @param tailleBoard board size, from 1 to {@link #MAX_SIZE}
+     */
+    public Board(int tailleBoard, Engine engine) {
+        this.tailleBoard = checkSize(tailleBoard, engine);
+        this.engine = engine;
         initializeBoard();
+        zobristKey = Zobrist.computeKey(boardArray);
+        countPieces();
+    }
+
+    private static int checkSize(int tailleBoard, Engine engine) {
+        if (tailleBoard < 1 || tailleBoard > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be from 1 to " + MAX_SIZE + ", got " + tailleBoard);
+        }
+        if (tailleBoard > engine.getMaxSize()) {
+            throw new IllegalArgumentException("Engine " + engine + " supports board size from 1 to " + engine.getMaxSize()
+                    + ", got " + tailleBoard);
+        }
+        return tailleBoard;
+    }
+
+    /**
+     * Deep copy of another board, useful to explore moves without touching the original board
+     *
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        this.tailleBoard = other.tailleBoard;
+        this.engine = other.engine;
+        this.boardArray = copy(other.boardArray);
+        this.zobristKey = other.zobristKey;
+        this.pieceCounts = other.pieceCounts.clone();
     }
 
     /**
@@ -109,98 +244,273 @@ public class Board {
      */
     public boolean moveItem(int rowIndex, int colIndex, int moveBehaviorDirection, int steps)
             throws InvalidDirectionException, OutOfBoardException, EatObligationException {
-        // cannot only move alive pawn
-        if (isEmptyPlace(rowIndex, colIndex) || isDeadPawn(rowIndex, colIndex))
-            // we can throw an exception also
-            return false;
-        boolean isNormalPawn = isNormalPawn(rowIndex, colIndex);
-        if (isNormalPawn) return moveAsNormalPawn(rowIndex, colIndex, moveBehaviorDirection);
-        else return moveAsQueenPawn(rowIndex, colIndex, moveBehaviorDirection, steps);
+        MoveResult result = tryMove(rowIndex, colIndex, moveBehaviorDirection, steps);
+        switch (result) {
+            case OK:
+            case TURN_CONTINUES:
+                return result == MoveResult.OK;
+            case INVALID_DIRECTION:
+                throw new InvalidDirectionException(getMoveDiagnostic());
+            case OUT_OF_BOARD:
+                throw new OutOfBoardException(getMoveDiagnostic());
+            case EAT_OBLIGATION:
+            case EAT_OUT_OF_REACH:
+                // controller should help user avoiding this exception by suggesting pawns to eat
+                throw new EatObligationException(getMoveDiagnostic());
+            case OCCUPIED:
+                // note all print on System.err can be elevated as defined exception,
+                // but for the simplicity of project we print the error in the standard error output stream,
+                // and we keep the turn with same player
+                if (!isDeadPawn(moveReport.targetRow, moveReport.targetCol))
+                    System.err.println(getMoveDiagnostic());
+                return false;
+            case CANNOT_ATTACK:
+                System.err.println(getMoveDiagnostic());
+                return false;
+            default:
+                return false;
+        }
     }
 
     /**
+     * Same rules as {@link #moveItem(int, int, int, int)}, without throwing anything:
+     * rule violations are returned as a {@link MoveResult}, and explained on request by {@link #getMoveDiagnostic()}.
+     *
      * @param rowIndex              the target row item to move
      * @param colIndex              the target column item to move
      * @param moveBehaviorDirection direction as defined in class {@link MoveBehavior}
-     * @param steps                 number of steps to perform, if steps exceed the limit then maximum allowed steps is made
-     * @return <code>true</code> if turn of current player end i.e. swap to other player <br/>
-     * <code>false</code> if move wasn't successful (ex.occupied case) or player is forced to continue his turn (such as enchained eating)
+     * @param steps                 number of steps to perform as Queen, discarded in case of normal pions
+     * @return {@link MoveResult#OK} or {@link MoveResult#TURN_CONTINUES} if the move was made,
+     * otherwise the violated rule and the board is left untouched
      */
-    private boolean moveAsQueenPawn(final int rowIndex, final int colIndex, int moveBehaviorDirection, int steps)
-            throws InvalidDirectionException, EatObligationException, OutOfBoardException {
+    public MoveResult tryMove(int rowIndex, int colIndex, int moveBehaviorDirection, int steps) {
+        if (moveReport == null) {
+            moveReport = new MoveReport();
+        }
+        moveReport.start(rowIndex, colIndex, moveBehaviorDirection, steps);
+        // cannot only move alive pawn
+        if (isLocationOutOfBoard(rowIndex, colIndex) || !(isWhitePion(rowIndex, colIndex) || isBlackPion(rowIndex, colIndex)))
+            return moveReport.finish(MoveResult.NO_PIECE);
+        int direction = MoveBehavior.diagonalIndex(moveBehaviorDirection);
+        if (direction < 0)
+            return moveReport.finish(MoveResult.INVALID_DIRECTION);
+        boolean isWhite = isWhitePion(rowIndex, colIndex);
+        MoveResult result = isNormalPawn(rowIndex, colIndex)
+                ? tryNormalPawnMove(rowIndex, colIndex, direction)
+                : tryQueenMove(rowIndex, colIndex, direction, steps);
+        if (result.isMade() && gameEventListener != GameEventListener.NONE) {
+            moveReport.sendEvents(gameEventListener, isWhite, result == MoveResult.OK);
+        }
+        return moveReport.finish(result);
+    }
 
-        // check if direction is allowed and throw exception if not
-        checkDirectionIfAllowed(moveBehaviorDirection);
+    /**
+     * Validate and play a whole chain of attacks in one call: either every hop is played, or none.
+     * <p>
+     * Hops follow the rules of {@link #tryMove(int, int, int, int)} and each one must eat a pawn.
+     * Dead pawns are cleared and promotion happens once, after the last hop, as when hops are played one by one.
+     * Events are only sent once the whole sequence is played.
+     *
+     * @param fromSquare square of the attacking pawn, as defined in {@link BoardLocation#toSquare(int, int)}
+     * @param path       squares the pawn lands on, one per eaten pawn
+     * @return {@link MoveResult#OK} if the sequence ends the turn,
+     * {@link MoveResult#TURN_CONTINUES} if the pawn can still eat after the last hop,
+     * otherwise the violated rule and the board is left untouched:
+     * the result of {@link #tryMove(int, int, int, int)} if the first hop is refused,
+     * {@link MoveResult#INVALID_SEQUENCE} for any other invalid hop
+     */
+    public MoveResult playCaptureSequence(int fromSquare, int[] path) {
+        if (undoStack == null) {
+            undoStack = new UndoStack();
+        }
+        int[] eatenSquares = gameEventListener != GameEventListener.NONE ? new int[path.length] : null;
+        GameEventListener listener = gameEventListener;
+        gameEventListener = GameEventListener.NONE;
+        undoStack.beginMove(0);
+        MoveResult result = MoveResult.INVALID_SEQUENCE;
+        try {
+            result = playHops(fromSquare, path, eatenSquares);
+        } finally {
+            gameEventListener = listener;
+            undoStack.endMove();
+            if (result.isMade()) {
+                undoStack.dropMove();
+            } else {
+                unmakeMove();
+            }
+        }
+        if (eatenSquares != null && result.isMade()) {
+            int square = fromSquare;
+            for (int k = 0; k < path.length; k++) {
+                gameEventListener.captured(BoardLocation.squareRow(eatenSquares[k]), BoardLocation.squareCol(eatenSquares[k]));
+                gameEventListener.moved(BoardLocation.squareRow(square), BoardLocation.squareCol(square),
+                        BoardLocation.squareRow(path[k]), BoardLocation.squareCol(path[k]));
+                square = path[k];
+            }
+            boolean isWhite = isWhitePion(BoardLocation.squareRow(square), BoardLocation.squareCol(square));
+            if (moveReport.isPromoted)
+                gameEventListener.promoted(BoardLocation.squareRow(square), BoardLocation.squareCol(square), isWhite);
+            if (result == MoveResult.OK)
+                gameEventListener.turnEnded(isWhite);
+        }
+        return result;
+    }
 
-        int moveDrow = MoveBehavior.DIRECTION_TO_DY.get(moveBehaviorDirection);
-        int moveDcol = MoveBehavior.DIRECTION_TO_DX.get(moveBehaviorDirection);
-        int pawnToMove = boardArray[rowIndex][colIndex];
-        List<BoardLocation> attackList = getAttackPossibilitiesList(rowIndex, colIndex);
-        BoardLocation mustBeEaten = attackList.stream().filter(t -> t.deduceDirectionFromSource(rowIndex, colIndex) == moveBehaviorDirection)
-                .findFirst().orElse(null);
+    private MoveResult playHops(int fromSquare, int[] path, int[] eatenSquares) {
+        if (path.length == 0)
+            return startReport(fromSquare).finish(MoveResult.INVALID_SEQUENCE);
+        int square = fromSquare;
+        MoveResult result = MoveResult.TURN_CONTINUES;
+        for (int k = 0; k < path.length; k++) {
+            int dRow = BoardLocation.squareRow(path[k]) - BoardLocation.squareRow(square);
+            int dCol = BoardLocation.squareCol(path[k]) - BoardLocation.squareCol(square);
+            // no hop after the end of the turn, and hops go along diagonals only
+            if (result == MoveResult.OK || dRow == 0 || Math.abs(dRow) != Math.abs(dCol))
+                return invalidHop(square, path[k]);
+            result = tryMove(BoardLocation.squareRow(square), BoardLocation.squareCol(square),
+                    MoveBehavior.getDirectionFromDxDy(dCol, dRow), Math.abs(dRow));
+            if (!result.isMade())
+                return k == 0 ? result : invalidHop(square, path[k]);
+            // a queen may stop before the given place, a pawn may move without eating
+            if (moveReport.eatenSquare == 0
+                    || BoardLocation.toSquare(moveReport.targetRow, moveReport.targetCol) != path[k])
+                return invalidHop(square, path[k]);
+            if (eatenSquares != null)
+                eatenSquares[k] = moveReport.eatenSquare;
+            square = path[k];
+        }
+        return result;
+    }
+
+    private MoveResult invalidHop(int fromSquare, int toSquare) {
+        MoveReport report = startReport(fromSquare);
+        report.target(BoardLocation.squareRow(toSquare), BoardLocation.squareCol(toSquare));
+        return report.finish(MoveResult.INVALID_SEQUENCE);
+    }
 
-        // if attack list isn't empty and direction does not lead to any of them => throw new eat exception
-        if (!attackList.isEmpty() && mustBeEaten == null) {
-            throw new EatObligationException("Eat obligation exist at positions " + attackList
-                    + "\nSuggested direction for attacks: " + attackList.stream().map(t -> t.deduceDirectionFromSource(rowIndex, colIndex)).collect(Collectors.toList()));
+    /**
+     * @return {@link #moveReport} started for a move from given square
+     */
+    private MoveReport startReport(int fromSquare) {
+        if (moveReport == null) {
+            moveReport = new MoveReport();
         }
+        moveReport.start(BoardLocation.squareRow(fromSquare), BoardLocation.squareCol(fromSquare), 0, 0);
+        return moveReport;
+    }
 
-        // eat obligation exist but steps cannot reach eaten item
-        if (mustBeEaten != null && steps <= mustBeEaten.distanceDiagonallyFrom(rowIndex)) {
-            throw new EatObligationException("Cannot reach eat obligation at position " + mustBeEaten
-                    + " - insuffisant steps " + steps
-                    + "\nSuggested minimum steps: " + (mustBeEaten.distanceDiagonallyFrom(rowIndex) + 1));
+    /**
+     * Dry run of {@link #tryMove(int, int, int, int)}: the move is made then reverted, without sending any event
+     *
+     * @return what {@link #tryMove(int, int, int, int)} would return
+     */
+    public MoveResult checkMove(int rowIndex, int colIndex, int moveBehaviorDirection, int steps) {
+        if (undoStack == null) {
+            undoStack = new UndoStack();
         }
+        undoStack.beginMove(0);
+        GameEventListener listener = gameEventListener;
+        gameEventListener = GameEventListener.NONE;
+        MoveResult result;
+        try {
+            result = tryMove(rowIndex, colIndex, moveBehaviorDirection, steps);
+        } finally {
+            gameEventListener = listener;
+            undoStack.endMove();
+        }
+        unmakeMove();
+        return result;
+    }
+
+    /**
+     * @return explanation of the last result of {@link #tryMove(int, int, int, int)}, built on each call.
+     * The board must not have changed since a failed move for its explanation to be accurate.
+     */
+    @JsonIgnore
+    public String getMoveDiagnostic() {
+        return moveReport == null ? "No move tried" : moveReport.diagnostic(this);
+    }
+
+    /**
+     * @param gameEventListener listener of the moves played on this board, <code>null</code> for {@link GameEventListener#NONE}
+     */
+    public void setGameEventListener(GameEventListener gameEventListener) {
+        this.gameEventListener = gameEventListener == null ? GameEventListener.NONE : gameEventListener;
+    }
+
+    /**
+     * Walk with steps as many as possible, after eating the opponent pawn in this direction if any
+     *
+     * @param direction index in {@link #ALLOWED_DIRECTIONS}
+     * @param steps     number of steps to perform, if steps exceed the limit then maximum allowed steps is made
+     */
+    private MoveResult tryQueenMove(int rowIndex, int colIndex, int direction, int steps) {
+        int moveDrow = MoveBehavior.diagonalDy(direction);
+        int moveDcol = MoveBehavior.diagonalDx(direction);
+        int pawnToMove = boardArray[rowIndex][colIndex];
+        int[] ray = DiagonalRays.of(tailleBoard).ray(BoardLocation.toSquare(rowIndex, colIndex), direction);
+        int eaten = attackIndex(ray, pawnToMove);
+
+        // if attack is possible and direction does not lead to any of them => eat obligation
+        if (eaten < 0 && hasAttackPossibility(rowIndex, colIndex))
+            return MoveResult.EAT_OBLIGATION;
+        // eat obligation exist but steps cannot reach eaten item
+        if (eaten >= 0 && steps <= eaten + 1)
+            return MoveResult.EAT_OUT_OF_REACH;
+
         int remainingSteps = steps;
         int newRowIndex = rowIndex;
         int newColIndex = colIndex;
-        if (mustBeEaten != null) {
-            int minimumJumpedSteps = mustBeEaten.distanceDiagonallyFrom(rowIndex) + 1;
+        if (eaten >= 0) {
+            int minimumJumpedSteps = eaten + 2;
             remainingSteps -= minimumJumpedSteps;
             newRowIndex += minimumJumpedSteps * moveDrow;
             newColIndex += minimumJumpedSteps * moveDcol;
-            System.out.println("Opponent eaten at position [" + mustBeEaten.getRow() + ", " + mustBeEaten.getCol() + "] !");
-            boardArray[mustBeEaten.getRow()][mustBeEaten.getCol()] = DEAD_PAWN;
+            moveReport.eatenSquare = ray[eaten];
         }
         // walk with remaining steps as max as possible
-        boolean didMoveOnceInRemaningStep = false;
+        boolean didMoveOnceInRemaningStep = eaten >= 0;
         while (remainingSteps-- != 0) {
             int testNextRowIndex = newRowIndex + moveDrow;
             int testNextColIndex = newColIndex + moveDcol;
             // break steps new location is out of boards, or it is not empty
             if (isLocationOutOfBoard(testNextRowIndex, testNextColIndex)) {
-                String errorMessage = BoardLocation.prettyPrint(testNextRowIndex, testNextColIndex) + " is out of the board!";
                 if (!didMoveOnceInRemaningStep) {
-                    // step was first move => throw error
-                    throw new OutOfBoardException(errorMessage);
-                } else {
-                    // step is for cumulative move => log warning
-                    System.err.println(errorMessage);
+                    // step was first move => nothing to play
+                    moveReport.target(testNextRowIndex, testNextColIndex);
+                    return MoveResult.OUT_OF_BOARD;
                 }
+                // step is for cumulative move => warning
+                moveReport.queenStop(testNextRowIndex, testNextColIndex, true);
                 break;
             }
             if (!isEmptyPlace(testNextRowIndex, testNextColIndex)) {
-                System.err.println("Cannot step further than [" + testNextRowIndex + ", " + testNextColIndex + "] as position isn't available!");
+                moveReport.queenStop(testNextRowIndex, testNextColIndex, false);
                 break;
             }
             newRowIndex = testNextRowIndex;
             newColIndex = testNextColIndex;
             didMoveOnceInRemaningStep = true;
         }
-        if (remainingSteps != 0) {
-            System.err.println("=> Discarding remaining " + remainingSteps + " steps.");
+        if (!didMoveOnceInRemaningStep) {
+            // blocked on first step => nothing to play
+            moveReport.target(moveReport.queenStopRow, moveReport.queenStopCol);
+            return MoveResult.OCCUPIED;
         }
-        System.out.println("Moved to new " + BoardLocation.prettyPrint(newRowIndex, newColIndex) + "!");
-        boardArray[rowIndex][colIndex] = EMPTY_PLACE;
-        boardArray[newRowIndex][newColIndex] = pawnToMove;
-        // turn end if there is no more eat obligations at the new positions
-        boolean didTurnEnd = getAttackPossibilitiesList(newRowIndex, newColIndex).isEmpty();
-
-        if (didTurnEnd) {
-            // clear dead pawns if turn is ended
-            clearDeadPawns();
+        // all steps spent leaves the counter at -1
+        moveReport.queenDiscardedSteps = Math.max(remainingSteps, 0);
+        moveReport.target(newRowIndex, newColIndex);
+        if (eaten >= 0) {
+            putPiece(BoardLocation.squareRow(ray[eaten]), BoardLocation.squareCol(ray[eaten]), DEAD_PAWN);
         }
-        return didTurnEnd;
+        putPiece(rowIndex, colIndex, EMPTY_PLACE);
+        putPiece(newRowIndex, newColIndex, pawnToMove);
+        // turn end if there is no more eat obligations at the new positions
+        if (hasAttackPossibility(newRowIndex, newColIndex))
+            return MoveResult.TURN_CONTINUES;
+        // clear dead pawns if turn is ended
+        clearDeadPawns();
+        return MoveResult.OK;
     }
 
     /**
@@ -212,89 +522,59 @@ public class Board {
      * <p>
      * Effects taken in consideration: Promotion to Queen.
      *
-     * @param rowIndex              the target row item to move
-     * @param colIndex              the target column item to move
-     * @param moveBehaviorDirection direction as defined in class {@link MoveBehavior}
-     * @return <code>true</code> if turn of current player end i.e. swap to other player <br/>
-     * <code>false</code> if move wasn't successful (ex.occupied case) or player is forced to continue his turn (enchained eating)
+     * @param direction index in {@link #ALLOWED_DIRECTIONS}
      */
-    private boolean moveAsNormalPawn(int rowIndex, int colIndex, int moveBehaviorDirection)
-            throws OutOfBoardException, EatObligationException, InvalidDirectionException {
-        // verify that direction is diagonal
-        checkDirectionIfAllowed(moveBehaviorDirection);
-
-        int moveDrow = MoveBehavior.DIRECTION_TO_DY.get(moveBehaviorDirection);
-        int moveDcol = MoveBehavior.DIRECTION_TO_DX.get(moveBehaviorDirection);
+    private MoveResult tryNormalPawnMove(int rowIndex, int colIndex, int direction) {
         int pawnToMove = boardArray[rowIndex][colIndex];
-        int newRowIndex = rowIndex + moveDrow;
-        int newColIndex = colIndex + moveDcol;
+        int newRowIndex = rowIndex + MoveBehavior.diagonalDy(direction);
+        int newColIndex = colIndex + MoveBehavior.diagonalDx(direction);
+        moveReport.target(newRowIndex, newColIndex);
 
         // verify if new position is out of board
-        checkLocationIfOutOfBoard(newRowIndex, newColIndex);
-
-        List<BoardLocation> attackList = getAttackPossibilitiesList(rowIndex, colIndex);
+        if (isLocationOutOfBoard(newRowIndex, newColIndex))
+            return MoveResult.OUT_OF_BOARD;
 
         // check eat obligation rule
-        if (!attackList.isEmpty() && !attackList.contains(new BoardLocation(newRowIndex, newColIndex))) {
-            // move was discarding eat obligation rule, turn remain with same player
-            // controller should help user avoiding this exception by suggesting pawns to eat
-            throw new EatObligationException("Eat obligation exist at positions " + attackList
-                    + "\nSuggested direction for attacks: " + attackList.stream().map(t -> t.deduceDirectionFromSource(rowIndex, colIndex)).collect(Collectors.toList()));
-        }
+        int[] ray = DiagonalRays.of(tailleBoard).ray(BoardLocation.toSquare(rowIndex, colIndex), direction);
+        boolean canEat = attackIndex(ray, pawnToMove) == 0;
+        if (!canEat && hasAttackPossibility(rowIndex, colIndex))
+            return MoveResult.EAT_OBLIGATION;
 
-
-        boolean doEndTurn = false;
         if (isEmptyPlace(newRowIndex, newColIndex)) {
-            System.out.println("Moved to new " + BoardLocation.prettyPrint(newRowIndex, newColIndex) + "!");
-            boardArray[rowIndex][colIndex] = EMPTY_PLACE;
-            boardArray[newRowIndex][newColIndex] = pawnToMove;
             // successful move to empty place => turn go to next player
-            doEndTurn = true;
+            putPiece(rowIndex, colIndex, EMPTY_PLACE);
+            putPiece(newRowIndex, newColIndex, pawnToMove);
+        } else if (!canEat) {
+            // position is occupied by same player or a dead pawn => cannot move
+            // or occupied by opponent player but cannot attack
+            return isOccupiedByOpponentPlayer(rowIndex, colIndex, newRowIndex, newColIndex)
+                    ? MoveResult.CANNOT_ATTACK : MoveResult.OCCUPIED;
         } else {
-            // position is occupied by same player => cannot move
-            if (isOccupiedBySamePlayer(rowIndex, colIndex, newRowIndex, newColIndex)) {
-                // note all print on System.err can be elevated as defined exception,
-                // but for the simplicity of project we print the error in the standard error output stream,
-                // and we keep the turn with same player
-                System.err.println(BoardLocation.prettyPrint(newRowIndex, newColIndex) + " already occupied!");
-                // do not end turn
-            } else if (isOccupiedByOpponentPlayer(rowIndex, colIndex, newRowIndex, newColIndex)) {
-                // position is occupied by opponent player => try to attack
-                if (attackList.contains(new BoardLocation(newRowIndex, newColIndex))) {
-                    System.out.println("Opponent eaten at position [" + newRowIndex + ", " + newColIndex + "] !");
-                    boardArray[newRowIndex][newColIndex] = DEAD_PAWN;
-                    boardArray[rowIndex][colIndex] = EMPTY_PLACE;
-                    // jump to next position over eaten Pawn
-                    newRowIndex += moveDrow;
-                    newColIndex += moveDcol;
-                    boardArray[newRowIndex][newColIndex] = pawnToMove;
-                    // turn of player depend on attack chain: if no attack is possible then the turn go to next player
-                    // otherwise current player have to choose the next attack position. (controller should notify user of possible attacks)
-                    doEndTurn = getAttackPossibilitiesList(newRowIndex, newColIndex).isEmpty();
-                } else {
-                    // position is occupied by opponent player but cannot attack
-                    System.err.println("Cannot Attack [" + newRowIndex + ", " + colIndex + "] as next position isn't available!");
-                    doEndTurn = false;
-                }
-            }
+            moveReport.eatenSquare = ray[0];
+            putPiece(newRowIndex, newColIndex, DEAD_PAWN);
+            putPiece(rowIndex, colIndex, EMPTY_PLACE);
+            // jump to next position over eaten Pawn
+            newRowIndex = BoardLocation.squareRow(ray[1]);
+            newColIndex = BoardLocation.squareCol(ray[1]);
+            moveReport.target(newRowIndex, newColIndex);
+            putPiece(newRowIndex, newColIndex, pawnToMove);
+            // turn of player depend on attack chain: if no attack is possible then the turn go to next player
+            // otherwise current player have to choose the next attack position. (controller should notify user of possible attacks)
+            if (hasAttackPossibility(newRowIndex, newColIndex))
+                return MoveResult.TURN_CONTINUES;
         }
-        if (doEndTurn) {
-            clearDeadPawns();
-            // promotion to Queen
-            if (isWhitePion(newRowIndex, newColIndex) && newRowIndex == 1) {
-                System.out.println("!!!!!!!!!!!!!!!!!!!!!!! White Queen !!!!!!!!!!!!!!!!!!!!!!!");
-                System.out.println("Congrats! Pawn promoted to White Queen!");
-                boardArray[newRowIndex][newColIndex] = WHITE_QUEEN;
-            } else if (isBlackPion(newRowIndex, newColIndex) && newRowIndex == tailleBoard) {
-                System.out.println("!!!!!!!!!!!!!!!!!!!!!!! Black Queen !!!!!!!!!!!!!!!!!!!!!!!");
-                System.out.println("Congrats! Pawn promoted to Black Queen!");
-                boardArray[newRowIndex][newColIndex] = BLACK_QUEEN;
-            }
+        clearDeadPawns();
+        // promotion to Queen
+        if (pawnToMove == WHITE_PAWN && newRowIndex == 1) {
+            putPiece(newRowIndex, newColIndex, WHITE_QUEEN);
+            moveReport.isPromoted = true;
+        } else if (pawnToMove == BLACK_PAWN && newRowIndex == tailleBoard) {
+            putPiece(newRowIndex, newColIndex, BLACK_QUEEN);
+            moveReport.isPromoted = true;
         }
-        return doEndTurn;
+        return MoveResult.OK;
     }
 
-
     /**
      * Check if direction is allowed
      *
@@ -303,7 +583,7 @@ public class Board {
      * @see #ALLOWED_DIRECTIONS
      */
     public void checkDirectionIfAllowed(int directionBehavior) throws InvalidDirectionException {
-        if (!ALLOWED_DIRECTIONS.contains(directionBehavior)) {
+        if (MoveBehavior.diagonalIndex(directionBehavior) < 0) {
             throw new InvalidDirectionException("Direction [" + directionBehavior + "] is not allowed" +
                     " - Move can only be in diagonal direction " + ALLOWED_DIRECTIONS);
         }
@@ -361,6 +641,33 @@ public class Board {
      * @return list of pawns that can attack enemy pawns
      */
     public List<BoardLocation> getAttackersList(boolean isUsingWhitePawns) {
+        if (engine == Engine.BITBOARD) {
+            return bitBoard().getAttackersList(isUsingWhitePawns);
+        }
+        if (attackerSet == null) {
+            attackerSet = new AttackerSet();
+        }
+        attackerSet.refresh(this);
+        List<BoardLocation> attackersList = new ArrayList<>();
+        for (int square = attackerSet.nextAttacker(0); square >= 0; square = attackerSet.nextAttacker(square + 1)) {
+            int rowIndex = BoardLocation.squareRow(square);
+            int colIndex = BoardLocation.squareCol(square);
+            if (isUsingWhitePawns ? isWhitePion(rowIndex, colIndex) : isBlackPion(rowIndex, colIndex))
+                attackersList.add(new BoardLocation(rowIndex, colIndex));
+        }
+        if (CHECK_ATTACKERS) {
+            List<BoardLocation> scannedList = scanAttackersList(isUsingWhitePawns);
+            if (!scannedList.equals(attackersList)) {
+                throw new IllegalStateException("Incremental attackers " + attackersList + " differ from full scan " + scannedList);
+            }
+        }
+        return attackersList;
+    }
+
+    /**
+     * Reference implementation of {@link #getAttackersList(boolean)} for {@link Engine#ARRAY}, scanning every piece
+     */
+    private List<BoardLocation> scanAttackersList(boolean isUsingWhitePawns) {
         List<BoardLocation> attackersList = new ArrayList<>();
         for (int i = 0; i < boardArray.length; i++) {
             for (int j = 0; j < boardArray[i].length; j++) {
@@ -387,48 +694,476 @@ public class Board {
         // improve performance by skipping non pawns locations
         if (!isWhitePion(rowIndex, colIndex) && !isBlackPion(rowIndex, colIndex))
             return new ArrayList<>();
+        if (engine == Engine.BITBOARD)
+            return bitBoard().getAttackPossibilitiesList(rowIndex, colIndex, boardArray[rowIndex][colIndex]);
 
         List<BoardLocation> attackList = new ArrayList<>();
-        for (Integer direction : ALLOWED_DIRECTIONS) {
-            int moveDrow = MoveBehavior.DIRECTION_TO_DY.get(direction);
-            int moveDcol = MoveBehavior.DIRECTION_TO_DX.get(direction);
-            int steps = isNormalPawn(rowIndex, colIndex) ? 1 : tailleBoard;
-            for (int i = 1; i <= steps; i++) {
-                int eatenRowIndex = rowIndex + i * moveDrow;
-                int eatenColIndex = colIndex + i * moveDcol;
-                // after eating an item, at least next position must be free to be occupied by attacker
-                int newRowIndex = eatenRowIndex + moveDrow;
-                int newColIndex = eatenColIndex + moveDcol;
-                // break steps new location is out of boards
-                if (isLocationOutOfBoard(newRowIndex, newColIndex))
-                    break;
-                if (!isEmptyPlace(eatenRowIndex, eatenColIndex)) {
-                    // a blocking place encountered => we have 2 cases:
-                    // the pawn is opponent and can jump over it => we add enemy as possible attack and break the loop
-                    // otherwise the pawn is opponent but can't jump over it, a dead pawn, a teammate pawn => do nothing and break the loop.
-                    if (isOccupiedByOpponentPlayer(rowIndex, colIndex, eatenRowIndex, eatenColIndex) && isEmptyPlace(newRowIndex, newColIndex)) {
-                        attackList.add(new BoardLocation(eatenRowIndex, eatenColIndex));
-                        // player eat one pawn in each direction maximum in one turn
-                        // for chained attack he continues his turn managed by move functions
-                    }
+        int piece = boardArray[rowIndex][colIndex];
+        DiagonalRays rays = DiagonalRays.of(tailleBoard);
+        for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+            int[] ray = rays.ray(BoardLocation.toSquare(rowIndex, colIndex), direction);
+            int eaten = firstOccupied(ray, piece);
+            // after eating an item, at least next position must be free to be occupied by attacker
+            // player eat one pawn in each direction maximum in one turn, chained attacks are managed by move functions
+            if (eaten + 1 < ray.length && isOpponent(piece, pieceAt(ray[eaten])) && pieceAt(ray[eaten + 1]) == EMPTY_PLACE)
+                attackList.add(new BoardLocation(BoardLocation.squareRow(ray[eaten]), BoardLocation.squareCol(ray[eaten])));
+        }
+        return attackList;
+    }
+
+    /**
+     * Write every legal move of given side into the buffer, without allocating any object.
+     * <p>
+     * Eat obligation rule is applied to the whole side: if any pawn can eat then only eating moves are generated.
+     * Queens generate one move per reachable free place, both when walking and when landing after an eaten pawn.
+     * Moves going on with a turn are generated by {@link #generateLegalMoves(boolean, int, MoveBuffer)}.
+     *
+     * @param isWhiteSide <code>true</code> to generate white moves <br/>
+     *                    <code>false</code> to generate black moves
+     * @param buffer      reusable buffer cleared then filled with moves encoded as defined in {@link MoveBuffer}
+     * @return number of generated moves
+     */
+    public int generateLegalMoves(boolean isWhiteSide, MoveBuffer buffer) {
+        buffer.clear();
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                if (isWhiteSide ? isWhitePion(i, j) : isBlackPion(i, j))
+                    addAttackMoves(i, j, buffer);
+            }
+        }
+        if (!buffer.isEmpty())
+            return buffer.size();
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                if (isWhiteSide ? isWhitePion(i, j) : isBlackPion(i, j))
+                    addFreeMoves(i, j, buffer);
+            }
+        }
+        return buffer.size();
+    }
+
+    /**
+     * Write the legal moves of a turn into the buffer, given the piece going on with it.
+     * <p>
+     * Once a move did not end the turn, see {@link #playMove(int)}, only the piece that just moved may go on,
+     * and only by eating: attacks of other pieces are not legal anymore.
+     *
+     * @param isWhiteSide  <code>true</code> to generate white moves <br/>
+     *                     <code>false</code> to generate black moves
+     * @param movingSquare square of the piece going on with the turn, 0 at the start of the turn
+     * @param buffer       reusable buffer cleared then filled with moves encoded as defined in {@link MoveBuffer}
+     * @return number of generated moves
+     */
+    public int generateLegalMoves(boolean isWhiteSide, int movingSquare, MoveBuffer buffer) {
+        if (movingSquare == 0)
+            return generateLegalMoves(isWhiteSide, buffer);
+        buffer.clear();
+        int rowIndex = BoardLocation.squareRow(movingSquare);
+        int colIndex = BoardLocation.squareCol(movingSquare);
+        if (isWhiteSide ? isWhitePion(rowIndex, colIndex) : isBlackPion(rowIndex, colIndex))
+            addAttackMoves(rowIndex, colIndex, buffer);
+        return buffer.size();
+    }
+
+    private void addAttackMoves(int rowIndex, int colIndex, MoveBuffer buffer) {
+        int fromSquare = BoardLocation.toSquare(rowIndex, colIndex);
+        int piece = boardArray[rowIndex][colIndex];
+        boolean isNormalPawn = piece == BLACK_PAWN || piece == WHITE_PAWN;
+        DiagonalRays rays = DiagonalRays.of(tailleBoard);
+        for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+            int[] ray = rays.ray(fromSquare, direction);
+            // queens walk over free places before reaching the pawn to eat
+            int eaten = firstOccupied(ray, piece);
+            if (eaten >= ray.length || !isOpponent(piece, pieceAt(ray[eaten])))
+                continue;
+            for (int landing = eaten + 1; landing < ray.length && pieceAt(ray[landing]) == EMPTY_PLACE; landing++) {
+                buffer.add(MoveBuffer.encode(fromSquare, ray[landing], ray[eaten]));
+                if (isNormalPawn)
                     break;
+            }
+        }
+    }
+
+    /**
+     * Enumerate the complete capture sequences of given side: every chain of attacks a pawn can play in one turn,
+     * up to the point where it cannot eat anymore.
+     * <p>
+     * Sequences follow the same rules as moves played one after the other: eaten pawns stay on the board as dead pawns
+     * till the end of the turn, so they can be neither eaten twice nor jumped over, and a normal pawn reaching the last
+     * row in the middle of a chain keeps attacking as a normal pawn. A queen branches on every free place after the
+     * eaten pawn. Sequences are explored on the board itself, written in place and reverted on the way back,
+     * so the board is left untouched.
+     *
+     * @param isWhiteSide   <code>true</code> to enumerate white sequences <br/>
+     *                      <code>false</code> to enumerate black sequences
+     * @param isMaximumOnly <code>true</code> to only keep the sequences eating the most pawns (maximum capture rule)
+     * @param sequences     reusable buffer cleared then filled with the sequences
+     * @return number of sequences, 0 if the side cannot eat
+     */
+    public int generateCaptureSequences(boolean isWhiteSide, boolean isMaximumOnly, CaptureSequences sequences) {
+        sequences.clear();
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                if (isWhiteSide ? isWhitePion(i, j) : isBlackPion(i, j)) {
+                    int piece = boardArray[i][j];
+                    // the pawn leaves its place, it may walk over it again
+                    boardArray[i][j] = EMPTY_PLACE;
+                    addCaptureSequences(BoardLocation.toSquare(i, j), piece, isMaximumOnly, sequences);
+                    boardArray[i][j] = piece;
                 }
             }
         }
-        return attackList;
+        return sequences.size();
+    }
+
+    /**
+     * Explore every hop from given square, the moving piece being lifted from the board
+     *
+     * @return <code>true</code> if at least one hop exists
+     */
+    private boolean addCaptureSequences(int fromSquare, int piece, boolean isMaximumOnly, CaptureSequences sequences) {
+        boolean isNormalPawn = piece == BLACK_PAWN || piece == WHITE_PAWN;
+        boolean didCapture = false;
+        DiagonalRays rays = DiagonalRays.of(tailleBoard);
+        for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+            int[] ray = rays.ray(fromSquare, direction);
+            int eaten = firstOccupied(ray, piece);
+            if (eaten >= ray.length || !isOpponent(piece, pieceAt(ray[eaten])))
+                continue;
+            int eatenRow = BoardLocation.squareRow(ray[eaten]);
+            int eatenCol = BoardLocation.squareCol(ray[eaten]);
+            int eatenPiece = boardArray[eatenRow][eatenCol];
+            boardArray[eatenRow][eatenCol] = DEAD_PAWN;
+            for (int landing = eaten + 1; landing < ray.length && pieceAt(ray[landing]) == EMPTY_PLACE; landing++) {
+                didCapture = true;
+                sequences.push(MoveBuffer.encode(fromSquare, ray[landing], ray[eaten]));
+                if (!addCaptureSequences(ray[landing], piece, isMaximumOnly, sequences))
+                    sequences.addPath(isMaximumOnly);
+                sequences.pop();
+                if (isNormalPawn)
+                    break;
+            }
+            boardArray[eatenRow][eatenCol] = eatenPiece;
+        }
+        return didCapture;
+    }
+
+    private void addFreeMoves(int rowIndex, int colIndex, MoveBuffer buffer) {
+        int fromSquare = BoardLocation.toSquare(rowIndex, colIndex);
+        boolean isNormalPawn = isNormalPawn(rowIndex, colIndex);
+        DiagonalRays rays = DiagonalRays.of(tailleBoard);
+        for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+            int[] ray = rays.ray(fromSquare, direction);
+            for (int k = 0; k < ray.length && pieceAt(ray[k]) == EMPTY_PLACE; k++) {
+                buffer.add(MoveBuffer.encode(fromSquare, ray[k], 0));
+                if (isNormalPawn)
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Play a move previously generated by {@link #generateLegalMoves(boolean, MoveBuffer)}.
+     * <p>
+     * Unlike {@link #moveItem(int, int, int, int)}, the move is trusted to be legal: it is not validated,
+     * which makes it suitable to explore a large number of positions. Events are sent to the {@link GameEventListener}
+     * as for any other move. Turn end, dead pawns and promotion follow the
+     * same rules as {@link #moveItem(int, int, int, int)}.
+     *
+     * @param move move encoded as defined in {@link MoveBuffer}
+     * @return <code>true</code> if turn of current player end i.e. swap to other player <br/>
+     * <code>false</code> if player is forced to continue his turn (such as enchained eating)
+     */
+    public boolean playMove(int move) {
+        int rowIndex = BoardLocation.squareRow(MoveBuffer.from(move));
+        int colIndex = BoardLocation.squareCol(MoveBuffer.from(move));
+        int newRowIndex = BoardLocation.squareRow(MoveBuffer.to(move));
+        int newColIndex = BoardLocation.squareCol(MoveBuffer.to(move));
+        int pawnToMove = boardArray[rowIndex][colIndex];
+        boolean isNormalPawn = isNormalPawn(rowIndex, colIndex);
+
+        putPiece(rowIndex, colIndex, EMPTY_PLACE);
+        if (MoveBuffer.isCapture(move)) {
+            putPiece(BoardLocation.squareRow(MoveBuffer.captured(move)), BoardLocation.squareCol(MoveBuffer.captured(move)), DEAD_PAWN);
+        }
+        putPiece(newRowIndex, newColIndex, pawnToMove);
+
+        // a normal pawn moving to a free place always ends the turn, otherwise turn continues while attacks remain
+        boolean didTurnEnd = (isNormalPawn && !MoveBuffer.isCapture(move)) || !hasAttackPossibility(newRowIndex, newColIndex);
+        boolean isPromoted = false;
+        if (didTurnEnd) {
+            clearDeadPawns();
+            if (pawnToMove == WHITE_PAWN && newRowIndex == 1) {
+                putPiece(newRowIndex, newColIndex, WHITE_QUEEN);
+                isPromoted = true;
+            } else if (pawnToMove == BLACK_PAWN && newRowIndex == tailleBoard) {
+                putPiece(newRowIndex, newColIndex, BLACK_QUEEN);
+                isPromoted = true;
+            }
+        }
+        if (gameEventListener != GameEventListener.NONE) {
+            boolean isWhite = pawnToMove == WHITE_PAWN || pawnToMove == WHITE_QUEEN;
+            if (MoveBuffer.isCapture(move)) {
+                gameEventListener.captured(BoardLocation.squareRow(MoveBuffer.captured(move)), BoardLocation.squareCol(MoveBuffer.captured(move)));
+            }
+            gameEventListener.moved(rowIndex, colIndex, newRowIndex, newColIndex);
+            if (isPromoted) {
+                gameEventListener.promoted(newRowIndex, newColIndex, isWhite);
+            }
+            if (didTurnEnd) {
+                gameEventListener.turnEnded(isWhite);
+            }
+        }
+        return didTurnEnd;
+    }
+
+    /**
+     * Same as {@link #playMove(int)}, but every change is recorded so that the move can be reverted with {@link #unmakeMove()}.
+     * Moves are reverted in the reverse order they were made, any number of moves can be stacked.
+     *
+     * @param move move encoded as defined in {@link MoveBuffer}
+     * @return <code>true</code> if turn of current player end i.e. swap to other player <br/>
+     * <code>false</code> if player is forced to continue his turn (such as enchained eating)
+     */
+    public boolean makeMove(int move) {
+        if (undoStack == null) {
+            undoStack = new UndoStack();
+        }
+        undoStack.beginMove(move);
+        try {
+            return playMove(move);
+        } finally {
+            undoStack.endMove();
+        }
+    }
+
+    /**
+     * Revert the last move made with {@link #makeMove(int)}: moved pawn, eaten pawns, dead pawns and promotion.
+     *
+     * @return the reverted move
+     * @throws IllegalStateException if there is no move to revert
+     */
+    public int unmakeMove() {
+        if (undoStack == null || undoStack.getDepth() == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        int move = undoStack.popMove();
+        int frameStart = undoStack.frameStart();
+        // revert newest change first, a square written twice (move then promotion) gets its oldest value back
+        for (int i = undoStack.lastChange(); i >= frameStart; i--) {
+            int square = UndoStack.changedSquare(undoStack.change(i));
+            putPiece(BoardLocation.squareRow(square), BoardLocation.squareCol(square), UndoStack.previousPiece(undoStack.change(i)));
+        }
+        undoStack.truncate(frameStart);
+        return move;
+    }
+
+    /**
+     * @return number of moves made with {@link #makeMove(int)} that can still be reverted
+     */
+    @JsonIgnore
+    public int getMadeMovesCount() {
+        return undoStack == null ? 0 : undoStack.getDepth();
+    }
+
+    /**
+     * @return <code>true</code> if an alive piece stands at given location and can attack
+     */
+    boolean canAttack(int rowIndex, int colIndex) {
+        return (isWhitePion(rowIndex, colIndex) || isBlackPion(rowIndex, colIndex)) && hasAttackPossibility(rowIndex, colIndex);
+    }
+
+    /**
+     * Allocation free equivalent of <code>!getAttackPossibilitiesList(rowIndex, colIndex).isEmpty()</code>
+     */
+    private boolean hasAttackPossibility(int rowIndex, int colIndex) {
+        int piece = boardArray[rowIndex][colIndex];
+        DiagonalRays rays = DiagonalRays.of(tailleBoard);
+        for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+            if (attackIndex(rays.ray(BoardLocation.toSquare(rowIndex, colIndex), direction), piece) >= 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param ray   ray walked by the piece
+     * @param piece the walking piece
+     * @return index in the ray of the opponent pawn the piece can eat walking along it, -1 if none
+     */
+    private int attackIndex(int[] ray, int piece) {
+        int eaten = firstOccupied(ray, piece);
+        return eaten + 1 < ray.length && isOpponent(piece, pieceAt(ray[eaten])) && pieceAt(ray[eaten + 1]) == EMPTY_PLACE
+                ? eaten : -1;
+    }
+
+    /**
+     * @param ray   ray walked by the piece
+     * @param piece the walking piece
+     * @return index in the ray of the first square a capture may target: the adjacent one for a normal pawn,
+     * the first occupied one for a queen, ray length if none
+     */
+    private int firstOccupied(int[] ray, int piece) {
+        if (piece != BLACK_QUEEN && piece != WHITE_QUEEN)
+            return 0;
+        int k = 0;
+        while (k < ray.length && pieceAt(ray[k]) == EMPTY_PLACE) {
+            k++;
+        }
+        return k;
+    }
+
+    private int pieceAt(int square) {
+        return boardArray[BoardLocation.squareRow(square)][BoardLocation.squareCol(square)];
+    }
+
+    private static boolean isOpponent(int piece, int otherPiece) {
+        return piece >= WHITE_PAWN ? otherPiece == BLACK_PAWN || otherPiece == BLACK_QUEEN
+                : piece > EMPTY_PLACE && otherPiece >= WHITE_PAWN;
     }
 
     private void clearDeadPawns() {
         for (int i = 0; i < boardArray.length; i++) {
             for (int j = 0; j < boardArray[i].length; j++) {
                 if (boardArray[i][j] == DEAD_PAWN)
-                    boardArray[i][j] = EMPTY_PLACE;
+                    putPiece(i, j, EMPTY_PLACE);
             }
         }
     }
 
     public void clearBoard() {
         boardArray = new int[tailleBoard + 1][tailleBoard + 1];
+        bitBoard = null;
+        attackerSet = null;
+        undoStack = null;
+        zobristKey = 0L;
+        Arrays.fill(pieceCounts, 0);
+    }
+
+    /**
+     * @param rowIndex row location
+     * @param colIndex column location
+     * @return the piece at given location as defined in {@link Board} constants
+     */
+    public int getPiece(int rowIndex, int colIndex) {
+        return boardArray[rowIndex][colIndex];
+    }
+
+    /**
+     * Place a piece on the board, this is the only safe way to edit the board outside of moves
+     * as {@link #getBoardArray()} returns a copy.
+     *
+     * @param rowIndex row location
+     * @param colIndex column location
+     * @param piece    the piece as defined in {@link Board} constants
+     */
+    public void setPiece(int rowIndex, int colIndex, int piece) {
+        putPiece(rowIndex, colIndex, piece);
+    }
+
+    /**
+     * Single entry point for any change of the board array, keeping engine state in sync
+     */
+    private void putPiece(int rowIndex, int colIndex, int piece) {
+        int previousPiece = boardArray[rowIndex][colIndex];
+        boardArray[rowIndex][colIndex] = piece;
+        int square = BoardLocation.toSquare(rowIndex, colIndex);
+        zobristKey ^= Zobrist.pieceKey(square, previousPiece) ^ Zobrist.pieceKey(square, piece);
+        if (previousPiece > EMPTY_PLACE)
+            pieceCounts[previousPiece]--;
+        if (piece > EMPTY_PLACE)
+            pieceCounts[piece]++;
+        if (undoStack != null && undoStack.isRecording()) {
+            undoStack.record(square, previousPiece);
+        }
+        if (bitBoard != null) {
+            bitBoard.update(rowIndex, colIndex, previousPiece, piece);
+        }
+        if (attackerSet != null) {
+            attackerSet.changed(square);
+        }
+    }
+
+    private BitBoard bitBoard() {
+        if (bitBoard == null) {
+            bitBoard = new BitBoard(tailleBoard);
+            bitBoard.load(boardArray);
+        }
+        return bitBoard;
+    }
+
+    /**
+     * @return a copy of the pieces indexed by row then column, from 1 to {@link #getTailleBoard()},
+     * editing it does not change the board
+     */
+    public int[][] getBoardArray() {
+        return copy(boardArray);
+    }
+
+    /**
+     * Replace every piece of the board by a copy of the given ones
+     */
+    public void setBoardArray(int[][] boardArray) {
+        this.boardArray = copy(boardArray);
+        bitBoard = null;
+        attackerSet = null;
+        undoStack = null;
+        zobristKey = boardArray == null ? 0L : Zobrist.computeKey(boardArray);
+        countPieces();
+    }
+
+    private static int[][] copy(int[][] array) {
+        if (array == null)
+            return null;
+        int[][] copy = new int[array.length][];
+        for (int i = 0; i < array.length; i++) {
+            copy[i] = array[i].clone();
+        }
+        return copy;
+    }
+
+    private void countPieces() {
+        Arrays.fill(pieceCounts, 0);
+        if (boardArray == null)
+            return;
+        for (int[] row : boardArray) {
+            for (int piece : row) {
+                if (piece > EMPTY_PLACE)
+                    pieceCounts[piece]++;
+            }
+        }
+    }
+
+    /**
+     * @param piece piece as defined in {@link Board} constants, except {@link #EMPTY_PLACE} and {@link #DEAD_PAWN}
+     * @return number of such pieces on the board, in constant time
+     */
+    public int getPieceCount(int piece) {
+        return pieceCounts[piece];
+    }
+
+    /**
+     * @return 64-bit key identifying the pieces on the board, maintained incrementally on every move,
+     * eaten pawn, promotion and dead pawns clearance
+     * @see Zobrist
+     */
+    @JsonIgnore
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    public void setTailleBoard(int tailleBoard) {
+        this.tailleBoard = checkSize(tailleBoard, engine);
+        bitBoard = null;
+        attackerSet = null;
+    }
+
+    public void setEngine(Engine engine) {
+        // a board being deserialized has no size yet, it is checked along with the engine once set
+        if (tailleBoard != 0)
+            checkSize(tailleBoard, engine);
+        this.engine = engine;
+        bitBoard = null;
     }
 
     /**
@@ -445,7 +1180,7 @@ public class Board {
     }
 
     /**
-     * Check if color specified in argument have any alive pawns on the board
+     * Check if color specified in argument have any alive pawns on the board, in constant time
      *
      * @param isWhiteColor <code>true</code> check for white color
      *                     <code>false</code> check for black color
@@ -453,21 +1188,9 @@ public class Board {
      * <code>false</code> No pawns with specified color exist on the board
      */
     public boolean doPawnsColorExist(boolean isWhiteColor) {
-        boolean colorExist = false;
-        for (int i = 0; i < boardArray.length; i++) {
-            for (int j = 0; j < boardArray[i].length; j++) {
-                if (isWhiteColor) {
-                    if (isWhitePion(i, j))
-                        colorExist = true;
-                } else {
-                    if (isBlackPion(i, j))
-                        colorExist = true;
-                }
-            }
-            if (colorExist)
-                break;
-        }
-        return colorExist;
+        return isWhiteColor
+                ? pieceCounts[WHITE_PAWN] + pieceCounts[WHITE_QUEEN] > 0
+                : pieceCounts[BLACK_PAWN] + pieceCounts[BLACK_QUEEN] > 0;
     }
 
     public String prettyPrintWinningColor() {
@@ -524,6 +1247,25 @@ public class Board {
                 "* Dame blanche => " + WHITE_QUEEN + "\n";
     }
 
+    /**
+     * Boards with different Zobrist keys are rejected without comparing their arrays
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Board)) return false;
+        Board other = (Board) o;
+        return tailleBoard == other.tailleBoard
+                && zobristKey == other.zobristKey
+                && engine == other.engine
+                && Arrays.deepEquals(boardArray, other.boardArray);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristKey);
+    }
+
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder(boardArray.length * boardArray[0].length);
@@ -0,0 +1,88 @@
+package org.ecn;
+
+/**
+ * Pack the squares of a board array into bytes, 3 bits per square, used by binary saves.
+ * <p>
+ * Pawns are placed on dark squares only (row and column of different parity), so a board that has no piece
+ * elsewhere is packed from its dark squares only, half of the squares. Any other board is packed from all its squares.
+ * Squares are packed row after row, from {@link Board#DEAD_PAWN} stored as 0 to {@link Board#WHITE_QUEEN} stored as 5.
+ */
+public final class BoardCodec {
+
+    private static final int BITS_PER_SQUARE = 3;
+    private static final int SQUARE_MASK = (1 << BITS_PER_SQUARE) - 1;
+
+    private BoardCodec() {
+        throw new IllegalStateException("Utility class: " + getClass());
+    }
+
+    private static boolean isDarkSquare(int rowIndex, int colIndex) {
+        return rowIndex % 2 != colIndex % 2;
+    }
+
+    /**
+     * @return <code>true</code> if every light square of the board is empty
+     */
+    public static boolean isDarkSquaresOnly(int[][] boardArray, int tailleBoard) {
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                if (!isDarkSquare(i, j) && boardArray[i][j] != Board.EMPTY_PLACE)
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of bytes taken by a board of given size
+     */
+    public static int packedLength(int tailleBoard, boolean isDarkSquaresOnly) {
+        int squares = tailleBoard * tailleBoard;
+        if (isDarkSquaresOnly)
+            squares /= 2;
+        return (squares * BITS_PER_SQUARE + 7) / 8;
+    }
+
+    public static byte[] pack(int[][] boardArray, int tailleBoard, boolean isDarkSquaresOnly) {
+        byte[] packed = new byte[packedLength(tailleBoard, isDarkSquaresOnly)];
+        int bit = 0;
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                if (isDarkSquaresOnly && !isDarkSquare(i, j))
+                    continue;
+                int value = (boardArray[i][j] - Board.DEAD_PAWN) << (bit & 7);
+                packed[bit >>> 3] |= (byte) value;
+                if ((bit & 7) > 8 - BITS_PER_SQUARE)
+                    packed[(bit >>> 3) + 1] |= (byte) (value >>> 8);
+                bit += BITS_PER_SQUARE;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * @return board array with unused row and column 0, as expected by {@link Board#setBoardArray(int[][])}
+     * @throws IllegalArgumentException if the bytes do not hold pieces
+     */
+    public static int[][] unpack(byte[] packed, int tailleBoard, boolean isDarkSquaresOnly) {
+        if (packed.length < packedLength(tailleBoard, isDarkSquaresOnly))
+            throw new IllegalArgumentException("Packed board too short: " + packed.length + " bytes");
+        int[][] boardArray = new int[tailleBoard + 1][tailleBoard + 1];
+        int bit = 0;
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                if (isDarkSquaresOnly && !isDarkSquare(i, j))
+                    continue;
+                int value = (packed[bit >>> 3] & 0xFF) >>> (bit & 7);
+                if ((bit & 7) > 8 - BITS_PER_SQUARE)
+                    value |= (packed[(bit >>> 3) + 1] & 0xFF) << (8 - (bit & 7));
+                int piece = (value & SQUARE_MASK) + Board.DEAD_PAWN;
+                if (piece > Board.WHITE_QUEEN)
+                    throw new IllegalArgumentException("Unknown piece " + piece + " at " + BoardLocation.prettyPrint(i, j));
+                boardArray[i][j] = piece;
+                bit += BITS_PER_SQUARE;
+            }
+        }
+        return boardArray;
+    }
+}
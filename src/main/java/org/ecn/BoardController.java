@@ -1,11 +1,14 @@
 package org.ecn;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.ecn.exp.EatObligationException;
 import org.ecn.exp.InvalidDirectionException;
 import org.ecn.exp.OutOfBoardException;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,28 +18,99 @@ import java.util.List;
 @NoArgsConstructor
 public class BoardController {
 
+    private static final ConsolePlayer CONSOLE_PLAYER = new ConsolePlayer();
+
     private Board board;
 
     private String firstPlayerName;
     private String secondPlayerName;
+    /**
+     * Color of the player whose turn it is, saved so that a loaded game resumes with the right player
+     */
+    private boolean whiteTurn;
+    /**
+     * Every move played on {@link #board}, one entry per hop, encoded as defined in {@link MoveBuffer}
+     */
+    private List<Integer> moveHistory = new ArrayList<>();
+
+    /**
+     * Saves the game after every turn when set, without holding the game
+     */
+    @JsonIgnore
+    private AutoSaveService autoSave;
+    /**
+     * Strategies choosing the moves of each color, the user typing them on the console by default
+     */
+    @JsonIgnore
+    private Player whitePlayer = CONSOLE_PLAYER;
+    @JsonIgnore
+    private Player blackPlayer = CONSOLE_PLAYER;
+    /**
+     * <code>true</code> to play without any console output, moves being still added to {@link #moveHistory}
+     */
+    @JsonIgnore
+    private boolean headless;
 
     public BoardController(Board board) {
-        this.board = board;
+        setBoard(board);
         firstPlayerName = "Player one";
         secondPlayerName = "Player two";
     }
 
     public BoardController(Board board, String firstPlayerName, String secondPlayerName) {
-        this.board = board;
+        setBoard(board);
         this.firstPlayerName = firstPlayerName;
         this.secondPlayerName = secondPlayerName;
     }
 
+    /**
+     * @param board the board to play on, moves played on it are printed on the console and added to {@link #moveHistory}
+     */
+    public void setBoard(Board board) {
+        this.board = board;
+        if (board != null) {
+            board.setGameEventListener(new HistoryListener());
+        }
+    }
+
+    /**
+     * Console output of moves, recording them in {@link #moveHistory}
+     */
+    private class HistoryListener extends ConsoleGameEventListener {
+        private int capturedSquare;
+
+        @Override
+        public void captured(int row, int col) {
+            if (!headless)
+                super.captured(row, col);
+            capturedSquare = BoardLocation.toSquare(row, col);
+        }
+
+        @Override
+        public void moved(int fromRow, int fromCol, int toRow, int toCol) {
+            if (!headless)
+                super.moved(fromRow, fromCol, toRow, toCol);
+            moveHistory.add(MoveBuffer.encode(BoardLocation.toSquare(fromRow, fromCol), BoardLocation.toSquare(toRow, toCol), capturedSquare));
+            capturedSquare = 0;
+        }
+
+        @Override
+        public void promoted(int row, int col, boolean isWhite) {
+            if (!headless)
+                super.promoted(row, col, isWhite);
+        }
+
+        @Override
+        public void stepsDiscarded(int stopRow, int stopCol, boolean isOutOfBoard, int discardedSteps) {
+            if (!headless)
+                super.stepsDiscarded(stopRow, stopCol, isOutOfBoard, discardedSteps);
+        }
+    }
+
     public void startGame() {
         System.out.println("Welcome players !");
         System.out.println("Assigned white color to " + firstPlayerName);
         System.out.println("Assigned black color to " + secondPlayerName);
-        boolean whiteTurn = false;
 
         System.out.println(Board.prettyPrintLegend());
         while (!board.didGameOver()) {
@@ -50,36 +124,169 @@ public class BoardController {
             System.out.println("------------------------------------------------------");
             playNextTurn(whiteTurn);
             whiteTurn = !whiteTurn;
+            autoSave();
         }
         System.out.println(board);
         System.out.println(board.prettyPrintWinningColor());
     }
 
-    public void playNextTurn(boolean isWhiteTurn) {
-        boolean didTurnEnd = false;
-        while (!didTurnEnd) {
-            List<BoardLocation> obligationAttackers = board.getAttackersList(isWhiteTurn);
-            System.out.println(board);
-            BoardLocation targetItem;
-            if (!obligationAttackers.isEmpty()) {
-                System.out.println("!!!!!!!!!!!!!!!!!!!!!!! Time to eat some pawns!!!!!!!!!!!!!!!!!!!!!!!");
-            }
-            if (obligationAttackers.isEmpty()) {
-                targetItem = pickTargetPion(isWhiteTurn);
-            } else if (obligationAttackers.size() == 1) {
-                System.out.println("Eat obligation rule, automatically chosen target item.");
-                targetItem = obligationAttackers.get(0);
-            } else {
-                targetItem = pickBoardLocationFromList(obligationAttackers, "Choose Pawn for your next turn");
+    private void autoSave() {
+        if (autoSave == null)
+            return;
+        try {
+            autoSave.save(this);
+        } catch (IOException e) {
+            System.err.println("Autosave failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Play a whole game between {@link #whitePlayer} and {@link #blackPlayer} without any console output
+     * nor rendering of the board, at the speed of the players
+     *
+     * @param maxTurns turns after which the game is stopped if not over
+     * @return number of turns played
+     */
+    public int playHeadless(int maxTurns) {
+        if (whitePlayer == null || blackPlayer == null)
+            throw new IllegalStateException("Headless game needs a player for each color");
+        boolean wasHeadless = headless;
+        headless = true;
+        try {
+            int turns = 0;
+            while (turns < maxTurns && !board.didGameOver()) {
+                if (playTurn(whiteTurn ? whitePlayer : blackPlayer, whiteTurn) == 0)
+                    // blocked side loses
+                    break;
+                whiteTurn = !whiteTurn;
+                turns++;
+                autoSave();
             }
-            try {
-                didTurnEnd = moveItem(targetItem.getRow(), targetItem.getCol());
-            } catch (InvalidDirectionException | OutOfBoardException | EatObligationException e) {
-                System.err.println(e.getMessage());
+            return turns;
+        } finally {
+            headless = wasHeadless;
+        }
+    }
+
+    /**
+     * Play moves read from {@link InputIntegerUtils} as <code>row col direction steps</code>, as typed for
+     * {@link #moveItem(Integer, Integer)}, until the end of the input. Nothing is printed, turns follow each other
+     * as in {@link #startGame()}.
+     *
+     * @return number of moves played
+     * @throws IllegalArgumentException if a move is not allowed, the moves before it being played
+     */
+    public int playBatch() {
+        boolean wasHeadless = headless;
+        headless = true;
+        try {
+            // only the piece that moved goes on with a chain of attacks
+            int movingSquare = 0;
+            MoveBuffer legalMoves = new MoveBuffer();
+            int moveCount = 0;
+            Integer rowIndex;
+            while ((rowIndex = InputIntegerUtils.nextInteger()) != null) {
+                Integer colIndex = InputIntegerUtils.nextInteger();
+                Integer direction = InputIntegerUtils.nextInteger();
+                Integer steps = InputIntegerUtils.nextInteger();
+                if (steps == null)
+                    throw new IllegalArgumentException("Move " + (moveCount + 1) + " is not complete");
+                if (board.isLocationOutOfBoard(rowIndex, colIndex)
+                        || !(whiteTurn ? board.isWhitePion(rowIndex, colIndex) : board.isBlackPion(rowIndex, colIndex)))
+                    throw new IllegalArgumentException("Move " + (moveCount + 1) + ": no " + (whiteTurn ? "white" : "black")
+                            + " piece at " + BoardLocation.prettyPrint(rowIndex, colIndex));
+                if (movingSquare != 0 && BoardLocation.toSquare(rowIndex, colIndex) != movingSquare)
+                    throw new IllegalArgumentException("Move " + (moveCount + 1) + ": the turn goes on with the piece at "
+                            + BoardLocation.prettyPrint(BoardLocation.squareRow(movingSquare), BoardLocation.squareCol(movingSquare)));
+                board.generateLegalMoves(whiteTurn, movingSquare, legalMoves);
+                if (!isLegal(legalMoves, rowIndex, colIndex, direction, steps)) {
+                    // the rules of the piece itself first, then the eat obligation of the whole side
+                    String reason = !board.checkMove(rowIndex, colIndex, direction, steps).isMade() ? board.getMoveDiagnostic()
+                            : !legalMoves.isEmpty() && MoveBuffer.isCapture(legalMoves.get(0)) ? "another piece must eat"
+                            : "not a legal move";
+                    throw new IllegalArgumentException("Move " + (moveCount + 1) + ": " + reason);
+                }
+                MoveResult result = board.tryMove(rowIndex, colIndex, direction, steps);
+                if (!result.isMade())
+                    throw new IllegalArgumentException("Move " + (moveCount + 1) + ": " + board.getMoveDiagnostic());
+                moveCount++;
+                if (result == MoveResult.OK) {
+                    movingSquare = 0;
+                    whiteTurn = !whiteTurn;
+                    autoSave();
+                } else {
+                    movingSquare = MoveBuffer.to(moveHistory.get(moveHistory.size() - 1));
+                }
             }
+            return moveCount;
+        } finally {
+            headless = wasHeadless;
         }
     }
 
+    /**
+     * @param steps as typed by a user, ignored for normal pawns
+     * @return <code>true</code> if one of the legal moves goes from given place in given direction with given steps
+     */
+    private boolean isLegal(MoveBuffer legalMoves, int rowIndex, int colIndex, int direction, int steps) {
+        boolean isNormalPawn = board.isNormalPawn(rowIndex, colIndex);
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (MoveBuffer.from(move) == BoardLocation.toSquare(rowIndex, colIndex) && MoveBuffer.direction(move) == direction
+                    && (isNormalPawn || MoveBuffer.steps(move) == steps))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Play every move of a turn chosen by given player, the moves following the first one being restricted
+     * to the attacks of the moving piece
+     *
+     * @return number of moves played, 0 if the player has no legal move
+     * @throws IllegalStateException if the player chooses a move that is not legal
+     */
+    public int playTurn(Player player, boolean isWhiteTurn) {
+        return playTurn(board, player, isWhiteTurn, new MoveBuffer());
+    }
+
+    /**
+     * Same as {@link #playTurn(Player, boolean)} on any board, what happens being sent to its {@link GameEventListener}
+     *
+     * @param legalMoves reusable buffer, so that playing many turns allocates nothing
+     * @return number of moves played, 0 if the player has no legal move
+     * @throws IllegalStateException if the player chooses a move that is not legal
+     */
+    public static int playTurn(Board board, Player player, boolean isWhiteTurn, MoveBuffer legalMoves) {
+        int movingSquare = 0;
+        int moveCount = 0;
+        boolean didTurnEnd = false;
+        while (!didTurnEnd) {
+            if (board.generateLegalMoves(isWhiteTurn, movingSquare, legalMoves) == 0)
+                break;
+            int move = player.chooseMove(board, isWhiteTurn, legalMoves);
+            if (!contains(legalMoves, move))
+                throw new IllegalStateException("Player chose an illegal move: " + MoveBuffer.toString(move));
+            didTurnEnd = board.playMove(move);
+            movingSquare = MoveBuffer.to(move);
+            moveCount++;
+        }
+        player.turnEnded();
+        return moveCount;
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move)
+                return true;
+        }
+        return false;
+    }
+
+    public void playNextTurn(boolean isWhiteTurn) {
+        playTurn(isWhiteTurn ? whitePlayer : blackPlayer, isWhiteTurn);
+    }
+
     /**
      * Ask user to pick Pion item from the board such that he own the item.
      *
@@ -88,43 +295,11 @@ public class BoardController {
      * @return 2d point containing row index, and column index in the board owned by selected user
      */
     public BoardLocation pickTargetPion(boolean isWhitePawn) {
-        System.out.println("Pick " + (isWhitePawn ?
-                "White (" + Board.WHITE_PAWN + " or " + Board.WHITE_QUEEN + ")"
-                : "Black (" + Board.BLACK_PAWN + " or " + Board.BLACK_QUEEN + ")"
-        ) + " from board location to move:");
-        int rowIndex;
-        int colIndex;
-        boolean isCaseOwnedByPlayer;
-        do {
-            rowIndex = InputIntegerUtils.getBoundedInteger(1, board.getTailleBoard(), "Chosen Row");
-            colIndex = InputIntegerUtils.getBoundedInteger(1, board.getTailleBoard(), "Chosen Column");
-            isCaseOwnedByPlayer = (isWhitePawn && board.isWhitePion(rowIndex, colIndex))
-                    || (!isWhitePawn && board.isBlackPion(rowIndex, colIndex));
-            if (!isCaseOwnedByPlayer)
-                System.out.println("You do not have the right to chose this item!");
-        } while (!isCaseOwnedByPlayer);
-
-        return new BoardLocation(rowIndex, colIndex);
+        return CONSOLE_PLAYER.pickTargetPion(board, isWhitePawn);
     }
 
     public BoardLocation pickBoardLocationFromList(List<BoardLocation> forcedList, String header) {
-        StringBuilder integerMeaning = new StringBuilder();
-        integerMeaning.append(header).append("\n");
-        int i = 1;
-        for (BoardLocation boardLocation : forcedList) {
-            integerMeaning.append(i)
-                    .append(" - location at (row, col) : (")
-                    .append(boardLocation.getRow())
-                    .append(", ")
-                    .append(boardLocation.getCol())
-                    .append(")\n");
-            i++;
-        }
-        integerMeaning.append("---------------------------------\n");
-        integerMeaning.append("Chosen target");
-        int chosenBoardLocation = InputIntegerUtils.getBoundedInteger(1, forcedList.size(), integerMeaning.toString()) - 1;
-
-        return forcedList.get(chosenBoardLocation);
+        return CONSOLE_PLAYER.pickBoardLocationFromList(forcedList, header);
     }
 
     /**
@@ -144,14 +319,8 @@ public class BoardController {
      */
     public boolean moveItem(Integer rowIndex, Integer colIndex)
             throws InvalidDirectionException, OutOfBoardException, EatObligationException {
-        String integerMeaning = "Target item (row, col) = (" + rowIndex + ", " + colIndex + ")\n" +
-                "Choose a diagonal direction from 1, 3, 7 or 9 as follow : " + "\n" +
-                "7\t-\t9" + "\n" +
-                "-\tP\t-" + "\n" +
-                "1\t-\t3" + "\n" +
-                "Chosen Direction: ";
-        int moveBehaviorDirection = InputIntegerUtils.getIntegerInList(Board.ALLOWED_DIRECTIONS, integerMeaning);
-        int steps = board.isNormalPawn(rowIndex, colIndex) ? 1 : InputIntegerUtils.getBoundedInteger(1, board.getTailleBoard(), "Queen Steps");
+        int moveBehaviorDirection = CONSOLE_PLAYER.pickDirection(rowIndex, colIndex);
+        int steps = CONSOLE_PLAYER.pickSteps(board, rowIndex, colIndex);
         return board.moveItem(rowIndex, colIndex, moveBehaviorDirection, steps);
     }
 }
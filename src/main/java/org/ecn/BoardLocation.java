@@ -28,6 +28,26 @@ public class BoardLocation {
         return MoveBehavior.getDirectionFromDxDy(getCol() - colIndexSource, getRow() - rowIndexSource);
     }
 
+    /**
+     * Pack a location into a primitive square, as used by {@link MoveBuffer} encoded moves.
+     * Board size is at most {@link Board#MAX_SIZE}, so row and column each fit in 4 bits.
+     *
+     * @param row row location
+     * @param col column location
+     * @return square as <code>row &lt;&lt; 4 | col</code>, ordered the same way as a row major scan of the board
+     */
+    public static int toSquare(int row, int col) {
+        return row << 4 | col;
+    }
+
+    public static int squareRow(int square) {
+        return square >> 4;
+    }
+
+    public static int squareCol(int square) {
+        return square & 0xF;
+    }
+
     public static String prettyPrint(int row, int col) {
         return "Place [" + row + ", " + col + "]";
     }
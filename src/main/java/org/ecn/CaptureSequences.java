@@ -0,0 +1,121 @@
+package org.ecn;
+
+import java.util.Arrays;
+
+/**
+ * Caller owned buffer of complete capture sequences, filled by
+ * {@link Board#generateCaptureSequences(boolean, boolean, CaptureSequences)} and meant to be reused across calls.
+ * <p>
+ * A sequence is the list of hops a pawn plays in one turn, each hop being a move encoded as defined in
+ * {@link MoveBuffer} that eats exactly one pawn. Its length is its number of hops, i.e. its number of eaten pawns.
+ * Hops of all sequences are stored one after the other in a single array, so that no object is allocated per sequence.
+ */
+public class CaptureSequences {
+
+    private int[] hops = new int[64];
+    /**
+     * Index in {@link #hops} of the first hop of each sequence, followed by the end of the last sequence
+     */
+    private int[] starts = new int[17];
+    private int size;
+    private int maxLength;
+
+    /**
+     * Hops of the sequence being explored
+     */
+    private int[] path = new int[16];
+    private int pathLength;
+
+    public void clear() {
+        size = 0;
+        maxLength = 0;
+        pathLength = 0;
+    }
+
+    /**
+     * @return number of sequences
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index sequence index, from 0 to {@link #size()} - 1
+     * @return number of hops, i.e. number of eaten pawns
+     */
+    public int length(int index) {
+        return starts[index + 1] - starts[index];
+    }
+
+    /**
+     * @param index sequence index, from 0 to {@link #size()} - 1
+     * @param hop   hop index in the sequence, from 0 to {@link #length(int)} - 1
+     * @return hop encoded as defined in {@link MoveBuffer}
+     */
+    public int hop(int index, int hop) {
+        return hops[starts[index] + hop];
+    }
+
+    /**
+     * @return length of the longest sequence, 0 if none
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @param index sequence index, from 0 to {@link #size()} - 1
+     * @return hops of the sequence, to be played one after the other
+     */
+    public int[] toArray(int index) {
+        return Arrays.copyOfRange(hops, starts[index], starts[index + 1]);
+    }
+
+    public String toString(int index) {
+        StringBuilder st = new StringBuilder();
+        for (int k = 0; k < length(index); k++) {
+            if (k > 0)
+                st.append(", ");
+            st.append(MoveBuffer.toString(hop(index, k)));
+        }
+        return st.toString();
+    }
+
+    void push(int hop) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, pathLength * 2);
+        }
+        path[pathLength++] = hop;
+    }
+
+    void pop() {
+        pathLength--;
+    }
+
+    /**
+     * Store the sequence being explored
+     *
+     * @param isMaximumOnly <code>true</code> to keep only the longest sequences: shorter stored sequences are dropped,
+     *                      and the explored sequence is not stored if shorter than them
+     */
+    void addPath(boolean isMaximumOnly) {
+        if (isMaximumOnly && pathLength < maxLength)
+            return;
+        if (isMaximumOnly && pathLength > maxLength)
+            size = 0;
+        maxLength = Math.max(maxLength, pathLength);
+        if (size + 2 > starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+        }
+        int start = starts[size];
+        if (start + pathLength > hops.length) {
+            hops = Arrays.copyOf(hops, Math.max(hops.length * 2, start + pathLength));
+        }
+        System.arraycopy(path, 0, hops, start, pathLength);
+        starts[++size] = start + pathLength;
+    }
+}
@@ -0,0 +1,34 @@
+package org.ecn;
+
+/**
+ * Print game events on the console, as attached by {@link BoardController} for players.
+ */
+public class ConsoleGameEventListener implements GameEventListener {
+
+    @Override
+    public void moved(int fromRow, int fromCol, int toRow, int toCol) {
+        System.out.println("Moved to new " + BoardLocation.prettyPrint(toRow, toCol) + "!");
+    }
+
+    @Override
+    public void captured(int row, int col) {
+        System.out.println("Opponent eaten at position [" + row + ", " + col + "] !");
+    }
+
+    @Override
+    public void promoted(int row, int col, boolean isWhite) {
+        String color = isWhite ? "White" : "Black";
+        System.out.println("!!!!!!!!!!!!!!!!!!!!!!! " + color + " Queen !!!!!!!!!!!!!!!!!!!!!!!");
+        System.out.println("Congrats! Pawn promoted to " + color + " Queen!");
+    }
+
+    @Override
+    public void stepsDiscarded(int stopRow, int stopCol, boolean isOutOfBoard, int discardedSteps) {
+        System.err.println(isOutOfBoard
+                ? BoardLocation.prettyPrint(stopRow, stopCol) + " is out of the board!"
+                : "Cannot step further than [" + stopRow + ", " + stopCol + "] as position isn't available!");
+        if (discardedSteps != 0) {
+            System.err.println("=> Discarding remaining " + discardedSteps + " steps.");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.ecn;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Human player typing the piece, the direction and the steps of each move on the console
+ */
+public class ConsolePlayer implements Player {
+
+    @Override
+    public int chooseMove(Board board, boolean isWhite, MoveBuffer legalMoves) {
+        List<BoardLocation> attackers = new ArrayList<>();
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            BoardLocation attacker = new BoardLocation(BoardLocation.squareRow(MoveBuffer.from(move)), BoardLocation.squareCol(MoveBuffer.from(move)));
+            if (MoveBuffer.isCapture(move) && !attackers.contains(attacker))
+                attackers.add(attacker);
+        }
+        while (true) {
+            System.out.println(board);
+            BoardLocation targetItem;
+            if (attackers.isEmpty()) {
+                targetItem = pickTargetPion(board, isWhite);
+            } else {
+                System.out.println("!!!!!!!!!!!!!!!!!!!!!!! Time to eat some pawns!!!!!!!!!!!!!!!!!!!!!!!");
+                if (attackers.size() == 1) {
+                    System.out.println("Eat obligation rule, automatically chosen target item.");
+                    targetItem = attackers.get(0);
+                } else {
+                    targetItem = pickBoardLocationFromList(attackers, "Choose Pawn for your next turn");
+                }
+            }
+            int rowIndex = targetItem.getRow();
+            int colIndex = targetItem.getCol();
+            int direction = pickDirection(rowIndex, colIndex);
+            int steps = pickSteps(board, rowIndex, colIndex);
+            int from = BoardLocation.toSquare(rowIndex, colIndex);
+            boolean isPawn = board.isNormalPawn(rowIndex, colIndex);
+            for (int i = 0; i < legalMoves.size(); i++) {
+                int move = legalMoves.get(i);
+                // a pawn jumps over the pawn it eats in a single step
+                if (MoveBuffer.from(move) == from && MoveBuffer.direction(move) == direction
+                        && (isPawn || MoveBuffer.steps(move) == steps))
+                    return move;
+            }
+            System.err.println(board.checkMove(rowIndex, colIndex, direction, steps).isMade()
+                    ? "This move is not allowed now" : board.getMoveDiagnostic());
+        }
+    }
+
+    /**
+     * Ask user to pick Pion item from the board such that he own the item.
+     *
+     * @param isWhitePawn <code>true</code> -> restrict to pick white pawn <br/>
+     *                    <code>false</code> -> restrict to pick black pawn
+     * @return 2d point containing row index, and column index in the board owned by selected user
+     */
+    public BoardLocation pickTargetPion(Board board, boolean isWhitePawn) {
+        System.out.println("Pick " + (isWhitePawn ?
+                "White (" + Board.WHITE_PAWN + " or " + Board.WHITE_QUEEN + ")"
+                : "Black (" + Board.BLACK_PAWN + " or " + Board.BLACK_QUEEN + ")"
+        ) + " from board location to move:");
+        int rowIndex;
+        int colIndex;
+        boolean isCaseOwnedByPlayer;
+        do {
+            rowIndex = InputIntegerUtils.getBoundedInteger(1, board.getTailleBoard(), "Chosen Row");
+            colIndex = InputIntegerUtils.getBoundedInteger(1, board.getTailleBoard(), "Chosen Column");
+            isCaseOwnedByPlayer = (isWhitePawn && board.isWhitePion(rowIndex, colIndex))
+                    || (!isWhitePawn && board.isBlackPion(rowIndex, colIndex));
+            if (!isCaseOwnedByPlayer)
+                System.out.println("You do not have the right to chose this item!");
+        } while (!isCaseOwnedByPlayer);
+
+        return new BoardLocation(rowIndex, colIndex);
+    }
+
+    public BoardLocation pickBoardLocationFromList(List<BoardLocation> forcedList, String header) {
+        StringBuilder integerMeaning = new StringBuilder();
+        integerMeaning.append(header).append("\n");
+        int i = 1;
+        for (BoardLocation boardLocation : forcedList) {
+            integerMeaning.append(i)
+                    .append(" - location at (row, col) : (")
+                    .append(boardLocation.getRow())
+                    .append(", ")
+                    .append(boardLocation.getCol())
+                    .append(")\n");
+            i++;
+        }
+        integerMeaning.append("---------------------------------\n");
+        integerMeaning.append("Chosen target");
+        int chosenBoardLocation = InputIntegerUtils.getBoundedInteger(1, forcedList.size(), integerMeaning.toString()) - 1;
+
+        return forcedList.get(chosenBoardLocation);
+    }
+
+    /**
+     * Ask user for the diagonal direction of the item given in parameter.
+     * <pre>
+     *     Direction is specified upon number selection 1, 3, 7 or 9 as follows
+     *     7 - 9
+     *     - P -
+     *     1 - 3
+     * </pre>
+     */
+    public int pickDirection(int rowIndex, int colIndex) {
+        String integerMeaning = "Target item (row, col) = (" + rowIndex + ", " + colIndex + ")\n" +
+                "Choose a diagonal direction from 1, 3, 7 or 9 as follow : " + "\n" +
+                "7\t-\t9" + "\n" +
+                "-\tP\t-" + "\n" +
+                "1\t-\t3" + "\n" +
+                "Chosen Direction: ";
+        return InputIntegerUtils.getIntegerInList(Board.ALLOWED_DIRECTIONS, integerMeaning);
+    }
+
+    /**
+     * @return 1 for a pawn, steps asked to the user for a queen
+     */
+    public int pickSteps(Board board, int rowIndex, int colIndex) {
+        return board.isNormalPawn(rowIndex, colIndex) ? 1 : InputIntegerUtils.getBoundedInteger(1, board.getTailleBoard(), "Queen Steps");
+    }
+}
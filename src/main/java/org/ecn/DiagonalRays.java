@@ -0,0 +1,73 @@
+package org.ecn;
+
+/**
+ * Precomputed diagonals of a board size: for each square and each direction of {@link Board#ALLOWED_DIRECTIONS},
+ * the squares met when walking from it to the border, nearest first.
+ * <p>
+ * Squares are defined in {@link BoardLocation#toSquare(int, int)}, directions are indexed as
+ * {@link MoveBehavior#diagonalIndex(int)}. Tables are immutable and shared by all boards of the same size.
+ */
+final class DiagonalRays {
+
+    static final int DIRECTIONS = 4;
+
+    private static final int MAX_SIZE = Board.MAX_SIZE;
+    private static final int[] EMPTY_RAY = new int[0];
+    private static final DiagonalRays[] BY_SIZE = new DiagonalRays[MAX_SIZE + 1];
+
+    /**
+     * Indexed by <code>square * DIRECTIONS + direction index</code>
+     */
+    private final int[][] rays;
+
+    private DiagonalRays(int tailleBoard) {
+        rays = new int[(BoardLocation.toSquare(MAX_SIZE, MAX_SIZE) + 1) * DIRECTIONS][];
+        for (int i = 0; i < rays.length; i++) {
+            rays[i] = EMPTY_RAY;
+        }
+        for (int row = 1; row <= tailleBoard; row++) {
+            for (int col = 1; col <= tailleBoard; col++) {
+                for (int direction = 0; direction < DIRECTIONS; direction++) {
+                    int moveDrow = MoveBehavior.diagonalDy(direction);
+                    int moveDcol = MoveBehavior.diagonalDx(direction);
+                    int length = 0;
+                    while (isInside(tailleBoard, row + (length + 1) * moveDrow, col + (length + 1) * moveDcol)) {
+                        length++;
+                    }
+                    int[] ray = new int[length];
+                    for (int k = 0; k < length; k++) {
+                        ray[k] = BoardLocation.toSquare(row + (k + 1) * moveDrow, col + (k + 1) * moveDcol);
+                    }
+                    rays[BoardLocation.toSquare(row, col) * DIRECTIONS + direction] = ray;
+                }
+            }
+        }
+    }
+
+    private static boolean isInside(int tailleBoard, int row, int col) {
+        return row >= 1 && row <= tailleBoard && col >= 1 && col <= tailleBoard;
+    }
+
+    /**
+     * @param tailleBoard board size, at most 15 so that squares fit in a byte
+     * @return shared tables of this size, built on first use
+     */
+    static DiagonalRays of(int tailleBoard) {
+        DiagonalRays diagonalRays = BY_SIZE[tailleBoard];
+        if (diagonalRays == null) {
+            // racing threads build equal immutable tables, any of them may be kept
+            diagonalRays = new DiagonalRays(tailleBoard);
+            BY_SIZE[tailleBoard] = diagonalRays;
+        }
+        return diagonalRays;
+    }
+
+    /**
+     * @param square    start square, excluded from the ray
+     * @param direction direction index, from 0 to {@link #DIRECTIONS} - 1
+     * @return squares from the nearest to the border, empty when the start square is on the border or off the board
+     */
+    int[] ray(int square, int direction) {
+        return rays[square * DIRECTIONS + direction];
+    }
+}
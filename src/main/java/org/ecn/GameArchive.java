@@ -0,0 +1,517 @@
+package org.ecn;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archive of many games in one file, written with {@link Writer} and read one game at a time with {@link Reader}.
+ * <p>
+ * A game is its board size and engine, the color playing next, the player names and its move history,
+ * replayed from the initial position of its size. Games are grouped in blocks, each block stores columns one after
+ * the other and is compressed with {@link Deflater}:
+ * <ul>
+ *     <li>game column: board size, flags, number of moves and names of each game</li>
+ *     <li>from column: from square of each move, one byte</li>
+ *     <li>to column: zigzag varint of the to square minus the from square</li>
+ *     <li>captured column: zigzag varint of the captured square minus the from square, 0 when nothing is eaten</li>
+ * </ul>
+ * File layout, big endian:
+ * <pre>
+ *     int magic "DARC", int version
+ *     blocks: int raw length, int compressed length, int game count, compressed bytes
+ *     index: for each block, long file offset and long index of its first game
+ *     trailer: long index offset, long game count, int block count, int magic
+ * </pre>
+ * Readers hold one block in memory at a time whatever the archive size.
+ */
+public final class GameArchive {
+
+    public static final int MAGIC = 0x44415243;
+    public static final int VERSION = 1;
+
+    static final int DEFAULT_BLOCK_GAMES = 1024;
+    private static final int BLOCK_HEADER_SIZE = 12;
+    private static final int TRAILER_SIZE = 24;
+    private static final int COLUMNS = 4;
+
+    private static final int FLAG_WHITE_TURN = 1;
+    private static final int FLAG_FIRST_NAME = 1 << 1;
+    private static final int FLAG_SECOND_NAME = 1 << 2;
+    private static final int ENGINE_SHIFT = 3;
+
+    private GameArchive() {
+        throw new IllegalStateException("Utility class: " + getClass());
+    }
+
+    /**
+     * Create an archive, replacing any existing file. Games are only readable once the writer is closed.
+     */
+    public static Writer create(Path file) throws IOException {
+        return new Writer(file, DEFAULT_BLOCK_GAMES);
+    }
+
+    public static Reader open(Path file) throws IOException {
+        return new Reader(file);
+    }
+
+    /**
+     * Append games to an archive, block after block
+     */
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final int blockGames;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final ByteColumn[] columns = new ByteColumn[COLUMNS];
+        private final ByteColumn raw = new ByteColumn();
+        private byte[] compressed = new byte[1024];
+        private int gamesInBlock;
+        private long gameCount;
+        private final ByteColumn index = new ByteColumn();
+        private int blockCount;
+
+        Writer(Path file, int blockGames) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.blockGames = blockGames;
+            for (int c = 0; c < COLUMNS; c++) {
+                columns[c] = new ByteColumn();
+            }
+            ByteBuffer header = ByteBuffer.allocate(8);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            write(header);
+        }
+
+        /**
+         * Add a game played from the initial position of its board
+         */
+        public void add(BoardController boardController) throws IOException {
+            List<Integer> moveHistory = boardController.getMoveHistory();
+            int[] moves = new int[moveHistory.size()];
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = moveHistory.get(i);
+            }
+            Board board = boardController.getBoard();
+            add(board.getTailleBoard(), board.getEngine(), boardController.isWhiteTurn(),
+                    boardController.getFirstPlayerName(), boardController.getSecondPlayerName(), moves, moves.length);
+        }
+
+        /**
+         * Add a game played from the initial position of its board
+         *
+         * @param moves     moves encoded as defined in {@link MoveBuffer}, one per hop
+         * @param moveCount number of moves to take from the array
+         */
+        public void add(int tailleBoard, Board.Engine engine, boolean isWhiteTurn, String firstPlayerName,
+                        String secondPlayerName, int[] moves, int moveCount) throws IOException {
+            ByteColumn games = columns[0];
+            games.writeVarint(tailleBoard);
+            games.writeByte((isWhiteTurn ? FLAG_WHITE_TURN : 0)
+                    | (firstPlayerName != null ? FLAG_FIRST_NAME : 0)
+                    | (secondPlayerName != null ? FLAG_SECOND_NAME : 0)
+                    | engine.ordinal() << ENGINE_SHIFT);
+            games.writeVarint(moveCount);
+            if (firstPlayerName != null)
+                games.writeString(firstPlayerName);
+            if (secondPlayerName != null)
+                games.writeString(secondPlayerName);
+            for (int i = 0; i < moveCount; i++) {
+                int from = MoveBuffer.from(moves[i]);
+                columns[1].writeByte(from);
+                columns[2].writeVarint(zigzag(MoveBuffer.to(moves[i]) - from));
+                columns[3].writeVarint(MoveBuffer.isCapture(moves[i]) ? zigzag(MoveBuffer.captured(moves[i]) - from) : 0);
+            }
+            gameCount++;
+            if (++gamesInBlock == blockGames)
+                flushBlock();
+        }
+
+        public long getGameCount() {
+            return gameCount;
+        }
+
+        private void flushBlock() throws IOException {
+            if (gamesInBlock == 0)
+                return;
+            raw.clear();
+            for (ByteColumn column : columns) {
+                raw.writeVarint(column.size);
+            }
+            for (ByteColumn column : columns) {
+                raw.writeBytes(column.bytes, column.size);
+                column.clear();
+            }
+            deflater.reset();
+            deflater.setInput(raw.bytes, 0, raw.size);
+            deflater.finish();
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length)
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+
+            index.writeLong(channel.position());
+            index.writeLong(gameCount - gamesInBlock);
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            header.putInt(raw.size).putInt(compressedLength).putInt(gamesInBlock).flip();
+            write(header);
+            write(ByteBuffer.wrap(compressed, 0, compressedLength));
+            gamesInBlock = 0;
+            blockCount++;
+        }
+
+        private void write(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+
+        /**
+         * Write the last block and the index
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flushBlock();
+                long indexOffset = channel.position();
+                write(ByteBuffer.wrap(index.bytes, 0, index.size));
+                ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+                trailer.putLong(indexOffset).putLong(gameCount).putInt(blockCount).putInt(MAGIC).flip();
+                write(trailer);
+            } finally {
+                deflater.end();
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Cursor over the games of an archive: {@link #next()} moves to the next game, whose fields are then read
+     * without allocating anything but the strings of the names and what {@link #toBoardController()} builds
+     */
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final Inflater inflater = new Inflater();
+        private final long gameCount;
+        private final long[] blockOffsets;
+        private final long[] blockFirstGames;
+
+        private byte[] compressed = new byte[1024];
+        private byte[] block = new byte[1024];
+        private int blockIndex = -1;
+        private int gamesLeftInBlock;
+        /**
+         * Read position of each column in {@link #block}
+         */
+        private final int[] positions = new int[COLUMNS];
+        private long game = -1;
+
+        private int tailleBoard;
+        private int flags;
+        private int moveCount;
+        private int[] moves = new int[256];
+        private int firstNameOffset;
+        private int firstNameLength;
+        private int secondNameOffset;
+        private int secondNameLength;
+
+        Reader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                ByteBuffer header = read(0, 8);
+                if (header.getInt() != MAGIC)
+                    throw new IOException("Not a game archive: " + file);
+                int version = header.getInt();
+                if (version != VERSION)
+                    throw new IOException("Unsupported game archive version " + version);
+                if (channel.size() < 8 + TRAILER_SIZE)
+                    throw new IOException("Game archive not closed: " + file);
+                ByteBuffer trailer = read(channel.size() - TRAILER_SIZE, TRAILER_SIZE);
+                long indexOffset = trailer.getLong();
+                gameCount = trailer.getLong();
+                int blockCount = trailer.getInt();
+                if (trailer.getInt() != MAGIC)
+                    throw new IOException("Game archive not closed: " + file);
+                ByteBuffer index = read(indexOffset, blockCount * 16);
+                blockOffsets = new long[blockCount];
+                blockFirstGames = new long[blockCount];
+                for (int b = 0; b < blockCount; b++) {
+                    blockOffsets[b] = index.getLong();
+                    blockFirstGames[b] = index.getLong();
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private ByteBuffer read(long offset, int length) throws IOException {
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            readFully(offset, bytes);
+            bytes.flip();
+            return bytes;
+        }
+
+        private void readFully(long offset, ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, offset + bytes.position()) < 0)
+                    throw new EOFException("Truncated game archive");
+            }
+        }
+
+        public long getGameCount() {
+            return gameCount;
+        }
+
+        /**
+         * @return index of the current game, -1 before the first call to {@link #next()}
+         */
+        public long getGameIndex() {
+            return game;
+        }
+
+        /**
+         * Move to the next game
+         *
+         * @return <code>false</code> if there is no more game
+         */
+        public boolean next() throws IOException {
+            if (game + 1 >= gameCount)
+                return false;
+            if (gamesLeftInBlock == 0)
+                loadBlock(blockIndex + 1);
+            readGame();
+            return true;
+        }
+
+        /**
+         * Move to given game, only decoding the block holding it
+         *
+         * @param gameIndex from 0 to {@link #getGameCount()} - 1
+         */
+        public void seek(long gameIndex) throws IOException {
+            if (gameIndex < 0 || gameIndex >= gameCount)
+                throw new IndexOutOfBoundsException("Game " + gameIndex + " out of archive of " + gameCount + " games");
+            int b = Arrays.binarySearch(blockFirstGames, gameIndex);
+            if (b < 0)
+                b = -b - 2;
+            if (b != blockIndex || gameIndex <= game)
+                loadBlock(b);
+            while (game < gameIndex) {
+                readGame();
+            }
+        }
+
+        private void loadBlock(int b) throws IOException {
+            ByteBuffer header = read(blockOffsets[b], BLOCK_HEADER_SIZE);
+            int rawLength = header.getInt();
+            int compressedLength = header.getInt();
+            gamesLeftInBlock = header.getInt();
+            if (compressed.length < compressedLength)
+                compressed = new byte[compressedLength];
+            if (block.length < rawLength)
+                block = new byte[rawLength];
+            readFully(blockOffsets[b] + BLOCK_HEADER_SIZE, ByteBuffer.wrap(compressed, 0, compressedLength));
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+            try {
+                int inflated = 0;
+                while (inflated < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(block, inflated, rawLength - inflated);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                        throw new IOException("Truncated block " + b);
+                    inflated += n;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted block " + b, e);
+            }
+            // column lengths then columns
+            int position = 0;
+            int[] lengths = new int[COLUMNS];
+            for (int c = 0; c < COLUMNS; c++) {
+                long varint = readVarint(block, position);
+                lengths[c] = (int) varint;
+                position = (int) (varint >>> 32);
+            }
+            for (int c = 0; c < COLUMNS; c++) {
+                positions[c] = position;
+                position += lengths[c];
+            }
+            blockIndex = b;
+            game = blockFirstGames[b] - 1;
+        }
+
+        private void readGame() {
+            tailleBoard = nextVarint(0);
+            flags = block[positions[0]++] & 0xFF;
+            moveCount = nextVarint(0);
+            firstNameLength = -1;
+            secondNameLength = -1;
+            if ((flags & FLAG_FIRST_NAME) != 0) {
+                firstNameLength = nextVarint(0);
+                firstNameOffset = positions[0];
+                positions[0] += firstNameLength;
+            }
+            if ((flags & FLAG_SECOND_NAME) != 0) {
+                secondNameLength = nextVarint(0);
+                secondNameOffset = positions[0];
+                positions[0] += secondNameLength;
+            }
+            if (moves.length < moveCount)
+                moves = new int[Math.max(moveCount, moves.length * 2)];
+            for (int i = 0; i < moveCount; i++) {
+                int from = block[positions[1]++] & 0xFF;
+                int to = from + unzigzag(nextVarint(2));
+                int captured = nextVarint(3);
+                moves[i] = MoveBuffer.encode(from, to, captured == 0 ? 0 : from + unzigzag(captured));
+            }
+            gamesLeftInBlock--;
+            game++;
+        }
+
+        private int nextVarint(int column) {
+            long varint = readVarint(block, positions[column]);
+            positions[column] = (int) (varint >>> 32);
+            return (int) varint;
+        }
+
+        public int getTailleBoard() {
+            return tailleBoard;
+        }
+
+        public Board.Engine getEngine() {
+            return Board.Engine.values()[flags >>> ENGINE_SHIFT];
+        }
+
+        public boolean isWhiteTurn() {
+            return (flags & FLAG_WHITE_TURN) != 0;
+        }
+
+        public int getMoveCount() {
+            return moveCount;
+        }
+
+        /**
+         * @param index from 0 to {@link #getMoveCount()} - 1
+         * @return move encoded as defined in {@link MoveBuffer}
+         */
+        public int getMove(int index) {
+            if (index >= moveCount)
+                throw new IndexOutOfBoundsException("Move " + index + " out of game of " + moveCount + " moves");
+            return moves[index];
+        }
+
+        public String getFirstPlayerName() {
+            return firstNameLength < 0 ? null : new String(block, firstNameOffset, firstNameLength, StandardCharsets.UTF_8);
+        }
+
+        public String getSecondPlayerName() {
+            return secondNameLength < 0 ? null : new String(block, secondNameOffset, secondNameLength, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Replay the current game from the initial position of its board
+         */
+        public BoardController toBoardController() {
+            Board board = new Board(tailleBoard, getEngine());
+            List<Integer> moveHistory = new ArrayList<>(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                board.playMove(moves[i]);
+                moveHistory.add(moves[i]);
+            }
+            BoardController boardController = new BoardController(board, getFirstPlayerName(), getSecondPlayerName());
+            boardController.setWhiteTurn(isWhiteTurn());
+            boardController.setMoveHistory(moveHistory);
+            return boardController;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            channel.close();
+        }
+    }
+
+    private static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * @return value in the low 32 bits, position after the varint in the high 32 bits
+     */
+    private static long readVarint(byte[] bytes, int position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = bytes[position++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return (long) position << 32 | value & 0xFFFFFFFFL;
+        }
+    }
+
+    /**
+     * Growable byte array, reused from one block to the other
+     */
+    private static final class ByteColumn {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        private void ensureCapacity(int more) {
+            if (size + more > bytes.length)
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + more));
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] source, int length) {
+            ensureCapacity(length);
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            writeBytes(utf8, utf8.length);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.ecn;
+
+/**
+ * Receive what happens on a {@link Board} while moves are played with {@link Board#tryMove(int, int, int, int)},
+ * {@link Board#moveItem(int, int, int, int)} or {@link Board#playMove(int)}.
+ * <p>
+ * Every event has a default empty implementation, so that a listener only overrides the events it cares about.
+ * Boards start with {@link #NONE}, and do not even build the events as long as it is attached:
+ * headless games and searches pay nothing for the events.
+ * <p>
+ * Events of one move are sent in the following order: {@link #captured}, {@link #stepsDiscarded}, {@link #moved},
+ * {@link #promoted}, {@link #turnEnded}.
+ */
+public interface GameEventListener {
+
+    /**
+     * Listener ignoring every event
+     */
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    /**
+     * A pawn moved, capture included
+     */
+    default void moved(int fromRow, int fromCol, int toRow, int toCol) {
+    }
+
+    /**
+     * An opponent pawn is eaten, it stays on the board as dead pawn till the end of the turn
+     */
+    default void captured(int row, int col) {
+    }
+
+    /**
+     * A normal pawn became a queen
+     */
+    default void promoted(int row, int col, boolean isWhite) {
+    }
+
+    /**
+     * A queen stopped walking before spending all its steps
+     *
+     * @param stopRow        row of the location the queen could not step on
+     * @param stopCol        column of the location the queen could not step on
+     * @param isOutOfBoard   <code>true</code> if the location is out of the board, <code>false</code> if it is occupied
+     * @param discardedSteps number of steps left, can be 0
+     */
+    default void stepsDiscarded(int stopRow, int stopCol, boolean isOutOfBoard, int discardedSteps) {
+    }
+
+    /**
+     * The turn of given color ended, dead pawns are cleared
+     */
+    default void turnEnded(boolean isWhite) {
+    }
+
+    /**
+     * @param next listener receiving every event after this one
+     * @return listener sending events to both listeners
+     */
+    default GameEventListener andThen(GameEventListener next) {
+        if (this == NONE)
+            return next;
+        if (next == NONE)
+            return this;
+        GameEventListener first = this;
+        return new GameEventListener() {
+            @Override
+            public void moved(int fromRow, int fromCol, int toRow, int toCol) {
+                first.moved(fromRow, fromCol, toRow, toCol);
+                next.moved(fromRow, fromCol, toRow, toCol);
+            }
+
+            @Override
+            public void captured(int row, int col) {
+                first.captured(row, col);
+                next.captured(row, col);
+            }
+
+            @Override
+            public void promoted(int row, int col, boolean isWhite) {
+                first.promoted(row, col, isWhite);
+                next.promoted(row, col, isWhite);
+            }
+
+            @Override
+            public void stepsDiscarded(int stopRow, int stopCol, boolean isOutOfBoard, int discardedSteps) {
+                first.stepsDiscarded(stopRow, stopCol, isOutOfBoard, discardedSteps);
+                next.stepsDiscarded(stopRow, stopCol, isOutOfBoard, discardedSteps);
+            }
+
+            @Override
+            public void turnEnded(boolean isWhite) {
+                first.turnEnded(isWhite);
+                next.turnEnded(isWhite);
+            }
+        };
+    }
+}
@@ -2,24 +2,227 @@ package org.ecn;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Save games as JSON or in a compact binary format, and load either of them.
+ * A save is written to a temporary file then renamed over the target, so that a crash never leaves a truncated save.
+ * <p>
+ * Binary format, version 1, big endian:
+ * <pre>
+ *     int     magic "DAME"
+ *     byte    version
+ *     byte    board size
+ *     byte    engine ordinal
+ *     byte    flags: white turn, dark squares only, first name present, second name present
+ *     UTF     first player name, if present
+ *     UTF     second player name, if present
+ *     bytes   squares packed by {@link BoardCodec}
+ *     varint  number of moves in history
+ *     3 bytes per move: from, to and captured squares as encoded in {@link MoveBuffer}
+ * </pre>
+ */
 public class GameSaver {
 
+    /**
+     * "DAME" in ASCII, cannot start a JSON document
+     */
+    public static final int BINARY_MAGIC = 0x44414D45;
+    public static final int BINARY_VERSION = 1;
+
+    private static final int FLAG_WHITE_TURN = 1;
+    private static final int FLAG_DARK_SQUARES_ONLY = 1 << 1;
+    private static final int FLAG_FIRST_NAME = 1 << 2;
+    private static final int FLAG_SECOND_NAME = 1 << 3;
+    /**
+     * Longest move history read from a binary save, a larger count means the save is corrupted
+     */
+    private static final int MAX_MOVE_COUNT = 1 << 20;
+
+    /**
+     * Thread safe once configured, shared by all saves
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private GameSaver() {
         throw new IllegalStateException("Utility class: " + getClass());
     }
 
     public static void saveGame(BoardController boardController, File targetFile) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        // Serialize Java object info JSON file.
-        mapper.writeValue(targetFile, boardController);
+        writeAtomically(toBytes(boardController, false), targetFile.toPath());
+    }
+
+    public static void saveGameBinary(BoardController boardController, File targetFile) throws IOException {
+        writeAtomically(toBytes(boardController, true), targetFile.toPath());
     }
 
+    /**
+     * @return the save of a game, as written by {@link #saveGame(BoardController, File)}
+     * or {@link #saveGameBinary(BoardController, File)}
+     */
+    static byte[] toBytes(BoardController boardController, boolean isBinary) throws IOException {
+        if (!isBinary)
+            // Serialize Java object info JSON.
+            return MAPPER.writeValueAsBytes(boardController);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + 3 * boardController.getMoveHistory().size());
+        writeBinary(boardController, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Write into a temporary file next to the target, forced to the disk, then rename it as the target.
+     * Each call has its own temporary file, so that concurrent writers of the same target do not clobber each other.
+     */
+    static void writeAtomically(byte[] bytes, Path target) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path temporary = Files.createTempFile(absoluteTarget.getParent(), absoluteTarget.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, absoluteTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absoluteTarget, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Load a game saved by {@link #saveGame(BoardController, File)} or {@link #saveGameBinary(BoardController, File)},
+     * the format being detected from the first bytes of the file
+     */
     public static BoardController loadGame(File targetFile) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        // Deserialize JSON file into Java object.
-        return mapper.readValue(targetFile, BoardController.class);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(targetFile.toPath()))) {
+            in.mark(4);
+            // a JSON save may be shorter than the magic number
+            byte[] head = new byte[4];
+            int length = 0;
+            int read;
+            while (length < head.length && (read = in.read(head, length, head.length - length)) >= 0)
+                length += read;
+            boolean isBinary = length == head.length && ByteBuffer.wrap(head).getInt() == BINARY_MAGIC;
+            in.reset();
+            // Deserialize JSON file into Java object.
+            return isBinary ? readBinary(in) : MAPPER.readValue(in, BoardController.class);
+        }
+    }
+
+    /**
+     * Write a game in binary format, the stream is left open
+     */
+    public static void writeBinary(BoardController boardController, OutputStream out) throws IOException {
+        Board board = boardController.getBoard();
+        int tailleBoard = board.getTailleBoard();
+        int[][] boardArray = board.getBoardArray();
+        boolean isDarkSquaresOnly = BoardCodec.isDarkSquaresOnly(boardArray, tailleBoard);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(BINARY_MAGIC);
+        data.writeByte(BINARY_VERSION);
+        data.writeByte(tailleBoard);
+        data.writeByte(board.getEngine().ordinal());
+        data.writeByte((boardController.isWhiteTurn() ? FLAG_WHITE_TURN : 0)
+                | (isDarkSquaresOnly ? FLAG_DARK_SQUARES_ONLY : 0)
+                | (boardController.getFirstPlayerName() != null ? FLAG_FIRST_NAME : 0)
+                | (boardController.getSecondPlayerName() != null ? FLAG_SECOND_NAME : 0));
+        if (boardController.getFirstPlayerName() != null)
+            data.writeUTF(boardController.getFirstPlayerName());
+        if (boardController.getSecondPlayerName() != null)
+            data.writeUTF(boardController.getSecondPlayerName());
+        data.write(BoardCodec.pack(boardArray, tailleBoard, isDarkSquaresOnly));
+        List<Integer> moveHistory = boardController.getMoveHistory();
+        writeVarint(data, moveHistory.size());
+        for (int move : moveHistory) {
+            data.writeByte(MoveBuffer.from(move));
+            data.writeByte(MoveBuffer.to(move));
+            data.writeByte(MoveBuffer.captured(move));
+        }
+        data.flush();
+    }
+
+    /**
+     * Read a game written by {@link #writeBinary(BoardController, OutputStream)}, the stream is left open
+     *
+     * @throws IOException if the stream does not hold a binary save of a known version
+     */
+    public static BoardController readBinary(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != BINARY_MAGIC)
+            throw new IOException("Not a binary save");
+        int version = data.readUnsignedByte();
+        if (version != BINARY_VERSION)
+            throw new IOException("Unsupported binary save version " + version);
+        int tailleBoard = data.readUnsignedByte();
+        int engine = data.readUnsignedByte();
+        if (engine >= Board.Engine.values().length)
+            throw new IOException("Unknown engine " + engine);
+        if (tailleBoard < 1 || tailleBoard > Board.Engine.values()[engine].getMaxSize())
+            throw new IOException("Board size " + tailleBoard + " out of range for engine " + Board.Engine.values()[engine]);
+        int flags = data.readUnsignedByte();
+        String firstPlayerName = (flags & FLAG_FIRST_NAME) != 0 ? data.readUTF() : null;
+        String secondPlayerName = (flags & FLAG_SECOND_NAME) != 0 ? data.readUTF() : null;
+        boolean isDarkSquaresOnly = (flags & FLAG_DARK_SQUARES_ONLY) != 0;
+        byte[] packed = new byte[BoardCodec.packedLength(tailleBoard, isDarkSquaresOnly)];
+        data.readFully(packed);
+
+        Board board = new Board(tailleBoard, Board.Engine.values()[engine]);
+        try {
+            board.setBoardArray(BoardCodec.unpack(packed, tailleBoard, isDarkSquaresOnly));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted binary save", e);
+        }
+        int moveCount = readVarint(data);
+        if (moveCount < 0 || moveCount > MAX_MOVE_COUNT)
+            throw new IOException("Move count " + moveCount + " out of range");
+        List<Integer> moveHistory = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            moveHistory.add(MoveBuffer.encode(data.readUnsignedByte(), data.readUnsignedByte(), data.readUnsignedByte()));
+        }
+
+        BoardController boardController = new BoardController(board, firstPlayerName, secondPlayerName);
+        boardController.setWhiteTurn((flags & FLAG_WHITE_TURN) != 0);
+        boardController.setMoveHistory(moveHistory);
+        return boardController;
+    }
+
+    private static void writeVarint(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
     }
 }
@@ -1,11 +1,27 @@
 package org.ecn;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Scanner;
+import java.util.NoSuchElementException;
 
+/**
+ * Integers typed by the user, read from one buffered input shared by every prompt: {@link System#in} by default,
+ * or any input given to {@link #setInput(Reader)} such as a script. Tokens are separated by whitespace,
+ * a <code>#</code> starts a comment up to the end of the line.
+ */
 public class InputIntegerUtils {
 
+    private static final char[] buffer = new char[8192];
+    private static Reader input = new InputStreamReader(System.in);
+    private static int position;
+    private static int limit;
+    private static boolean isPromptEnabled = true;
+
     /**
      * Callback interface used to satisfy integer condition
      */
@@ -13,6 +29,30 @@ public class InputIntegerUtils {
         boolean isValid(int i);
     }
 
+    /**
+     * Read next integers from given input, the input read so far is dropped
+     */
+    public static synchronized void setInput(Reader reader) {
+        input = reader;
+        position = 0;
+        limit = 0;
+    }
+
+    public static void setInput(InputStream in) {
+        setInput(new InputStreamReader(in));
+    }
+
+    /**
+     * @param isEnabled <code>false</code> to read integers without printing what they are for, as for a script
+     */
+    public static synchronized void setPromptEnabled(boolean isEnabled) {
+        isPromptEnabled = isEnabled;
+    }
+
+    public static synchronized boolean isPromptEnabled() {
+        return isPromptEnabled;
+    }
+
     /**
      * Ask user to enter integer bounded by min and max value inclusive.
      *
@@ -41,31 +81,81 @@ public class InputIntegerUtils {
     }
 
     /**
-     * Ask user for integer under condition specified by parameter
+     * Ask user for integer under condition specified by parameter.
+     * The prompt is printed once, a wrong input is only followed by a reminder.
      *
      * @param integerCondition the condition to be met by integer input
      * @param integerMeaning the integer meaning asked for
      * @return an integer meeting the condition specified in parameter
+     * @throws NoSuchElementException if the input ends first
      */
-    public static int getConditionalInteger(IntegerCondition integerCondition, String integerMeaning) {
-        Scanner in = new Scanner(System.in);
-        boolean isValidChoice = false;
-        String inputChoice = "";
-        Integer parsedChoice = null;
-        do {
+    public static synchronized int getConditionalInteger(IntegerCondition integerCondition, String integerMeaning) {
+        if (isPromptEnabled)
             System.out.print(integerMeaning);
-            inputChoice = in.next();
+        while (true) {
+            String inputChoice = nextToken();
+            if (inputChoice == null)
+                throw new NoSuchElementException("Input ended while waiting for: " + integerMeaning);
             try {
-                parsedChoice = Integer.parseInt(inputChoice);
-                if (integerCondition != null && integerCondition.isValid(parsedChoice)) {
-                    isValidChoice = true;
-                } else {
-                    System.out.println("Number does not meet asked condition!");
-                }
+                int parsedChoice = Integer.parseInt(inputChoice);
+                if (integerCondition != null && integerCondition.isValid(parsedChoice))
+                    return parsedChoice;
+                System.out.println("Number does not meet asked condition!");
             } catch (NumberFormatException e) {
                 System.out.println("Invalid number format!");
             }
-        } while (!isValidChoice);
-        return parsedChoice;
+            if (isPromptEnabled)
+                System.out.print("Try again: ");
+        }
+    }
+
+    /**
+     * Read next integer without any prompt nor condition
+     *
+     * @return <code>null</code> at the end of the input
+     * @throws NumberFormatException if next token is not an integer
+     */
+    public static synchronized Integer nextInteger() {
+        String token = nextToken();
+        return token == null ? null : Integer.valueOf(token);
+    }
+
+    /**
+     * @return next token, <code>null</code> at the end of the input
+     */
+    private static String nextToken() {
+        int c = read();
+        while (c >= 0 && (Character.isWhitespace(c) || c == '#')) {
+            if (c == '#') {
+                while (c >= 0 && c != '\n') {
+                    c = read();
+                }
+            }
+            c = read();
+        }
+        if (c < 0)
+            return null;
+        StringBuilder token = new StringBuilder();
+        while (c >= 0 && !Character.isWhitespace(c)) {
+            token.append((char) c);
+            c = read();
+        }
+        return token.toString();
+    }
+
+    private static int read() {
+        if (position == limit) {
+            try {
+                limit = input.read(buffer, 0, buffer.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
     }
 }
@@ -1,10 +1,69 @@
 package org.ecn;
 
+import org.ecn.ai.EnginePlayer;
+import org.ecn.ai.ParallelSearch;
+import org.ecn.ai.SearchEngine;
+import org.ecn.ai.Searcher;
+import org.ecn.ai.TranspositionTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 public class Main {
-    public static void main(String[] args) {
+    /**
+     * @param args optional <code>--computer white|black [millis]</code> to play against the computer,
+     *             given the time it may think per turn, <code>--threads n</code> to let it search on n threads,
+     *             <code>--autosave file</code> to save the game
+     *             in this file after every turn, and <code>--batch file</code> to replay a script holding
+     *             the board size then one move per line as <code>row col direction steps</code>
+     */
+    public static void main(String[] args) throws IOException {
+        String batchFile = null;
+        int threads = 1;
+        for (int i = 0; i + 1 < args.length; i++) {
+            if ("--batch".equals(args[i]))
+                batchFile = args[i + 1];
+            else if ("--threads".equals(args[i]))
+                threads = Integer.parseInt(args[i + 1]);
+        }
+        if (batchFile != null) {
+            InputIntegerUtils.setInput(Files.newBufferedReader(Paths.get(batchFile)));
+            InputIntegerUtils.setPromptEnabled(false);
+        }
         Board board = new Board(InputIntegerUtils.getBoundedInteger(4, 14, "Enter Board size"));
         BoardController boardController = new BoardController(board, "Player one", "Player two");
+        for (int i = 0; i < args.length; i++) {
+            if ("--computer".equals(args[i]) && i + 1 < args.length) {
+                boolean isComputerWhite = "white".equals(args[++i]);
+                long moveMillis = 1000;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--"))
+                    moveMillis = Long.parseLong(args[++i]);
+                TranspositionTable table = new TranspositionTable(64);
+                Searcher searcher = threads > 1 ? new ParallelSearch(threads, table) : new SearchEngine(table);
+                EnginePlayer computer = new EnginePlayer(searcher, moveMillis);
+                if (isComputerWhite)
+                    boardController.setWhitePlayer(computer);
+                else
+                    boardController.setBlackPlayer(computer);
+            } else if ("--autosave".equals(args[i]) && i + 1 < args.length) {
+                boardController.setAutoSave(new AutoSaveService(new File(args[++i]), false));
+            }
+        }
 
-        boardController.startGame();
+        try {
+            if (batchFile != null) {
+                long start = System.nanoTime();
+                int moveCount = boardController.playBatch();
+                System.out.println(board);
+                System.out.printf("%d moves replayed in %.1f ms%n", moveCount, (System.nanoTime() - start) / 1e6);
+            } else {
+                boardController.startGame();
+            }
+        } finally {
+            if (boardController.getAutoSave() != null)
+                boardController.getAutoSave().close();
+        }
     }
 }
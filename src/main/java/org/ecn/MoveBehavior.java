@@ -3,8 +3,6 @@ package org.ecn;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 public class MoveBehavior {
     private MoveBehavior() {
@@ -59,15 +57,68 @@ public class MoveBehavior {
         return dxMap;
     }
 
+    /**
+     * Primitive copy of {@link #DIRECTION_TO_DX}, indexed by direction from 1 to 9
+     */
+    private static final int[] DX = {0, -1, 0, 1, -1, 0, 1, -1, 0, 1};
+    /**
+     * Primitive copy of {@link #DIRECTION_TO_DY}, indexed by direction from 1 to 9
+     */
+    private static final int[] DY = {0, 1, 1, 1, 0, 0, 0, -1, -1, -1};
+    /**
+     * Direction indexed by <code>(sign(dy) + 1) * 3 + sign(dx) + 1</code>
+     */
+    private static final int[] DIRECTION_FROM_SIGNS = {7, 8, 9, 4, 5, 6, 1, 2, 3};
+    /**
+     * Diagonal directions in {@link Board#ALLOWED_DIRECTIONS} order
+     */
+    private static final int[] DIAGONALS = {1, 3, 7, 9};
+    /**
+     * Index in {@link #DIAGONALS} of each direction from 0 to 9, -1 if not diagonal
+     */
+    private static final int[] DIAGONAL_INDEX = {-1, 0, -1, 1, -1, -1, -1, 2, -1, 3};
+
     public static int getDirectionFromDxDy(int dx, int dy) {
-        int finalDx = Integer.compare(dx, 0);
-        int finalDy = Integer.compare(dy, 0);
-        // collect possible direction from each d movement then return intersection
-        Set<Integer> possibleDxDirection = DIRECTION_TO_DX.entrySet().stream().filter(mapEntry -> mapEntry.getValue() == finalDx)
-                .map(Map.Entry::getKey).collect(Collectors.toSet());
+        return DIRECTION_FROM_SIGNS[(Integer.signum(dy) + 1) * 3 + Integer.signum(dx) + 1];
+    }
+
+    /**
+     * @param direction direction as defined above
+     * @return column move of the direction, same as {@link #DIRECTION_TO_DX} without boxing
+     */
+    public static int dx(int direction) {
+        return DX[direction];
+    }
+
+    /**
+     * @param direction direction as defined above
+     * @return row move of the direction, same as {@link #DIRECTION_TO_DY} without boxing
+     */
+    public static int dy(int direction) {
+        return DY[direction];
+    }
+
+    /**
+     * @param direction any integer
+     * @return index of the direction in {@link Board#ALLOWED_DIRECTIONS}, -1 if it isn't a diagonal direction
+     */
+    public static int diagonalIndex(int direction) {
+        return direction >= 0 && direction < DIAGONAL_INDEX.length ? DIAGONAL_INDEX[direction] : -1;
+    }
+
+    /**
+     * @param diagonalIndex index in {@link Board#ALLOWED_DIRECTIONS}
+     * @return the diagonal direction
+     */
+    public static int diagonal(int diagonalIndex) {
+        return DIAGONALS[diagonalIndex];
+    }
+
+    public static int diagonalDx(int diagonalIndex) {
+        return DX[DIAGONALS[diagonalIndex]];
+    }
 
-        Set<Integer> possibleDyDirection = DIRECTION_TO_DY.entrySet().stream().filter(mapEntry -> mapEntry.getValue() == finalDy)
-                .map(Map.Entry::getKey).collect(Collectors.toSet());
-        return possibleDxDirection.stream().filter(possibleDyDirection::contains).findFirst().orElse(-1);
+    public static int diagonalDy(int diagonalIndex) {
+        return DY[DIAGONALS[diagonalIndex]];
     }
 }
@@ -0,0 +1,118 @@
+package org.ecn;
+
+import java.util.Arrays;
+
+/**
+ * Caller owned buffer of primitive encoded moves, meant to be reused across calls to
+ * {@link Board#generateLegalMoves(boolean, MoveBuffer)} so that no object is allocated per move.
+ * <p>
+ * A move is packed into an int from squares as defined in {@link BoardLocation#toSquare(int, int)}:
+ * <pre>
+ *     bits  0 -  7 : from square
+ *     bits  8 - 15 : to square
+ *     bits 16 - 23 : captured square, 0 when the move does not eat any pawn
+ * </pre>
+ */
+public class MoveBuffer {
+
+    private static final int SQUARE_MASK = 0xFF;
+
+    private int[] moves;
+    private int size;
+
+    public MoveBuffer() {
+        this(64);
+    }
+
+    public MoveBuffer(int initialCapacity) {
+        moves = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Append a move, the buffer grows if needed and keeps its capacity for next uses
+     *
+     * @param move encoded move
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replace a move, used to reorder moves in place
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    public static int encode(int fromSquare, int toSquare, int capturedSquare) {
+        return fromSquare | toSquare << 8 | capturedSquare << 16;
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> 8) & SQUARE_MASK;
+    }
+
+    public static int captured(int move) {
+        return (move >>> 16) & SQUARE_MASK;
+    }
+
+    public static boolean isCapture(int move) {
+        return captured(move) != 0;
+    }
+
+    /**
+     * @param move encoded move
+     * @return direction to give to {@link Board#moveItem(int, int, int, int)} to play this move
+     */
+    public static int direction(int move) {
+        return MoveBehavior.getDirectionFromDxDy(BoardLocation.squareCol(to(move)) - BoardLocation.squareCol(from(move)),
+                BoardLocation.squareRow(to(move)) - BoardLocation.squareRow(from(move)));
+    }
+
+    /**
+     * @param move encoded move
+     * @return steps to give to {@link Board#moveItem(int, int, int, int)} to play this move
+     */
+    public static int steps(int move) {
+        return Math.abs(BoardLocation.squareRow(to(move)) - BoardLocation.squareRow(from(move)));
+    }
+
+    public static String toString(int move) {
+        StringBuilder st = new StringBuilder();
+        st.append(BoardLocation.prettyPrint(BoardLocation.squareRow(from(move)), BoardLocation.squareCol(from(move))))
+                .append(isCapture(move) ? " x " : " -> ")
+                .append(BoardLocation.prettyPrint(BoardLocation.squareRow(to(move)), BoardLocation.squareCol(to(move))));
+        if (isCapture(move)) {
+            st.append(" eating ")
+                    .append(BoardLocation.prettyPrint(BoardLocation.squareRow(captured(move)), BoardLocation.squareCol(captured(move))));
+        }
+        return st.toString();
+    }
+}
@@ -0,0 +1,323 @@
+package org.ecn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append only journal of the moves played on a board, in a memory mapped file.
+ * <p>
+ * Attached to a board as {@link GameEventListener}, the journal records one fixed width record per move
+ * (i.e. per hop of a chain of attacks, called ply below), and a snapshot of the position at the first turn end
+ * after every {@link #getSnapshotInterval()} plies. Any ply is then restored by loading the nearest snapshot before it
+ * and replaying the moves after it with {@link Board#playMove(int)}.
+ * <p>
+ * File layout, big endian, made of 16 bytes records:
+ * <pre>
+ *     header   : int magic "DJRN", short version, byte board size, byte engine ordinal, int snapshot interval
+ *     move     : byte 1, byte flags (turn ended), byte from, byte to, byte captured square, 3 bytes unused, int ply
+ *     snapshot : byte 2, byte flags (white to play, dark squares only), short packed length, int ply, long zobrist key,
+ *                followed by the squares packed by {@link BoardCodec}, padded to whole records
+ * </pre>
+ * The file grows by chunks, the zero filled records after the last one are ignored.
+ * A journal is not thread safe, it follows the thread playing on its board.
+ */
+public final class MoveJournal implements GameEventListener, Closeable {
+
+    public static final int RECORD_SIZE = 16;
+    public static final int MAGIC = 0x444A524E;
+    public static final int VERSION = 1;
+
+    private static final int CHUNK_SIZE = 4096 * RECORD_SIZE;
+    private static final byte TYPE_MOVE = 1;
+    private static final byte TYPE_SNAPSHOT = 2;
+    private static final int FLAG_TURN_ENDED = 1;
+    private static final int FLAG_WHITE_TO_PLAY = 1;
+    private static final int FLAG_DARK_SQUARES_ONLY = 1 << 1;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final int tailleBoard;
+    private final Board.Engine engine;
+    private final int snapshotInterval;
+
+    /**
+     * Board whose moves are recorded, <code>null</code> when the journal is only read
+     */
+    private Board board;
+    private int end;
+    private int plyCount;
+    private int lastMovePosition = -1;
+    private int capturedSquare;
+
+    /**
+     * Ply and file position of each snapshot, in ply order
+     */
+    private int[] snapshotPlies = new int[16];
+    private int[] snapshotPositions = new int[16];
+    private int snapshotCount;
+
+    private MoveJournal(FileChannel channel, int tailleBoard, Board.Engine engine, int snapshotInterval) {
+        this.channel = channel;
+        this.tailleBoard = tailleBoard;
+        this.engine = engine;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Create a journal, replacing any existing file, and snapshot the current position of the board as ply 0.
+     * The journal is then attached to the board with {@link Board#setGameEventListener(GameEventListener)}
+     * or {@link GameEventListener#andThen(GameEventListener)}.
+     *
+     * @param isWhiteTurn      color playing next on the board
+     * @param snapshotInterval minimum number of plies between two snapshots
+     */
+    public static MoveJournal create(Path file, Board board, boolean isWhiteTurn, int snapshotInterval) throws IOException {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be at least 1, got " + snapshotInterval);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MoveJournal journal = new MoveJournal(channel, board.getTailleBoard(), board.getEngine(), snapshotInterval);
+        journal.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK_SIZE);
+        journal.buffer.putInt(0, MAGIC);
+        journal.buffer.putShort(4, (short) VERSION);
+        journal.buffer.put(6, (byte) board.getTailleBoard());
+        journal.buffer.put(7, (byte) board.getEngine().ordinal());
+        journal.buffer.putInt(8, snapshotInterval);
+        journal.end = RECORD_SIZE;
+        journal.board = board;
+        journal.writeSnapshot(isWhiteTurn);
+        return journal;
+    }
+
+    /**
+     * Open an existing journal to restore its plies, or to keep recording with {@link #resume()}
+     *
+     * @throws IOException if the file is not a journal of a known version
+     */
+    public static MoveJournal open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+            if (channel.read(header, 0) != RECORD_SIZE || header.getInt(0) != MAGIC)
+                throw new IOException("Not a move journal: " + file);
+            if (header.getShort(4) != VERSION)
+                throw new IOException("Unsupported move journal version " + header.getShort(4));
+            int engine = header.get(7);
+            if (engine < 0 || engine >= Board.Engine.values().length)
+                throw new IOException("Unknown engine " + engine);
+            MoveJournal journal = new MoveJournal(channel, header.get(6), Board.Engine.values()[engine], header.getInt(8));
+            long size = Math.max(channel.size(), CHUNK_SIZE);
+            journal.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size - size % RECORD_SIZE);
+            journal.scan();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Index snapshots and find the end of the records
+     */
+    private void scan() throws IOException {
+        int position = RECORD_SIZE;
+        while (position < buffer.limit() && buffer.get(position) != 0) {
+            byte type = buffer.get(position);
+            if (type == TYPE_MOVE) {
+                lastMovePosition = position;
+                plyCount++;
+                position += RECORD_SIZE;
+            } else if (type == TYPE_SNAPSHOT) {
+                addSnapshot(buffer.getInt(position + 4), position);
+                position += RECORD_SIZE + padded(buffer.getShort(position + 2));
+            } else {
+                throw new IOException("Corrupted move journal at byte " + position);
+            }
+        }
+        if (snapshotCount == 0)
+            throw new IOException("Move journal without initial position");
+        end = position;
+    }
+
+    private static int padded(int length) {
+        return (length + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+    }
+
+    public int getPlyCount() {
+        return plyCount;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Rebuild the position after given number of plies
+     *
+     * @param ply from 0 for the initial position to {@link #getPlyCount()}
+     * @return a new board, unrelated to the journal
+     */
+    public Board restore(int ply) {
+        return replay(ply, null);
+    }
+
+    /**
+     * @param ply from 0 for the initial position to {@link #getPlyCount()}
+     * @return <code>true</code> if white plays after given number of plies
+     */
+    public boolean isWhiteTurn(int ply) {
+        boolean[] isWhiteTurn = new boolean[1];
+        replay(ply, isWhiteTurn);
+        return isWhiteTurn[0];
+    }
+
+    /**
+     * Restore the last position and keep recording the moves played on it
+     *
+     * @return the restored board, with the journal attached
+     */
+    public Board resume() {
+        board = restore(plyCount);
+        board.setGameEventListener(this);
+        return board;
+    }
+
+    private Board replay(int ply, boolean[] isWhiteTurn) {
+        if (ply < 0 || ply > plyCount) {
+            throw new IndexOutOfBoundsException("Ply " + ply + " out of journal of " + plyCount + " plies");
+        }
+        // nearest snapshot at or before the ply
+        int index = Arrays.binarySearch(snapshotPlies, 0, snapshotCount, ply);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // snapshots taken at the same ply are identical, any one of them fits
+            while (index + 1 < snapshotCount && snapshotPlies[index + 1] == ply) {
+                index++;
+            }
+        }
+        int position = snapshotPositions[index];
+        int flags = buffer.get(position + 1);
+        boolean isDarkSquaresOnly = (flags & FLAG_DARK_SQUARES_ONLY) != 0;
+        byte[] packed = new byte[buffer.getShort(position + 2)];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = buffer.get(position + RECORD_SIZE + i);
+        }
+        Board restored = new Board(tailleBoard, engine);
+        restored.setBoardArray(BoardCodec.unpack(packed, tailleBoard, isDarkSquaresOnly));
+        if (restored.getZobristKey() != buffer.getLong(position + 8)) {
+            throw new IllegalStateException("Corrupted snapshot at byte " + position);
+        }
+        boolean isWhite = (flags & FLAG_WHITE_TO_PLAY) != 0;
+
+        int replayed = snapshotPlies[index];
+        position += RECORD_SIZE + padded(packed.length);
+        while (replayed < ply) {
+            if (buffer.get(position) == TYPE_MOVE) {
+                restored.playMove(MoveBuffer.encode(buffer.get(position + 2) & 0xFF, buffer.get(position + 3) & 0xFF,
+                        buffer.get(position + 4) & 0xFF));
+                if ((buffer.get(position + 1) & FLAG_TURN_ENDED) != 0)
+                    isWhite = !isWhite;
+                replayed++;
+                position += RECORD_SIZE;
+            } else {
+                position += RECORD_SIZE + padded(buffer.getShort(position + 2));
+            }
+        }
+        if (isWhiteTurn != null)
+            isWhiteTurn[0] = isWhite;
+        return restored;
+    }
+
+    @Override
+    public void captured(int row, int col) {
+        capturedSquare = BoardLocation.toSquare(row, col);
+    }
+
+    @Override
+    public void moved(int fromRow, int fromCol, int toRow, int toCol) {
+        ensureCapacity(RECORD_SIZE);
+        buffer.put(end, TYPE_MOVE);
+        buffer.put(end + 2, (byte) BoardLocation.toSquare(fromRow, fromCol));
+        buffer.put(end + 3, (byte) BoardLocation.toSquare(toRow, toCol));
+        buffer.put(end + 4, (byte) capturedSquare);
+        buffer.putInt(end + 8, plyCount);
+        lastMovePosition = end;
+        end += RECORD_SIZE;
+        plyCount++;
+        capturedSquare = 0;
+    }
+
+    @Override
+    public void turnEnded(boolean isWhite) {
+        if (lastMovePosition >= 0)
+            buffer.put(lastMovePosition + 1, (byte) (buffer.get(lastMovePosition + 1) | FLAG_TURN_ENDED));
+        // the board is only consistent with the records at the end of a turn
+        if (board != null && plyCount - snapshotPlies[snapshotCount - 1] >= snapshotInterval)
+            writeSnapshot(!isWhite);
+    }
+
+    private void writeSnapshot(boolean isWhiteToPlay) {
+        int[][] boardArray = board.getBoardArray();
+        boolean isDarkSquaresOnly = BoardCodec.isDarkSquaresOnly(boardArray, tailleBoard);
+        byte[] packed = BoardCodec.pack(boardArray, tailleBoard, isDarkSquaresOnly);
+        ensureCapacity(RECORD_SIZE + padded(packed.length));
+        buffer.put(end + 1, (byte) ((isWhiteToPlay ? FLAG_WHITE_TO_PLAY : 0) | (isDarkSquaresOnly ? FLAG_DARK_SQUARES_ONLY : 0)));
+        buffer.putShort(end + 2, (short) packed.length);
+        buffer.putInt(end + 4, plyCount);
+        buffer.putLong(end + 8, board.getZobristKey());
+        for (int i = 0; i < packed.length; i++) {
+            buffer.put(end + RECORD_SIZE + i, packed[i]);
+        }
+        // type is written last, a snapshot interrupted before is ignored
+        buffer.put(end, TYPE_SNAPSHOT);
+        addSnapshot(plyCount, end);
+        end += RECORD_SIZE + padded(packed.length);
+    }
+
+    private void addSnapshot(int ply, int position) {
+        if (snapshotCount == snapshotPlies.length) {
+            snapshotPlies = Arrays.copyOf(snapshotPlies, snapshotCount * 2);
+            snapshotPositions = Arrays.copyOf(snapshotPositions, snapshotCount * 2);
+        }
+        snapshotPlies[snapshotCount] = ply;
+        snapshotPositions[snapshotCount] = position;
+        snapshotCount++;
+    }
+
+    /**
+     * Map a larger region of the file if the next bytes do not fit
+     */
+    private void ensureCapacity(int bytes) {
+        if (end + bytes <= buffer.limit())
+            return;
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) buffer.limit() + Math.max(CHUNK_SIZE, bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot grow move journal", e);
+        }
+    }
+
+    /**
+     * Flush records to the file
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (board != null && board.getGameEventListener() == this)
+            board.setGameEventListener(null);
+        buffer.force();
+        channel.close();
+    }
+}
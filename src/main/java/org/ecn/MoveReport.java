@@ -0,0 +1,135 @@
+package org.ecn;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Primitive record of the last {@link Board#tryMove(int, int, int, int)}, reused from one move to the other.
+ * Diagnostic text is only built when asked for, events of a made move are only sent to a listener other than
+ * {@link GameEventListener#NONE}.
+ */
+final class MoveReport {
+
+    MoveResult result;
+    int fromRow;
+    int fromCol;
+    int direction;
+    int steps;
+    /**
+     * Square as defined in {@link BoardLocation#toSquare(int, int)}, 0 when no pawn was eaten
+     */
+    int eatenSquare;
+    /**
+     * Where the piece landed, or the location that made the move fail
+     */
+    int targetRow;
+    int targetCol;
+    /**
+     * Queen walk stopped early, before spending its steps
+     */
+    boolean isQueenStopped;
+    boolean isQueenStopOutOfBoard;
+    int queenStopRow;
+    int queenStopCol;
+    int queenDiscardedSteps;
+    boolean isPromoted;
+
+    void start(int rowIndex, int colIndex, int moveBehaviorDirection, int moveSteps) {
+        result = null;
+        fromRow = rowIndex;
+        fromCol = colIndex;
+        direction = moveBehaviorDirection;
+        steps = moveSteps;
+        eatenSquare = 0;
+        targetRow = rowIndex;
+        targetCol = colIndex;
+        isQueenStopped = false;
+        isQueenStopOutOfBoard = false;
+        queenStopRow = rowIndex;
+        queenStopCol = colIndex;
+        queenDiscardedSteps = 0;
+        isPromoted = false;
+    }
+
+    MoveResult finish(MoveResult moveResult) {
+        result = moveResult;
+        return moveResult;
+    }
+
+    void target(int rowIndex, int colIndex) {
+        targetRow = rowIndex;
+        targetCol = colIndex;
+    }
+
+    void queenStop(int rowIndex, int colIndex, boolean isOutOfBoard) {
+        isQueenStopped = true;
+        isQueenStopOutOfBoard = isOutOfBoard;
+        queenStopRow = rowIndex;
+        queenStopCol = colIndex;
+    }
+
+    /**
+     * @param board the board the move was tried on, unchanged since then for a failed move
+     * @return human readable explanation of the result
+     */
+    String diagnostic(Board board) {
+        if (result == null)
+            return "No move tried";
+        switch (result) {
+            case OK:
+            case TURN_CONTINUES:
+                return "Moved to new " + BoardLocation.prettyPrint(targetRow, targetCol) + "!";
+            case NO_PIECE:
+                return "No alive pawn at " + BoardLocation.prettyPrint(fromRow, fromCol);
+            case INVALID_DIRECTION:
+                return "Direction [" + direction + "] is not allowed" +
+                        " - Move can only be in diagonal direction " + Board.ALLOWED_DIRECTIONS;
+            case OUT_OF_BOARD:
+                return BoardLocation.prettyPrint(targetRow, targetCol) + " is out of the board!";
+            case EAT_OBLIGATION: {
+                List<BoardLocation> attackList = board.getAttackPossibilitiesList(fromRow, fromCol);
+                return "Eat obligation exist at positions " + attackList
+                        + "\nSuggested direction for attacks: " + attackList.stream().map(t -> t.deduceDirectionFromSource(fromRow, fromCol)).collect(Collectors.toList());
+            }
+            case EAT_OUT_OF_REACH: {
+                BoardLocation mustBeEaten = board.getAttackPossibilitiesList(fromRow, fromCol).stream()
+                        .filter(t -> t.deduceDirectionFromSource(fromRow, fromCol) == direction)
+                        .findFirst().orElseThrow(IllegalStateException::new);
+                return "Cannot reach eat obligation at position " + mustBeEaten
+                        + " - insuffisant steps " + steps
+                        + "\nSuggested minimum steps: " + (mustBeEaten.distanceDiagonallyFrom(fromRow) + 1);
+            }
+            case OCCUPIED:
+                return BoardLocation.prettyPrint(targetRow, targetCol) + " already occupied!";
+            case CANNOT_ATTACK:
+                return "Cannot Attack [" + targetRow + ", " + targetCol + "] as next position isn't available!";
+            case INVALID_SEQUENCE:
+                return "Cannot eat from " + BoardLocation.prettyPrint(fromRow, fromCol)
+                        + " landing on " + BoardLocation.prettyPrint(targetRow, targetCol);
+            default:
+                throw new IllegalStateException("Unknown result " + result);
+        }
+    }
+
+    /**
+     * Send the events of a made move
+     *
+     * @param isWhite     color of the moved pawn
+     * @param isTurnEnded <code>true</code> if the move ended the turn
+     */
+    void sendEvents(GameEventListener listener, boolean isWhite, boolean isTurnEnded) {
+        if (eatenSquare != 0) {
+            listener.captured(BoardLocation.squareRow(eatenSquare), BoardLocation.squareCol(eatenSquare));
+        }
+        if (isQueenStopped) {
+            listener.stepsDiscarded(queenStopRow, queenStopCol, isQueenStopOutOfBoard, queenDiscardedSteps);
+        }
+        listener.moved(fromRow, fromCol, targetRow, targetCol);
+        if (isPromoted) {
+            listener.promoted(targetRow, targetCol, isWhite);
+        }
+        if (isTurnEnded) {
+            listener.turnEnded(isWhite);
+        }
+    }
+}
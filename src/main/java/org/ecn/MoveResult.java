@@ -0,0 +1,59 @@
+package org.ecn;
+
+/**
+ * Outcome of {@link Board#tryMove(int, int, int, int)}, the non-throwing counterpart of {@link Board#moveItem(int, int, int, int)}.
+ * <p>
+ * Only {@link #OK} and {@link #TURN_CONTINUES} change the board, any other result leaves the board untouched
+ * and the turn with the same player. Diagnostic text of the last move is built on request with {@link Board#getMoveDiagnostic()}.
+ */
+public enum MoveResult {
+    /**
+     * Move made, the turn of current player ends
+     */
+    OK,
+    /**
+     * Move made, current player must keep playing (chain of attacks)
+     */
+    TURN_CONTINUES,
+    /**
+     * No alive pawn at the given location
+     */
+    NO_PIECE,
+    /**
+     * Direction is not one of {@link Board#ALLOWED_DIRECTIONS}, reported as {@link org.ecn.exp.InvalidDirectionException}
+     */
+    INVALID_DIRECTION,
+    /**
+     * First step leaves the board, reported as {@link org.ecn.exp.OutOfBoardException}
+     */
+    OUT_OF_BOARD,
+    /**
+     * The pawn can eat but the move does not, reported as {@link org.ecn.exp.EatObligationException}
+     */
+    EAT_OBLIGATION,
+    /**
+     * A queen heads to the pawn to eat with too few steps to jump over it,
+     * reported as {@link org.ecn.exp.EatObligationException}
+     */
+    EAT_OUT_OF_REACH,
+    /**
+     * A normal pawn moves onto its own team or a dead pawn, or a queen cannot take a single step
+     */
+    OCCUPIED,
+    /**
+     * A normal pawn moves onto an opponent it cannot jump over
+     */
+    CANNOT_ATTACK,
+    /**
+     * A hop of {@link Board#playCaptureSequence(int, int[])} does not eat a pawn landing on the given place,
+     * or comes after the end of the turn
+     */
+    INVALID_SEQUENCE;
+
+    /**
+     * @return <code>true</code> if the move was made
+     */
+    public boolean isMade() {
+        return this == OK || this == TURN_CONTINUES;
+    }
+}
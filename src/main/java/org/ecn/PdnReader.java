@@ -0,0 +1,544 @@
+package org.ecn;
+
+import org.ecn.exp.PdnFormatException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read games in Portable Draughts Notation one at a time, whatever the size of the database: {@link #next()} parses
+ * and replays the next game, only this game being kept in memory.
+ * <p>
+ * Every move is checked against the rules of {@link Board#moveItem(int, int, int, int)} through the moves generated by
+ * the board: a quiet move <code>32-28</code> must be one of {@link Board#generateLegalMoves(boolean, MoveBuffer)},
+ * a capture, either with every landing square <code>28x19x10</code> or only the last one <code>28x10</code>,
+ * must be one of {@link Board#generateCaptureSequences(boolean, boolean, CaptureSequences)}.
+ * The short form is refused when several sequences link its squares.
+ * <p>
+ * Supported tags are <code>GameType</code> for the board size and first color (international draughts only),
+ * <code>FEN</code> for the initial position, <code>White</code>, <code>Black</code> and <code>Result</code>.
+ * Comments, variations and annotations are skipped. A game that cannot be read is skipped as a whole:
+ * {@link #next()} throws {@link PdnFormatException}, and the following call goes on with the next game.
+ */
+public class PdnReader implements Closeable {
+
+    public static final String GAME_TYPE = "GameType";
+    public static final String FEN = "FEN";
+    public static final String WHITE = "White";
+    public static final String BLACK = "Black";
+    public static final String RESULT = "Result";
+
+    private static final int DEFAULT_SIZE = 10;
+    private static final int MAX_HOPS = 64;
+    private static final int NO_CHAR = -2;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pending = NO_CHAR;
+    private int line = 1;
+    private final StringBuilder word = new StringBuilder();
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final MoveBuffer legalMoves = new MoveBuffer();
+    private final CaptureSequences sequences = new CaptureSequences();
+    private final int[] hops = new int[MAX_HOPS];
+    private MoveBuffer moves = new MoveBuffer(256);
+    private Board board;
+    private boolean isWhiteTurn;
+    private String result;
+    private long gameCount;
+
+    public PdnReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Read and replay the next game
+     *
+     * @return <code>false</code> at the end of the input
+     * @throws PdnFormatException if the game cannot be read, the game is then skipped
+     */
+    public boolean next() throws IOException, PdnFormatException {
+        tags.clear();
+        moves.clear();
+        board = null;
+        result = null;
+        boolean isStarted = false;
+        while (true) {
+            int c = skipWhitespace();
+            if (c < 0) {
+                if (!isStarted)
+                    return false;
+                break;
+            }
+            if (c == '[') {
+                if (board != null) {
+                    // tags of next game, this one has no result
+                    pending = c;
+                    break;
+                }
+                readTag();
+                isStarted = true;
+                continue;
+            }
+            if (skipComment(c))
+                continue;
+            readWord(c);
+            isStarted = true;
+            if (isResult(word)) {
+                result = word.toString();
+                break;
+            }
+            if (word.charAt(0) == '$')
+                continue;
+            int moveStart = skipMoveNumber(word);
+            if (moveStart == word.length())
+                continue;
+            try {
+                if (board == null)
+                    setUp();
+                playMove(moveStart);
+            } catch (PdnFormatException e) {
+                skipGame();
+                gameCount++;
+                throw e;
+            }
+        }
+        if (board == null) {
+            try {
+                setUp();
+            } catch (PdnFormatException e) {
+                gameCount++;
+                throw e;
+            }
+        }
+        if (result == null)
+            result = tags.containsKey(RESULT) ? tags.get(RESULT) : PdnWriter.UNKNOWN_RESULT;
+        gameCount++;
+        return true;
+    }
+
+    /**
+     * @return number of games read so far, skipped games included
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return position at the end of the game
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return color playing after the last move
+     */
+    public boolean isWhiteTurn() {
+        return isWhiteTurn;
+    }
+
+    public int getMoveCount() {
+        return moves.size();
+    }
+
+    /**
+     * @param index from 0 to {@link #getMoveCount()} - 1
+     * @return move encoded as defined in {@link MoveBuffer}, one per hop
+     */
+    public int getMove(int index) {
+        return moves.get(index);
+    }
+
+    /**
+     * @return the game as played by {@link BoardController}, white being the first player
+     */
+    public BoardController toBoardController() {
+        List<Integer> moveHistory = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            moveHistory.add(moves.get(i));
+        }
+        BoardController boardController = new BoardController(new Board(board), playerName(WHITE), playerName(BLACK));
+        boardController.setWhiteTurn(isWhiteTurn);
+        boardController.setMoveHistory(moveHistory);
+        return boardController;
+    }
+
+    private String playerName(String tag) {
+        String name = tags.get(tag);
+        return PdnWriter.UNKNOWN_TAG_VALUE.equals(name) ? null : name;
+    }
+
+    // ------------------------------------------------------------------ game
+
+    private PdnFormatException error(String message) {
+        return new PdnFormatException("Line " + line + ": " + message);
+    }
+
+    /**
+     * Initial position from GameType and FEN tags
+     */
+    private void setUp() throws PdnFormatException {
+        int tailleBoard = DEFAULT_SIZE;
+        isWhiteTurn = true;
+        String gameType = tags.get(GAME_TYPE);
+        if (gameType != null) {
+            String[] fields = gameType.split(",");
+            if (!String.valueOf(PdnWriter.INTERNATIONAL_GAME_TYPE).equals(fields[0].trim()))
+                throw error("Unsupported game type " + gameType);
+            if (fields.length > 1)
+                isWhiteTurn = !"B".equals(fields[1].trim());
+            if (fields.length > 3) {
+                tailleBoard = parseNumber(fields[2]);
+                if (tailleBoard != parseNumber(fields[3]) || tailleBoard < 4 || tailleBoard > 14)
+                    throw error("Unsupported board " + fields[2] + "x" + fields[3]);
+            }
+        }
+        board = new Board(tailleBoard);
+        String fen = tags.get(FEN);
+        if (fen != null)
+            setUpFen(fen);
+    }
+
+    /**
+     * Position as <code>W:W31,32,K45:B1-20</code>: color to play, then pieces of each color,
+     * <code>K</code> marking queens and ranges being allowed
+     */
+    private void setUpFen(String fen) throws PdnFormatException {
+        String[] fields = fen.replace(".", "").split(":");
+        if (fields[0].trim().isEmpty())
+            throw error("Empty FEN");
+        isWhiteTurn = fields[0].trim().charAt(0) != 'B';
+        SquareNumbering numbering = SquareNumbering.of(board.getTailleBoard());
+        board.clearBoard();
+        for (int f = 1; f < fields.length; f++) {
+            String field = fields[f].trim();
+            if (field.isEmpty())
+                continue;
+            boolean isWhite = field.charAt(0) == 'W';
+            if (!isWhite && field.charAt(0) != 'B')
+                throw error("Unknown FEN color in " + field);
+            for (String item : field.substring(1).split(",")) {
+                item = item.trim();
+                if (item.isEmpty())
+                    continue;
+                boolean isQueen = item.charAt(0) == 'K';
+                String numbers = isQueen ? item.substring(1) : item;
+                int dash = numbers.indexOf('-');
+                int first = parseNumber(dash < 0 ? numbers : numbers.substring(0, dash));
+                int last = dash < 0 ? first : parseNumber(numbers.substring(dash + 1));
+                for (int number = first; number <= last; number++) {
+                    int square = numbering.square(number);
+                    if (square == 0)
+                        throw error("Unknown square " + number + " in FEN");
+                    board.setPiece(BoardLocation.squareRow(square), BoardLocation.squareCol(square), isWhite
+                            ? (isQueen ? Board.WHITE_QUEEN : Board.WHITE_PAWN)
+                            : (isQueen ? Board.BLACK_QUEEN : Board.BLACK_PAWN));
+                }
+            }
+        }
+    }
+
+    private int parseNumber(String text) throws PdnFormatException {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw error("Not a number: " + text);
+        }
+    }
+
+    /**
+     * Parse the move in {@link #word} from given index, check and play it as a whole turn.
+     * As the turn of a queen goes on while it can attack, its quiet move may be followed by attacks:
+     * <code>46-41x23</code>. A move must stop exactly where the turn ends.
+     */
+    private void playMove(int start) throws PdnFormatException {
+        SquareNumbering numbering = SquareNumbering.of(board.getTailleBoard());
+        int hopCount = 0;
+        boolean isQuietFirst = false;
+        int number = -1;
+        for (int i = start; i <= word.length(); i++) {
+            char c = i < word.length() ? word.charAt(i) : ' ';
+            if (c >= '0' && c <= '9') {
+                number = (number < 0 ? 0 : number * 10) + c - '0';
+                if (number > numbering.getSquareCount())
+                    throw error("Unknown square in move " + word);
+                continue;
+            }
+            if (number > 0) {
+                if (hopCount == MAX_HOPS)
+                    throw error("Too long move " + word);
+                hops[hopCount++] = numbering.square(number);
+            } else if (number == 0 || c == '-' || c == 'x' || c == 'X') {
+                throw error("Malformed move " + word);
+            }
+            number = -1;
+            if (c == '-') {
+                // only the first step may be quiet
+                if (hopCount != 1)
+                    throw error("Malformed move " + word);
+                isQuietFirst = true;
+            } else if (c != 'x' && c != 'X') {
+                // annotations such as ! or ? end the move
+                break;
+            }
+        }
+        if (hopCount < 2)
+            throw error("Malformed move " + word);
+        int captureStart = 0;
+        boolean didTurnEnd = false;
+        if (isQuietFirst) {
+            didTurnEnd = playQuietMove();
+            captureStart = 1;
+        }
+        if (captureStart < hopCount - 1) {
+            if (didTurnEnd)
+                throw error("Move " + word + " goes on after the end of the turn");
+            didTurnEnd = playCapture(captureStart, hopCount);
+        }
+        if (!didTurnEnd)
+            throw error("Move " + word + " stops before the end of the turn");
+        isWhiteTurn = !isWhiteTurn;
+    }
+
+    /**
+     * @return <code>true</code> if the move ends the turn
+     */
+    private boolean playQuietMove() throws PdnFormatException {
+        int count = board.generateLegalMoves(isWhiteTurn, legalMoves);
+        for (int i = 0; i < count; i++) {
+            int move = legalMoves.get(i);
+            if (MoveBuffer.from(move) == hops[0] && MoveBuffer.to(move) == hops[1] && !MoveBuffer.isCapture(move)) {
+                moves.add(move);
+                return board.playMove(move);
+            }
+        }
+        throw error("Move " + word + " is not allowed for " + (isWhiteTurn ? "white" : "black"));
+    }
+
+    /**
+     * Play the attacks between given hops, from <code>hops[start]</code> to <code>hops[end - 1]</code>
+     *
+     * @return <code>true</code> if the last attack ends the turn
+     */
+    private boolean playCapture(int start, int end) throws PdnFormatException {
+        int count = board.generateCaptureSequences(isWhiteTurn, false, sequences);
+        int matched = -1;
+        for (int i = 0; i < count; i++) {
+            if (matches(i, start, end)) {
+                // the short form only gives the first and last squares, several chains may link them
+                if (matched >= 0)
+                    throw error("Capture " + word + " is ambiguous, every landing square must be given");
+                matched = i;
+            }
+        }
+        if (matched < 0)
+            throw error("Capture " + word + " is not allowed for " + (isWhiteTurn ? "white" : "black"));
+        boolean didTurnEnd = false;
+        for (int k = 0; k < sequences.length(matched); k++) {
+            if (didTurnEnd)
+                throw error("Capture " + word + " goes on after the end of the turn");
+            didTurnEnd = board.playMove(sequences.hop(matched, k));
+            moves.add(sequences.hop(matched, k));
+        }
+        return didTurnEnd;
+    }
+
+    /**
+     * @return <code>true</code> if given sequence starts and ends on the given hops, going through every landing
+     * square of the move when they are all given
+     */
+    private boolean matches(int sequence, int start, int end) {
+        int length = sequences.length(sequence);
+        if (MoveBuffer.from(sequences.hop(sequence, 0)) != hops[start]
+                || MoveBuffer.to(sequences.hop(sequence, length - 1)) != hops[end - 1])
+            return false;
+        if (end - start == 2)
+            return true;
+        if (end - start != length + 1)
+            return false;
+        for (int k = 0; k < length; k++) {
+            if (MoveBuffer.to(sequences.hop(sequence, k)) != hops[start + k + 1])
+                return false;
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------- tokenizer
+
+    private int read() throws IOException {
+        if (pending != NO_CHAR) {
+            int c = pending;
+            pending = NO_CHAR;
+            return c;
+        }
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n')
+            line++;
+        return c;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while (c >= 0 && Character.isWhitespace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    /**
+     * Skip a comment or a variation starting with given char
+     *
+     * @return <code>false</code> if the char does not start any
+     */
+    private boolean skipComment(int c) throws IOException {
+        if (c == '{') {
+            do {
+                c = read();
+            } while (c >= 0 && c != '}');
+            return true;
+        }
+        if (c == ';') {
+            do {
+                c = read();
+            } while (c >= 0 && c != '\n');
+            return true;
+        }
+        if (c == '(') {
+            int depth = 1;
+            while (depth > 0 && (c = read()) >= 0) {
+                if (c == '(')
+                    depth++;
+                else if (c == ')')
+                    depth--;
+                else if (c == '{' || c == ';')
+                    skipComment(c);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c < 0 || Character.isWhitespace(c) || c == '[' || c == '{' || c == ';' || c == '(';
+    }
+
+    private void readWord(int c) throws IOException {
+        word.setLength(0);
+        while (!isDelimiter(c)) {
+            word.append((char) c);
+            c = read();
+        }
+        if (c >= 0 && !Character.isWhitespace(c))
+            pending = c;
+    }
+
+    private static boolean isResult(CharSequence word) {
+        String text = word.toString();
+        return "*".equals(text) || "2-0".equals(text) || "0-2".equals(text) || "1-1".equals(text)
+                || "1-0".equals(text) || "0-1".equals(text) || "0-0".equals(text);
+    }
+
+    /**
+     * @return index of the first char after a move number such as <code>12.</code> or <code>12...</code>,
+     * 0 if the word does not start with a move number
+     */
+    private static int skipMoveNumber(CharSequence word) {
+        int i = 0;
+        while (i < word.length() && Character.isDigit(word.charAt(i))) {
+            i++;
+        }
+        if (i == word.length() || word.charAt(i) != '.')
+            return 0;
+        while (i < word.length() && word.charAt(i) == '.') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Read a tag <code>[Name "value"]</code>, the opening bracket being read
+     */
+    private void readTag() throws IOException, PdnFormatException {
+        StringBuilder name = new StringBuilder();
+        int c = skipWhitespace();
+        while (c >= 0 && !Character.isWhitespace(c) && c != '"' && c != ']') {
+            name.append((char) c);
+            c = read();
+        }
+        while (c >= 0 && c != '"' && c != ']') {
+            c = read();
+        }
+        StringBuilder value = new StringBuilder();
+        if (c == '"') {
+            c = read();
+            while (c >= 0 && c != '"') {
+                if (c == '\\')
+                    c = read();
+                if (c >= 0)
+                    value.append((char) c);
+                c = read();
+            }
+            while (c >= 0 && c != ']') {
+                c = read();
+            }
+        }
+        if (c < 0)
+            throw error("Unterminated tag " + name);
+        tags.put(name.toString(), value.toString());
+    }
+
+    /**
+     * Skip the rest of the current game, up to its result or the tags of the next game
+     */
+    private void skipGame() throws IOException {
+        while (true) {
+            int c = skipWhitespace();
+            if (c < 0)
+                return;
+            if (c == '[') {
+                pending = c;
+                return;
+            }
+            if (skipComment(c))
+                continue;
+            readWord(c);
+            if (isResult(word))
+                return;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,131 @@
+package org.ecn;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Write games in Portable Draughts Notation, one after the other, readable back with {@link PdnReader}.
+ * <p>
+ * Squares are written as numbers of {@link SquareNumbering}, a turn as <code>32-28</code> or, for a chain of attacks,
+ * as every landing square <code>28x19x10</code>. Board size and first color are written in the <code>GameType</code> tag,
+ * players and result in the <code>White</code>, <code>Black</code> and <code>Result</code> tags.
+ */
+public class PdnWriter implements Closeable, Flushable {
+
+    public static final String WHITE_WINS = "2-0";
+    public static final String BLACK_WINS = "0-2";
+    public static final String UNKNOWN_RESULT = "*";
+    /**
+     * International draughts in {@link PdnReader#GAME_TYPE} tag
+     */
+    static final int INTERNATIONAL_GAME_TYPE = 20;
+    static final String UNKNOWN_TAG_VALUE = "?";
+    private static final int LINE_LENGTH = 80;
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(LINE_LENGTH + 16);
+
+    public PdnWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write a game played from the initial position of its board, as recorded by {@link BoardController}.
+     * First player plays white, second player plays black.
+     */
+    public void writeGame(BoardController boardController) throws IOException {
+        List<Integer> moveHistory = boardController.getMoveHistory();
+        int[] moves = new int[moveHistory.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = moveHistory.get(i);
+        }
+        Board board = boardController.getBoard();
+        writeGame(board.getTailleBoard(), boardController.isWhiteTurn(), boardController.getFirstPlayerName(),
+                boardController.getSecondPlayerName(), moves, moves.length);
+    }
+
+    /**
+     * Write a game played from the initial position of its board
+     *
+     * @param isWhiteTurn color playing after the last move
+     * @param moves       moves encoded as defined in {@link MoveBuffer}, one per hop
+     * @param moveCount   number of moves to take from the array
+     */
+    public void writeGame(int tailleBoard, boolean isWhiteTurn, String whitePlayerName, String blackPlayerName,
+                          int[] moves, int moveCount) throws IOException {
+        // replay to know where turns end, hence the first color
+        Board board = new Board(tailleBoard);
+        int turnEnds = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (board.playMove(moves[i]))
+                turnEnds++;
+        }
+        boolean isWhiteFirst = isWhiteTurn ^ (turnEnds % 2 == 1);
+        String result = !board.didGameOver() ? UNKNOWN_RESULT : board.doPawnsColorExist(true) ? WHITE_WINS : BLACK_WINS;
+
+        writeTag(PdnReader.GAME_TYPE, INTERNATIONAL_GAME_TYPE + "," + (isWhiteFirst ? 'W' : 'B') + ","
+                + tailleBoard + "," + tailleBoard + ",N2,0");
+        writeTag(PdnReader.WHITE, whitePlayerName == null ? UNKNOWN_TAG_VALUE : whitePlayerName);
+        writeTag(PdnReader.BLACK, blackPlayerName == null ? UNKNOWN_TAG_VALUE : blackPlayerName);
+        writeTag(PdnReader.RESULT, result);
+
+        SquareNumbering numbering = SquareNumbering.of(tailleBoard);
+        StringBuilder turn = new StringBuilder();
+        board = new Board(tailleBoard);
+        int turnIndex = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+            if (turn.length() == 0) {
+                if (turnIndex % 2 == 0)
+                    turn.append(turnIndex / 2 + 1).append(". ");
+                turn.append(numbering.number(MoveBuffer.from(move)));
+            }
+            turn.append(MoveBuffer.isCapture(move) ? 'x' : '-').append(numbering.number(MoveBuffer.to(move)));
+            if (board.playMove(move) || i == moveCount - 1) {
+                appendWord(turn);
+                turn.setLength(0);
+                turnIndex++;
+            }
+        }
+        turn.append(result);
+        appendWord(turn);
+        out.write(line.toString());
+        out.write("\n\n");
+        line.setLength(0);
+    }
+
+    private void writeTag(String name, String value) throws IOException {
+        out.write('[');
+        out.write(name);
+        out.write(" \"");
+        out.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        out.write("\"]\n");
+    }
+
+    /**
+     * Append a word to the current line, the line is written when full
+     */
+    private void appendWord(CharSequence word) throws IOException {
+        if (line.length() > 0 && line.length() + 1 + word.length() > LINE_LENGTH) {
+            out.write(line.toString());
+            out.write('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0)
+            line.append(' ');
+        line.append(word);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
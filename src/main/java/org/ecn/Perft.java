@@ -0,0 +1,233 @@
+package org.ecn;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Count every legal game continuation up to a given depth, also known as perft.
+ * <p>
+ * Each legal move as generated by {@link Board#generateLegalMoves(boolean, int, MoveBuffer)} is one ply:
+ * a chained attack takes one ply per eaten pawn and the side to play only changes when the turn ends.
+ * Root moves are split across a {@link ForkJoinPool}, then subtrees are forked again until {@link #SPLIT_DEPTH}.
+ * <p>
+ * Usage: <code>Perft depth [--size n | --load game.json] [--white] [--threads n]</code>, a loaded game is searched
+ * from its side to move unless <code>--white</code> is given, a new board from black.
+ */
+public class Perft {
+
+    /**
+     * Subtrees with less remaining depth are counted sequentially by the worker that owns them
+     */
+    static final int SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+
+    public Perft(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * @param board       the starting position, left untouched
+     * @param isWhiteTurn <code>true</code> if white play first
+     * @param depth       number of plies to explore
+     * @return number of positions reached after exactly depth plies
+     */
+    public long perft(Board board, boolean isWhiteTurn, int depth) {
+        return pool.invoke(new PerftTask(new Board(board), isWhiteTurn, 0, depth));
+    }
+
+    /**
+     * Perft split by first move
+     *
+     * @param board       the starting position, left untouched
+     * @param isWhiteTurn <code>true</code> if white play first
+     * @param depth       number of plies to explore, at least 1
+     * @param rootMoves   buffer filled with the legal moves of the starting position
+     * @return for each root move at the same index in rootMoves, number of positions reached after depth plies
+     */
+    public long[] divide(Board board, boolean isWhiteTurn, int depth, MoveBuffer rootMoves) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs at least depth 1, got " + depth);
+        }
+        board.generateLegalMoves(isWhiteTurn, rootMoves);
+        List<PerftTask> tasks = new ArrayList<>(rootMoves.size());
+        for (int i = 0; i < rootMoves.size(); i++) {
+            Board child = new Board(board);
+            tasks.add(PerftTask.after(child, isWhiteTurn, rootMoves.get(i), depth - 1));
+        }
+        return pool.invoke(new RecursiveTask<long[]>() {
+            @Override
+            protected long[] compute() {
+                invokeAll(tasks);
+                long[] nodes = new long[tasks.size()];
+                for (int i = 0; i < nodes.length; i++) {
+                    nodes[i] = tasks.get(i).join();
+                }
+                return nodes;
+            }
+        });
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Depth first count on a single thread, exploring moves in place with {@link Board#makeMove(int)} and {@link Board#unmakeMove()}
+     */
+    static long countSequentially(Board board, boolean isWhiteTurn, int depth, MoveBuffer[] buffers) {
+        return countSequentially(board, isWhiteTurn, 0, depth, buffers);
+    }
+
+    /**
+     * @param movingSquare square of the piece going on with the turn, 0 at the start of a turn
+     */
+    private static long countSequentially(Board board, boolean isWhiteTurn, int movingSquare, int depth, MoveBuffer[] buffers) {
+        if (depth == 0)
+            return 1;
+        MoveBuffer moves = buffers[depth];
+        int count = board.generateLegalMoves(isWhiteTurn, movingSquare, moves);
+        if (depth == 1)
+            return count;
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            if (board.makeMove(move))
+                nodes += countSequentially(board, !isWhiteTurn, 0, depth - 1, buffers);
+            else
+                nodes += countSequentially(board, isWhiteTurn, MoveBuffer.to(move), depth - 1, buffers);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    static MoveBuffer[] createBuffers(int depth) {
+        MoveBuffer[] buffers = new MoveBuffer[depth + 1];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new MoveBuffer();
+        }
+        return buffers;
+    }
+
+    private static class PerftTask extends RecursiveTask<Long> {
+        private final Board board;
+        private final boolean isWhiteTurn;
+        private final int movingSquare;
+        private final int depth;
+
+        PerftTask(Board board, boolean isWhiteTurn, int movingSquare, int depth) {
+            this.board = board;
+            this.isWhiteTurn = isWhiteTurn;
+            this.movingSquare = movingSquare;
+            this.depth = depth;
+        }
+
+        /**
+         * @param board position before the move, which is played on it
+         */
+        static PerftTask after(Board board, boolean isWhiteTurn, int move, int depth) {
+            if (board.playMove(move))
+                return new PerftTask(board, !isWhiteTurn, 0, depth);
+            return new PerftTask(board, isWhiteTurn, MoveBuffer.to(move), depth);
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth <= SPLIT_DEPTH) {
+                return countSequentially(board, isWhiteTurn, movingSquare, depth, createBuffers(depth));
+            }
+            MoveBuffer moves = new MoveBuffer();
+            board.generateLegalMoves(isWhiteTurn, movingSquare, moves);
+            List<PerftTask> children = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                children.add(after(new Board(board), isWhiteTurn, moves.get(i), depth - 1));
+            }
+            long nodes = 0;
+            for (PerftTask child : invokeAll(children)) {
+                nodes += child.join();
+            }
+            return nodes;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: Perft depth [--size n | --load game.json] [--white] [--threads n]");
+            return;
+        }
+        int depth = Integer.parseInt(args[0]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean isWhiteTurn = false;
+        boolean isWhiteForced = false;
+        Board board = null;
+        String origin = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size":
+                    int tailleBoard = Integer.parseInt(args[++i]);
+                    board = new Board(tailleBoard);
+                    isWhiteTurn = false;
+                    origin = "new Board(" + tailleBoard + ")";
+                    break;
+                case "--load":
+                    File gameFile = new File(args[++i]);
+                    BoardController game = GameSaver.loadGame(gameFile);
+                    board = game.getBoard();
+                    isWhiteTurn = game.isWhiteTurn();
+                    origin = gameFile.getPath();
+                    break;
+                case "--white":
+                    isWhiteForced = true;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (board == null) {
+            board = new Board(10);
+            origin = "new Board(10)";
+        }
+        if (isWhiteForced)
+            isWhiteTurn = true;
+
+        System.out.println("Perft from " + origin + ", " + (isWhiteTurn ? "white" : "black") + " to play, " + threads + " threads");
+        System.out.println(board);
+        Perft perft = new Perft(threads);
+        try {
+            for (int d = 1; d <= depth; d++) {
+                long start = System.nanoTime();
+                long nodes = perft.perft(board, isWhiteTurn, d);
+                report("depth " + d, nodes, System.nanoTime() - start);
+            }
+
+            System.out.println();
+            System.out.println("Divide at depth " + depth + ":");
+            MoveBuffer rootMoves = new MoveBuffer();
+            long start = System.nanoTime();
+            long[] nodes = perft.divide(board, isWhiteTurn, depth, rootMoves);
+            long elapsed = System.nanoTime() - start;
+            long total = 0;
+            for (int i = 0; i < nodes.length; i++) {
+                System.out.println(MoveBuffer.toString(rootMoves.get(i)) + ": " + nodes[i]);
+                total += nodes[i];
+            }
+            report("total", total, elapsed);
+        } finally {
+            perft.shutdown();
+        }
+    }
+
+    private static void report(String label, long nodes, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println(String.format(Locale.ROOT, "%s: %d nodes in %.3f s (%.0f nodes/s)",
+                label, nodes, seconds, seconds > 0 ? nodes / seconds : 0));
+    }
+}
@@ -0,0 +1,23 @@
+package org.ecn;
+
+/**
+ * Strategy choosing the moves of one color, called by {@link BoardController} once per move:
+ * a chain of attacks takes as many calls as it has hops.
+ */
+public interface Player {
+
+    /**
+     * @param board      the position, must be left as it is
+     * @param isWhite    <code>true</code> when playing white pieces
+     * @param legalMoves every move allowed now, encoded as defined in {@link MoveBuffer}, never empty.
+     *                   In the middle of a chain of attacks, only the attacks of the moving piece.
+     * @return one of the legal moves
+     */
+    int chooseMove(Board board, boolean isWhite, MoveBuffer legalMoves);
+
+    /**
+     * Called when the turn of the player is over, to forget what was planned for it
+     */
+    default void turnEnded() {
+    }
+}
@@ -0,0 +1,41 @@
+package org.ecn;
+
+/**
+ * Player replaying moves given in advance, to replay a recorded game or to test a scenario
+ */
+public class ScriptedPlayer implements Player {
+
+    private final int[] moves;
+    private int nextMove;
+
+    /**
+     * @param moves moves to play in order, encoded as defined in {@link MoveBuffer}, one per hop
+     */
+    public ScriptedPlayer(int... moves) {
+        this.moves = moves.clone();
+    }
+
+    /**
+     * @throws IllegalStateException if the script is over or if its next move is not legal
+     */
+    @Override
+    public int chooseMove(Board board, boolean isWhite, MoveBuffer legalMoves) {
+        if (nextMove == moves.length)
+            throw new IllegalStateException("Script of " + moves.length + " moves is over");
+        int move = moves[nextMove];
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (legalMoves.get(i) == move) {
+                nextMove++;
+                return move;
+            }
+        }
+        throw new IllegalStateException("Scripted move " + (nextMove + 1) + " is not legal: " + MoveBuffer.toString(move));
+    }
+
+    /**
+     * @return number of moves not played yet
+     */
+    public int getRemainingMoves() {
+        return moves.length - nextMove;
+    }
+}
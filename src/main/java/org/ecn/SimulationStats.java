@@ -0,0 +1,145 @@
+package org.ecn;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totals of the games played by {@link Simulator}, added by every worker thread without contention
+ */
+public class SimulationStats {
+
+    /**
+     * Turns per bucket of {@link #getLengthHistogram()}
+     */
+    public static final int LENGTH_BUCKET = 10;
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder whiteWins = new LongAdder();
+    private final LongAdder blackWins = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder[] lengthHistogram;
+    private long elapsedNanos;
+
+    /**
+     * @param maxTurns longest game, games stopped at this length fall in the last bucket
+     */
+    public SimulationStats(int maxTurns) {
+        lengthHistogram = new LongAdder[maxTurns / LENGTH_BUCKET + 1];
+        for (int i = 0; i < lengthHistogram.length; i++) {
+            lengthHistogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Add one game
+     *
+     * @param winner 1 for white, -1 for black, 0 for a game stopped before its end
+     */
+    void addGame(int winner, int gameTurns, long gameMoves, long gameCaptures, long gamePromotions) {
+        games.increment();
+        if (winner > 0)
+            whiteWins.increment();
+        else if (winner < 0)
+            blackWins.increment();
+        turns.add(gameTurns);
+        moves.add(gameMoves);
+        captures.add(gameCaptures);
+        promotions.add(gamePromotions);
+        lengthHistogram[Math.min(gameTurns / LENGTH_BUCKET, lengthHistogram.length - 1)].increment();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games.sum();
+    }
+
+    public long getWhiteWins() {
+        return whiteWins.sum();
+    }
+
+    public long getBlackWins() {
+        return blackWins.sum();
+    }
+
+    /**
+     * @return games stopped at the turn limit
+     */
+    public long getUnfinished() {
+        return getGames() - getWhiteWins() - getBlackWins();
+    }
+
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    /**
+     * @return moves played, one per hop of a chain of attacks
+     */
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getCaptures() {
+        return captures.sum();
+    }
+
+    public long getPromotions() {
+        return promotions.sum();
+    }
+
+    /**
+     * @return number of games per length, bucket <code>i</code> counting games of
+     * <code>i * LENGTH_BUCKET</code> to <code>(i + 1) * LENGTH_BUCKET - 1</code> turns
+     */
+    public long[] getLengthHistogram() {
+        long[] histogram = new long[lengthHistogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = lengthHistogram[i].sum();
+        }
+        return histogram;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        long gameCount = Math.max(1, getGames());
+        StringBuilder st = new StringBuilder();
+        st.append(String.format(Locale.ROOT, "%d games in %.1f s, %.0f games/s, %.0f moves/s%n", getGames(),
+                elapsedNanos / 1e9, getGamesPerSecond(), elapsedNanos == 0 ? 0 : getMoves() * 1e9 / elapsedNanos));
+        st.append(String.format(Locale.ROOT, "White wins %.1f%%, black wins %.1f%%, unfinished %.1f%%%n",
+                100.0 * getWhiteWins() / gameCount, 100.0 * getBlackWins() / gameCount, 100.0 * getUnfinished() / gameCount));
+        st.append(String.format(Locale.ROOT, "Per game: %.1f turns, %.1f moves, %.1f captures, %.2f promotions%n",
+                (double) getTurns() / gameCount, (double) getMoves() / gameCount,
+                (double) getCaptures() / gameCount, (double) getPromotions() / gameCount));
+        st.append("Turns per game:\n");
+        long[] histogram = getLengthHistogram();
+        long highest = 1;
+        for (long count : histogram) {
+            highest = Math.max(highest, count);
+        }
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0)
+                continue;
+            StringBuilder bar = new StringBuilder();
+            for (long k = 0; k < 50 * histogram[i] / highest; k++) {
+                bar.append('#');
+            }
+            st.append(String.format(Locale.ROOT, "%4d-%-4d %8d %s%n", i * LENGTH_BUCKET, (i + 1) * LENGTH_BUCKET - 1,
+                    histogram[i], bar));
+        }
+        return st.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package org.ecn;
+
+import org.ecn.ai.GreedyCapturePlayer;
+import org.ecn.ai.RandomPlayer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Play many complete games between bots on every core, without any console output, to stress the rules
+ * and measure their throughput.
+ * <p>
+ * Games are split in halves down to small ranges by a {@link ForkJoinPool}, idle threads stealing the ranges
+ * left by busy ones. Every game has its own {@link Board} and players seeded from its index, so that a run
+ * is reproducible whatever the number of threads. Totals go to {@link SimulationStats}, whose counters
+ * do not contend between threads.
+ * <p>
+ * Usage: <code>Simulator [games] [board size] [random|greedy|mixed] [threads] [max turns]</code>
+ */
+public class Simulator {
+
+    /**
+     * Games played by a single task, without splitting further
+     */
+    private static final int GAMES_PER_TASK = 8;
+
+    /**
+     * Players of each color
+     */
+    public enum Strategy {
+        RANDOM, GREEDY,
+        /**
+         * Random white against greedy black
+         */
+        MIXED;
+
+        Player createPlayer(boolean isWhite, long seed) {
+            return this == RANDOM || this == MIXED && isWhite ? new RandomPlayer(seed) : new GreedyCapturePlayer(seed);
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param threads number of worker threads, at least 1
+     */
+    public Simulator(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Simulator needs at least 1 thread, got " + threads);
+        }
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Play games and wait for all of them
+     *
+     * @param maxTurns turns after which a game is stopped as unfinished
+     * @param seed     seed of the first game, next games use the following seeds
+     */
+    public SimulationStats run(int games, int tailleBoard, Strategy strategy, int maxTurns, long seed) {
+        SimulationStats stats = new SimulationStats(maxTurns);
+        long start = System.nanoTime();
+        pool.invoke(new GamesTask(0, games, tailleBoard, strategy, maxTurns, seed, stats));
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static class GamesTask extends RecursiveAction {
+        private final int firstGame;
+        private final int endGame;
+        private final int tailleBoard;
+        private final Strategy strategy;
+        private final int maxTurns;
+        private final long seed;
+        private final SimulationStats stats;
+
+        GamesTask(int firstGame, int endGame, int tailleBoard, Strategy strategy, int maxTurns, long seed, SimulationStats stats) {
+            this.firstGame = firstGame;
+            this.endGame = endGame;
+            this.tailleBoard = tailleBoard;
+            this.strategy = strategy;
+            this.maxTurns = maxTurns;
+            this.seed = seed;
+            this.stats = stats;
+        }
+
+        @Override
+        protected void compute() {
+            if (endGame - firstGame > GAMES_PER_TASK) {
+                int middle = (firstGame + endGame) >>> 1;
+                invokeAll(new GamesTask(firstGame, middle, tailleBoard, strategy, maxTurns, seed, stats),
+                        new GamesTask(middle, endGame, tailleBoard, strategy, maxTurns, seed, stats));
+                return;
+            }
+            MoveBuffer legalMoves = new MoveBuffer();
+            for (int game = firstGame; game < endGame; game++) {
+                playGame(seed + game, legalMoves);
+            }
+        }
+
+        /**
+         * Play a game from the initial position, black first, turns being played by
+         * {@link BoardController#playTurn(Board, Player, boolean, MoveBuffer)}
+         */
+        private void playGame(long gameSeed, MoveBuffer legalMoves) {
+            Board board = new Board(tailleBoard);
+            GameCounts counts = new GameCounts();
+            board.setGameEventListener(counts);
+            Player white = strategy.createPlayer(true, gameSeed);
+            Player black = strategy.createPlayer(false, gameSeed);
+            boolean isWhiteTurn = false;
+            boolean isBlocked = false;
+            int turns = 0;
+            while (turns < maxTurns && !board.didGameOver()) {
+                if (BoardController.playTurn(board, isWhiteTurn ? white : black, isWhiteTurn, legalMoves) == 0) {
+                    isBlocked = true;
+                    break;
+                }
+                isWhiteTurn = !isWhiteTurn;
+                turns++;
+            }
+            int winner = 0;
+            if (isBlocked) {
+                // blocked side loses
+                winner = isWhiteTurn ? -1 : 1;
+            } else if (board.didGameOver()) {
+                // also when won on the last allowed turn
+                winner = board.doPawnsColorExist(true) ? 1 : -1;
+            }
+            stats.addGame(winner, turns, counts.moves, counts.captures, counts.promotions);
+        }
+    }
+
+    /**
+     * Moves of one game, counted from the events of its board
+     */
+    private static final class GameCounts implements GameEventListener {
+        private long moves;
+        private long captures;
+        private long promotions;
+
+        @Override
+        public void moved(int fromRow, int fromCol, int toRow, int toCol) {
+            moves++;
+        }
+
+        @Override
+        public void captured(int row, int col) {
+            captures++;
+        }
+
+        @Override
+        public void promoted(int row, int col, boolean isWhite) {
+            promotions++;
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int tailleBoard = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Strategy strategy = args.length > 2 ? Strategy.valueOf(args[2].toUpperCase()) : Strategy.RANDOM;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int maxTurns = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+
+        Simulator simulator = new Simulator(threads);
+        try {
+            // warm up the JIT before measuring
+            simulator.run(Math.min(games, 1000), tailleBoard, strategy, maxTurns, -1000);
+            SimulationStats stats = simulator.run(games, tailleBoard, strategy, maxTurns, 0);
+            System.out.println(strategy + " games on " + tailleBoard + "x" + tailleBoard + ", " + threads + " threads");
+            System.out.print(stats);
+            System.out.printf("%.0f games/s per thread%n", stats.getGamesPerSecond() / threads);
+        } finally {
+            simulator.shutdown();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.ecn;
+
+/**
+ * Standard square numbers of draughts notation: dark squares are numbered from 1, row after row from the top row,
+ * i.e. from the black side, and from left to right in each row. Square 1 of a 10x10 board is [1, 2], square 50 is [10, 9].
+ * <p>
+ * Squares are defined in {@link BoardLocation#toSquare(int, int)}. Tables are immutable and shared by all boards of the same size.
+ */
+public final class SquareNumbering {
+
+    private static final int MAX_SIZE = Board.MAX_SIZE;
+    private static final SquareNumbering[] BY_SIZE = new SquareNumbering[MAX_SIZE + 1];
+
+    private final int tailleBoard;
+    /**
+     * Indexed by number, 0 unused
+     */
+    private final int[] squares;
+    /**
+     * Indexed by square, 0 for light squares
+     */
+    private final int[] numbers = new int[BoardLocation.toSquare(MAX_SIZE, MAX_SIZE) + 1];
+
+    private SquareNumbering(int tailleBoard) {
+        this.tailleBoard = tailleBoard;
+        squares = new int[tailleBoard * tailleBoard / 2 + 1];
+        int number = 0;
+        for (int row = 1; row <= tailleBoard; row++) {
+            for (int col = 1; col <= tailleBoard; col++) {
+                if (row % 2 != col % 2) {
+                    squares[++number] = BoardLocation.toSquare(row, col);
+                    numbers[squares[number]] = number;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param tailleBoard board size, at most 15 so that squares fit in a byte
+     * @return shared tables of this size, built on first use
+     */
+    public static SquareNumbering of(int tailleBoard) {
+        if (tailleBoard < 1 || tailleBoard > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be from 1 to " + MAX_SIZE + ", got " + tailleBoard);
+        }
+        SquareNumbering squareNumbering = BY_SIZE[tailleBoard];
+        if (squareNumbering == null) {
+            // racing threads build equal immutable tables, any of them may be kept
+            squareNumbering = new SquareNumbering(tailleBoard);
+            BY_SIZE[tailleBoard] = squareNumbering;
+        }
+        return squareNumbering;
+    }
+
+    public int getTailleBoard() {
+        return tailleBoard;
+    }
+
+    /**
+     * @return number of dark squares
+     */
+    public int getSquareCount() {
+        return squares.length - 1;
+    }
+
+    /**
+     * @param number square number, from 1 to {@link #getSquareCount()}
+     * @return square as defined in {@link BoardLocation#toSquare(int, int)}, 0 if there is no such number
+     */
+    public int square(int number) {
+        return number < 1 || number >= squares.length ? 0 : squares[number];
+    }
+
+    /**
+     * @param square square as defined in {@link BoardLocation#toSquare(int, int)}
+     * @return square number, 0 for a light square or a square out of the board
+     */
+    public int number(int square) {
+        return square < 0 || square >= numbers.length ? 0 : numbers[square];
+    }
+}
@@ -0,0 +1,103 @@
+package org.ecn;
+
+import java.util.Arrays;
+
+/**
+ * Primitive journal of board changes made by {@link Board#makeMove(int)}, so that {@link Board#unmakeMove()}
+ * can revert a move in O(changed squares) instead of copying the whole board.
+ * <p>
+ * Every square written while a move is being made is recorded with its previous piece, packed in one int.
+ * This covers moved pieces, pawns marked as {@link Board#DEAD_PAWN}, dead pawns cleared at the end of a turn
+ * and promotions alike.
+ */
+final class UndoStack {
+
+    private int[] changes = new int[64];
+    private int changeCount;
+    /**
+     * For each made move: index of its first change in {@link #changes}
+     */
+    private int[] frameStarts = new int[16];
+    private int[] frameMoves = new int[16];
+    private int depth;
+    private boolean recording;
+
+    void beginMove(int move) {
+        if (depth == frameStarts.length) {
+            frameStarts = Arrays.copyOf(frameStarts, depth * 2);
+            frameMoves = Arrays.copyOf(frameMoves, depth * 2);
+        }
+        frameStarts[depth] = changeCount;
+        frameMoves[depth] = move;
+        depth++;
+        recording = true;
+    }
+
+    void endMove() {
+        recording = false;
+    }
+
+    boolean isRecording() {
+        return recording;
+    }
+
+    void record(int square, int previousPiece) {
+        if (changeCount == changes.length) {
+            changes = Arrays.copyOf(changes, changeCount * 2);
+        }
+        changes[changeCount++] = square << 8 | (previousPiece - Board.DEAD_PAWN);
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Remove the last made move, its changes must then be reverted from {@link #lastChange()} down to {@link #frameStart()}
+     *
+     * @return the removed move
+     */
+    int popMove() {
+        return frameMoves[--depth];
+    }
+
+    /**
+     * Remove the last made move and forget its changes, which are kept on the board
+     */
+    void dropMove() {
+        changeCount = frameStarts[--depth];
+    }
+
+    /**
+     * @return index of the first change of the move removed by {@link #popMove()}
+     */
+    int frameStart() {
+        return frameStarts[depth];
+    }
+
+    int lastChange() {
+        return changeCount - 1;
+    }
+
+    void truncate(int newChangeCount) {
+        changeCount = newChangeCount;
+    }
+
+    static int changedSquare(int change) {
+        return change >>> 8;
+    }
+
+    static int previousPiece(int change) {
+        return (change & 0xFF) + Board.DEAD_PAWN;
+    }
+
+    int change(int index) {
+        return changes[index];
+    }
+
+    void clear() {
+        changeCount = 0;
+        depth = 0;
+        recording = false;
+    }
+}
@@ -0,0 +1,80 @@
+package org.ecn;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys identifying positions: the key of a board is the xor of one key per (square, piece).
+ * Empty places have a null key, so adding or removing a piece is a single xor and {@link Board} keeps its key
+ * up to date on every change.
+ * <p>
+ * Board does not know which side plays next, callers combine {@link #WHITE_TO_PLAY} with the board key when needed.
+ */
+public final class Zobrist {
+
+    /**
+     * Squares as defined in {@link BoardLocation#toSquare(int, int)}
+     */
+    private static final int SQUARES = 256;
+    /**
+     * From {@link Board#DEAD_PAWN} to {@link Board#WHITE_QUEEN}
+     */
+    private static final int PIECES = Board.WHITE_QUEEN - Board.DEAD_PAWN + 1;
+    private static final long[] PIECE_KEYS = new long[SQUARES * PIECES];
+
+    private static final long[] MOVING_KEYS = new long[SQUARES];
+
+    public static final long WHITE_TO_PLAY;
+
+    static {
+        // fixed seed: keys are identical from one run to another, so are stored keys
+        SplittableRandom random = new SplittableRandom(0x5EED_DA3EL);
+        for (int square = 0; square < SQUARES; square++) {
+            for (int piece = Board.DEAD_PAWN; piece <= Board.WHITE_QUEEN; piece++) {
+                PIECE_KEYS[square * PIECES + piece - Board.DEAD_PAWN] = piece == Board.EMPTY_PLACE ? 0L : random.nextLong();
+            }
+        }
+        WHITE_TO_PLAY = random.nextLong();
+        for (int square = 1; square < SQUARES; square++) {
+            MOVING_KEYS[square] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+        throw new IllegalStateException("Utility class: " + getClass());
+    }
+
+    /**
+     * @param square square as defined in {@link BoardLocation#toSquare(int, int)}
+     * @param piece  piece as defined in {@link Board} constants
+     * @return key of the piece standing on the square, 0 for an empty place
+     */
+    public static long pieceKey(int square, int piece) {
+        return PIECE_KEYS[square * PIECES + piece - Board.DEAD_PAWN];
+    }
+
+    /**
+     * Key telling that the turn goes on with the piece on given square, as board keys do not tell whether a turn started
+     *
+     * @param square square as defined in {@link BoardLocation#toSquare(int, int)}, 0 at the start of a turn
+     * @return key of the square, 0 for square 0
+     */
+    public static long movingKey(int square) {
+        return MOVING_KEYS[square];
+    }
+
+    /**
+     * Compute the key of a board array from scratch
+     *
+     * @param boardArray board array as stored in {@link Board}
+     * @return xor of the keys of all pieces
+     */
+    public static long computeKey(int[][] boardArray) {
+        long key = 0L;
+        for (int i = 0; i < boardArray.length; i++) {
+            for (int j = 0; j < boardArray[i].length; j++) {
+                key ^= pieceKey(BoardLocation.toSquare(i, j), boardArray[i][j]);
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,69 @@
+package org.ecn.ai;
+
+import lombok.Data;
+
+import java.util.Locale;
+
+/**
+ * Elo difference measured from game results, with its 95% confidence interval.
+ * <p>
+ * The difference comes from the mean score <code>s</code> of the games, <code>-400 log10(1 / s - 1)</code>,
+ * and the interval from the standard error of this mean: wins, draws and losses score 1, 1/2 and 0.
+ */
+@Data
+public class Elo {
+
+    /**
+     * Standard normal quantile of a two-sided 95% interval
+     */
+    private static final double Z_95 = 1.959964;
+    /**
+     * Bound of the differences, reached when every game is won or lost
+     */
+    public static final double MAX_DIFFERENCE = 1000;
+
+    private final double difference;
+    private final double lower;
+    private final double upper;
+    private final long games;
+
+    /**
+     * @return difference of the player having given results against its opponents
+     */
+    public static Elo fromResults(long wins, long draws, long losses) {
+        long games = wins + draws + losses;
+        if (games == 0)
+            return new Elo(0, -MAX_DIFFERENCE, MAX_DIFFERENCE, 0);
+        double score = (wins + draws / 2.0) / games;
+        double variance = (wins * square(1 - score) + draws * square(0.5 - score) + losses * square(score)) / games;
+        double error = Math.sqrt(variance / games);
+        return new Elo(difference(score), difference(score - Z_95 * error), difference(score + Z_95 * error), games);
+    }
+
+    /**
+     * @return Elo difference giving such an expected score, bounded by {@link #MAX_DIFFERENCE}
+     */
+    public static double difference(double score) {
+        if (score <= 0)
+            return -MAX_DIFFERENCE;
+        if (score >= 1)
+            return MAX_DIFFERENCE;
+        return Math.max(-MAX_DIFFERENCE, Math.min(MAX_DIFFERENCE, -400 * Math.log10(1 / score - 1)));
+    }
+
+    /**
+     * @return expected score of a player given its Elo difference
+     */
+    public static double expectedScore(double difference) {
+        return 1 / (1 + Math.pow(10, -difference / 400));
+    }
+
+    private static double square(double x) {
+        return x * x;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%+.0f [%+.0f, %+.0f] in %d games", difference, lower, upper, games);
+    }
+}
@@ -0,0 +1,61 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+import org.ecn.Player;
+
+/**
+ * Player searching its turn with a {@link Searcher}, one search per turn: the following moves of a chain
+ * of attacks are taken from {@link SearchResult#getTurn()}
+ */
+public class EnginePlayer implements Player {
+
+    private final Searcher engine;
+    private final long moveMillis;
+    private int[] turn = new int[0];
+    private int hop;
+    private SearchResult lastResult;
+
+    /**
+     * @param moveMillis time the engine may think per turn
+     */
+    public EnginePlayer(Searcher engine, long moveMillis) {
+        this.engine = engine;
+        this.moveMillis = moveMillis;
+    }
+
+    public Searcher getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return result of the last search, <code>null</code> before the first turn
+     */
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public int chooseMove(Board board, boolean isWhite, MoveBuffer legalMoves) {
+        if (hop == turn.length) {
+            lastResult = engine.search(board, isWhite, moveMillis);
+            turn = lastResult.getTurn();
+            hop = 0;
+        }
+        if (hop < turn.length) {
+            int move = turn[hop++];
+            for (int i = 0; i < legalMoves.size(); i++) {
+                if (legalMoves.get(i) == move)
+                    return move;
+            }
+        }
+        // searched moves are legal, reaching this point is a bug in the search
+        throw new IllegalStateException("Engine chose an illegal move at hop " + hop + " of its turn");
+    }
+
+    @Override
+    public void turnEnded() {
+        turn = new int[0];
+        hop = 0;
+    }
+}
@@ -0,0 +1,49 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+
+/**
+ * Static evaluation of a position, in centipawns from the point of view of the given side
+ */
+public final class Evaluation {
+
+    public static final int PAWN_VALUE = 100;
+    public static final int QUEEN_VALUE = 300;
+    /**
+     * Bonus per row a pawn went through toward its promotion row
+     */
+    public static final int ADVANCE_BONUS = 3;
+
+    private Evaluation() {
+        throw new IllegalStateException("Utility class: " + getClass());
+    }
+
+    /**
+     * @param board       position to evaluate
+     * @param isWhiteSide <code>true</code> for a score from white point of view
+     * @return material and pawns advance balance, positive when given side is ahead
+     */
+    public static int evaluate(Board board, boolean isWhiteSide) {
+        int tailleBoard = board.getTailleBoard();
+        int score = material(board);
+        for (int i = 1; i <= tailleBoard; i++) {
+            for (int j = 1; j <= tailleBoard; j++) {
+                int piece = board.getPiece(i, j);
+                if (piece == Board.WHITE_PAWN) {
+                    score += ADVANCE_BONUS * (tailleBoard - i);
+                } else if (piece == Board.BLACK_PAWN) {
+                    score -= ADVANCE_BONUS * (i - 1);
+                }
+            }
+        }
+        return isWhiteSide ? score : -score;
+    }
+
+    /**
+     * @return material balance from white point of view, in constant time
+     */
+    public static int material(Board board) {
+        return PAWN_VALUE * (board.getPieceCount(Board.WHITE_PAWN) - board.getPieceCount(Board.BLACK_PAWN))
+                + QUEEN_VALUE * (board.getPieceCount(Board.WHITE_QUEEN) - board.getPieceCount(Board.BLACK_QUEEN));
+    }
+}
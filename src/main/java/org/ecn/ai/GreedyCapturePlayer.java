@@ -0,0 +1,72 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.CaptureSequences;
+import org.ecn.MoveBuffer;
+import org.ecn.Player;
+
+import java.util.Random;
+
+/**
+ * Player eating as many pieces as it can without looking ahead: it follows one of the longest chains of attacks,
+ * and makes any quiet move when it cannot attack
+ */
+public class GreedyCapturePlayer implements Player {
+
+    private final Random random;
+    private final CaptureSequences sequences = new CaptureSequences();
+    /**
+     * Chain being played, from {@link #sequences}, -1 when none
+     */
+    private int sequence = -1;
+    private int hop;
+
+    public GreedyCapturePlayer(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public int chooseMove(Board board, boolean isWhite, MoveBuffer legalMoves) {
+        if (sequence < 0 || hop == sequences.length(sequence)) {
+            sequence = pickLongestChain(board, isWhite, legalMoves);
+            hop = 0;
+        }
+        if (sequence >= 0) {
+            int move = sequences.hop(sequence, hop);
+            if (contains(legalMoves, move)) {
+                hop++;
+                return move;
+            }
+            sequence = -1;
+        }
+        return legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+
+    /**
+     * @return one of the longest chains starting with a legal move, -1 if none
+     */
+    private int pickLongestChain(Board board, boolean isWhite, MoveBuffer legalMoves) {
+        int count = board.generateCaptureSequences(isWhite, true, sequences);
+        int chosen = -1;
+        int candidates = 0;
+        for (int i = 0; i < count; i++) {
+            // reservoir sampling among the chains the moving piece can play
+            if (contains(legalMoves, sequences.hop(i, 0)) && random.nextInt(++candidates) == 0)
+                chosen = i;
+        }
+        return chosen;
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void turnEnded() {
+        sequence = -1;
+    }
+}
@@ -0,0 +1,322 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Monte Carlo Tree Search of the best move, an alternative to {@link SearchEngine}.
+ * <p>
+ * Each playout walks down the tree choosing moves by UCT, expands the reached node, then plays random moves with
+ * {@link Board#playMove(int)}, which prints nothing, until one side cannot play or {@link #MAX_PLAYOUT_PLIES} is reached.
+ * Playouts run concurrently and update the tree without any lock:
+ * <ul>
+ *     <li>visits and rewards are atomic field updates</li>
+ *     <li>a node is expanded by compare and set of its children, the loser of a race uses the winner's children</li>
+ *     <li>a visit is counted on the way down and its reward on the way up, so that a playout in progress counts as a
+ *     loss for others (virtual loss) and spreads concurrent playouts over the tree</li>
+ * </ul>
+ * Playouts run on virtual threads when the JVM provides them (Java 21 and later), on a fixed pool of threads otherwise.
+ * <p>
+ * Usage: <code>MctsEngine [millis] [tasks]</code>
+ */
+public class MctsEngine {
+
+    public static final int MAX_PLAYOUT_PLIES = 300;
+
+    /**
+     * UCT exploration constant
+     */
+    private static final double EXPLORATION = 1.4;
+    /**
+     * Rewards are counted in half points so that a draw fits in an integer
+     */
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+
+    private final int tasks;
+    private final ExecutorService executor;
+    private final boolean isVirtual;
+
+    /**
+     * @param tasks number of concurrent playouts, at least 1
+     */
+    public MctsEngine(int tasks) {
+        if (tasks < 1) {
+            throw new IllegalArgumentException("MCTS needs at least 1 task, got " + tasks);
+        }
+        this.tasks = tasks;
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+        this.isVirtual = virtualExecutor != null;
+        this.executor = isVirtual ? virtualExecutor : Executors.newFixedThreadPool(tasks, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-playout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return <code>Executors.newVirtualThreadPerTaskExecutor()</code>, or <code>null</code> if this JVM has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public boolean isVirtual() {
+        return isVirtual;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Run playouts until either limit is reached
+     *
+     * @param board        the position to search, left untouched
+     * @param isWhiteTurn  <code>true</code> to search white moves
+     * @param maxPlayouts  number of playouts after which the search ends
+     * @param budgetMillis time after which the search ends
+     * @return most visited move
+     */
+    public MctsResult search(Board board, boolean isWhiteTurn, long maxPlayouts, long budgetMillis) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        Board root = new Board(board);
+        Node rootNode = new Node(0, !isWhiteTurn);
+        AtomicLong started = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            long seed = start + t;
+            futures.add(executor.submit(() -> {
+                Playout playout = new Playout(root, isWhiteTurn, new SplittableRandom(seed));
+                while (started.getAndIncrement() < maxPlayouts && System.nanoTime() - deadline < 0) {
+                    playout.run(rootNode);
+                    completed.incrementAndGet();
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Playout failed", e.getCause());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Node best = mostVisited(rootNode.children, isWhiteTurn);
+        if (best == null) {
+            return new MctsResult(0, new int[0], 0, completed.get(), elapsed);
+        }
+        double winRate = best.visits == 0 ? 0 : best.reward / (double) (WIN * best.visits);
+        return new MctsResult(best.move, completeTurn(root, isWhiteTurn, rootNode), winRate, completed.get(), elapsed);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return most visited child played by given side, <code>null</code> if none
+     */
+    private static Node mostVisited(Node[] children, boolean isWhiteMover) {
+        Node best = null;
+        if (children != null) {
+            for (Node child : children) {
+                if (child.isWhiteMover == isWhiteMover && (best == null || child.visits > best.visits))
+                    best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Follow the most visited moves while the turn goes on, completing with the first legal move where the tree stops
+     */
+    private static int[] completeTurn(Board root, boolean isWhiteTurn, Node rootNode) {
+        Board board = new Board(root);
+        MoveBuffer moves = new MoveBuffer();
+        MoveBuffer turn = new MoveBuffer();
+        Node node = rootNode;
+        int movingSquare = 0;
+        boolean didTurnEnd = false;
+        while (!didTurnEnd && board.generateLegalMoves(isWhiteTurn, movingSquare, moves) > 0) {
+            Node child = node == null ? null : mostVisited(node.children, isWhiteTurn);
+            int move = child != null ? child.move : moves.get(0);
+            turn.add(move);
+            didTurnEnd = board.playMove(move);
+            movingSquare = MoveBuffer.to(move);
+            node = child;
+        }
+        return turn.toArray();
+    }
+
+    /**
+     * Tree node, reached by playing {@link #move}
+     */
+    private static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> VISITS = AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicLongFieldUpdater<Node> REWARD = AtomicLongFieldUpdater.newUpdater(Node.class, "reward");
+        private static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "children");
+
+        private final int move;
+        private final boolean isWhiteMover;
+        private volatile int visits;
+        /**
+         * Half points won by {@link #isWhiteMover} side through this node
+         */
+        private volatile long reward;
+        /**
+         * <code>null</code> until expanded, empty when the side to play cannot move
+         */
+        private volatile Node[] children;
+
+        Node(int move, boolean isWhiteMover) {
+            this.move = move;
+            this.isWhiteMover = isWhiteMover;
+        }
+
+        /**
+         * @param movingSquare square of the piece going on with the turn, 0 at the start of a turn
+         */
+        Node[] expand(Board board, boolean isWhiteTurn, int movingSquare, MoveBuffer moves) {
+            int count = board.generateLegalMoves(isWhiteTurn, movingSquare, moves);
+            Node[] expanded = new Node[count];
+            for (int i = 0; i < count; i++) {
+                expanded[i] = new Node(moves.get(i), isWhiteTurn);
+            }
+            return CHILDREN.compareAndSet(this, null, expanded) ? expanded : children;
+        }
+
+        Node select(double logParentVisits) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int childVisits = child.visits;
+                if (childVisits == 0)
+                    return child;
+                double value = child.reward / (double) (WIN * childVisits) + EXPLORATION * Math.sqrt(logParentVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * State owned by one task, reused from one playout to the other
+     */
+    private static final class Playout {
+        private final Board root;
+        private final boolean isRootWhiteTurn;
+        private final SplittableRandom random;
+        private final MoveBuffer moves = new MoveBuffer();
+        private final List<Node> path = new ArrayList<>();
+
+        Playout(Board root, boolean isRootWhiteTurn, SplittableRandom random) {
+            this.root = root;
+            this.isRootWhiteTurn = isRootWhiteTurn;
+            this.random = random;
+        }
+
+        void run(Node rootNode) {
+            Board board = new Board(root);
+            boolean isWhiteTurn = isRootWhiteTurn;
+            int movingSquare = 0;
+            Node node = rootNode;
+            path.clear();
+            path.add(node);
+            Node.VISITS.incrementAndGet(node);
+
+            // selection, a node is expanded once visited twice except the root
+            while (true) {
+                Node[] children = node.children;
+                if (children == null) {
+                    if (node != rootNode && node.visits < 2)
+                        break;
+                    children = node.expand(board, isWhiteTurn, movingSquare, moves);
+                }
+                if (children.length == 0)
+                    break;
+                node = node.select(Math.log(node.visits));
+                Node.VISITS.incrementAndGet(node);
+                path.add(node);
+                if (board.playMove(node.move)) {
+                    isWhiteTurn = !isWhiteTurn;
+                    movingSquare = 0;
+                } else {
+                    movingSquare = MoveBuffer.to(node.move);
+                }
+            }
+
+            int winner = simulate(board, isWhiteTurn, movingSquare);
+            for (Node visited : path) {
+                int reward = winner == 0 ? DRAW : (winner > 0) == visited.isWhiteMover ? WIN : 0;
+                if (reward != 0)
+                    Node.REWARD.addAndGet(visited, reward);
+            }
+        }
+
+        /**
+         * @return 1 if white wins, -1 if black wins, 0 for a draw
+         */
+        private int simulate(Board board, boolean isWhiteTurn, int movingSquare) {
+            for (int ply = 0; ply < MAX_PLAYOUT_PLIES; ply++) {
+                int count = board.generateLegalMoves(isWhiteTurn, movingSquare, moves);
+                if (count == 0)
+                    return isWhiteTurn ? -1 : 1;
+                int move = moves.get(random.nextInt(count));
+                if (board.playMove(move)) {
+                    isWhiteTurn = !isWhiteTurn;
+                    movingSquare = 0;
+                } else {
+                    movingSquare = MoveBuffer.to(move);
+                }
+            }
+            return Integer.signum(Evaluation.material(board));
+        }
+    }
+
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int tasks = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        MctsEngine engine = new MctsEngine(tasks);
+        try {
+            MctsResult result = engine.search(new Board(10), false, Long.MAX_VALUE, millis);
+            System.out.println(String.format(Locale.ROOT, "%d playouts on %d %s threads in %.3f s (%.0f playouts/s)",
+                    result.getPlayouts(), tasks, engine.isVirtual() ? "virtual" : "platform",
+                    result.getElapsedNanos() / 1e9, result.getPlayoutsPerSecond()));
+            System.out.println(String.format(Locale.ROOT, "Best move %s, win rate %.3f",
+                    MoveBuffer.toString(result.getBestMove()), result.getWinRate()));
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
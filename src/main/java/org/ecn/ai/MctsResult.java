@@ -0,0 +1,29 @@
+package org.ecn.ai;
+
+import lombok.Data;
+import org.ecn.MoveBuffer;
+
+/**
+ * Outcome of {@link MctsEngine#search(org.ecn.Board, boolean, long, long)}, moves are encoded as defined in {@link MoveBuffer}
+ */
+@Data
+public class MctsResult {
+    /**
+     * Most visited move of the side to play, 0 if it has no legal move
+     */
+    private final int bestMove;
+    /**
+     * Every move the side to play makes before its turn ends, starting with {@link #bestMove}
+     */
+    private final int[] turn;
+    /**
+     * Share of playouts won through {@link #bestMove}, a draw counting as half a win
+     */
+    private final double winRate;
+    private final long playouts;
+    private final long elapsedNanos;
+
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos > 0 ? playouts * 1e9 / elapsedNanos : 0;
+    }
+}
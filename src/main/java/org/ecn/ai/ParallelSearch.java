@@ -0,0 +1,187 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Search on several threads sharing one {@link TranspositionTable}, also known as Lazy SMP.
+ * <p>
+ * Every thread runs its own {@link SearchEngine} on its own copy of the board. Threads do not split the tree
+ * explicitly: they share what they find through the table, which cuts the subtrees already searched by others.
+ * Helper threads start half of them one ply deeper, so that threads reach different depths at the same time.
+ * The search ends when the main thread does, the deepest result of all threads is then returned.
+ * <p>
+ * Usage of the speedup report: <code>ParallelSearch [millis] [max threads] [table MB]</code>
+ */
+public class ParallelSearch implements Searcher {
+
+    private final TranspositionTable table;
+    private final SearchEngine[] engines;
+    private final ExecutorService executor;
+
+    /**
+     * @param threads number of search threads, at least 1
+     * @param table   table shared by all threads
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parallel search needs at least 1 thread, got " + threads);
+        }
+        this.table = table;
+        this.engines = new SearchEngine[threads];
+        for (int i = 0; i < threads; i++) {
+            engines[i] = new SearchEngine(table);
+            engines[i].setFirstDepth(1 + i % 2);
+        }
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "parallel-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getThreads() {
+        return engines.length;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        for (SearchEngine engine : engines) {
+            engine.setMaxDepth(maxDepth);
+        }
+    }
+
+    /**
+     * @return result of the thread which completed the deepest iteration, with the nodes of all threads
+     */
+    @Override
+    public SearchResult search(Board board, boolean isWhiteTurn, long budgetMillis) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        List<Future<SearchResult>> futures = new ArrayList<>(engines.length);
+        for (SearchEngine engine : engines) {
+            engine.clearStop();
+        }
+        for (SearchEngine engine : engines) {
+            Board copy = new Board(board);
+            futures.add(executor.submit(() -> engine.searchUntil(copy, isWhiteTurn, deadline)));
+        }
+        try {
+            SearchResult best = futures.get(0).get();
+            for (int i = 1; i < engines.length; i++) {
+                engines[i].stop();
+            }
+            long nodes = best.getNodes();
+            for (int i = 1; i < futures.size(); i++) {
+                SearchResult helper = futures.get(i).get();
+                nodes += helper.getNodes();
+                if (helper.getDepth() > best.getDepth()) {
+                    best = helper;
+                }
+            }
+            return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes,
+                    best.getPrincipalVariation(), best.getTurn());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            stop();
+            throw new IllegalStateException("Search thread failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void stop() {
+        for (SearchEngine engine : engines) {
+            engine.stop();
+        }
+    }
+
+    public void shutdown() {
+        stop();
+        executor.shutdown();
+    }
+
+    /**
+     * Report the depth reached and the nodes searched per second in a fixed time, for 1, 2, 4... threads,
+     * from the initial board and from a few positions reached by random moves from it
+     */
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        List<Board> positions = standardPositions(4);
+
+        System.out.println("Search of " + positions.size() + " positions from new Board(10), " + millis + " ms each, "
+                + Runtime.getRuntime().availableProcessors() + " available processors");
+        double singleThreadNodesPerSecond = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ParallelSearch search = new ParallelSearch(threads, new TranspositionTable(megabytes));
+            long nodes = 0;
+            int depths = 0;
+            long start = System.nanoTime();
+            try {
+                for (Board position : positions) {
+                    search.getTable().clear();
+                    SearchResult result = search.search(position, false, millis);
+                    nodes += result.getNodes();
+                    depths += result.getDepth();
+                }
+            } finally {
+                search.shutdown();
+            }
+            double nodesPerSecond = nodes / ((System.nanoTime() - start) / 1e9);
+            if (threads == 1) {
+                singleThreadNodesPerSecond = nodesPerSecond;
+            }
+            System.out.println(String.format(Locale.ROOT, "%2d threads: average depth %.2f, %.0f nodes/s, x%.2f nodes/s",
+                    threads, (double) depths / positions.size(), nodesPerSecond, nodesPerSecond / singleThreadNodesPerSecond));
+        }
+    }
+
+    /**
+     * @param count number of positions
+     * @return the initial 10x10 board followed by positions reached from it by a fixed sequence of random moves
+     */
+    static List<Board> standardPositions(int count) {
+        List<Board> positions = new ArrayList<>(count);
+        Random random = new Random(2024);
+        MoveBuffer moves = new MoveBuffer();
+        Board board = new Board(10);
+        positions.add(new Board(board));
+        boolean isWhiteTurn = false;
+        int movingSquare = 0;
+        while (positions.size() < count) {
+            // positions are searched with black to start its turn
+            for (int ply = 0; ply < 6 || isWhiteTurn || movingSquare != 0; ply++) {
+                if (board.generateLegalMoves(isWhiteTurn, movingSquare, moves) == 0) {
+                    board = new Board(10);
+                    isWhiteTurn = false;
+                    movingSquare = 0;
+                    break;
+                }
+                int move = moves.get(random.nextInt(moves.size()));
+                if (board.playMove(move)) {
+                    isWhiteTurn = !isWhiteTurn;
+                    movingSquare = 0;
+                } else {
+                    movingSquare = MoveBuffer.to(move);
+                }
+            }
+            positions.add(new Board(board));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,24 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+import org.ecn.Player;
+
+import java.util.Random;
+
+/**
+ * Player picking any legal move, reproducible from its seed
+ */
+public class RandomPlayer implements Player {
+
+    private final Random random;
+
+    public RandomPlayer(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public int chooseMove(Board board, boolean isWhite, MoveBuffer legalMoves) {
+        return legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+}
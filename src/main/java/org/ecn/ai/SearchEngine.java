@@ -0,0 +1,334 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+import org.ecn.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * Alpha-beta search of the best move, used by the computer player.
+ * <p>
+ * The search is a negamax with iterative deepening under a time budget: each iteration goes one ply deeper,
+ * and the result of the last completed iteration is returned once the budget is spent.
+ * Moves are the ones of {@link Board#generateLegalMoves(boolean, int, MoveBuffer)}, explored in place with
+ * {@link Board#makeMove(int)} and {@link Board#unmakeMove()}:
+ * <ul>
+ *     <li>a move that does not end the turn (chain of attacks) keeps the same side to play and the same remaining depth,
+ *     so that a chain is always searched as a whole, going on with the piece that moved only</li>
+ *     <li>once the depth is spent, pending attacks are still searched since eating is mandatory</li>
+ *     <li>moves are ordered by transposition table move, killer moves then history heuristic</li>
+ * </ul>
+ * An engine is not thread safe, but several engines may share the same {@link TranspositionTable}.
+ */
+public class SearchEngine implements Searcher {
+
+    public static final int MATE = 30000;
+    public static final int MAX_PLY = 128;
+    public static final int DEFAULT_MAX_DEPTH = 64;
+
+    private static final int INFINITY = MATE + 1;
+    /**
+     * Nodes between two checks of the clock
+     */
+    private static final int CLOCK_CHECK_MASK = 1023;
+    private static final int TT_MOVE_ORDER = 1 << 30;
+    private static final int KILLER_ORDER = 1 << 29;
+    private static final int HISTORY_MAX = 1 << 28;
+
+    private final TranspositionTable table;
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_PLY + 1];
+    private final int[][] orders = new int[MAX_PLY + 1][];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    /**
+     * Indexed by side then <code>from | to &lt;&lt; 8</code> squares
+     */
+    private final int[][] history = new int[2][1 << 16];
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    /**
+     * Depth of the first iteration, helpers of a {@link ParallelSearch} start deeper so that threads spread over depths
+     */
+    private int firstDepth = 1;
+    private long nodes;
+    private long deadline;
+    private volatile boolean stopped;
+
+    public SearchEngine(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new MoveBuffer();
+            orders[i] = new int[64];
+        }
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth >= MAX_PLY) {
+            throw new IllegalArgumentException("Max depth must be between 1 and " + (MAX_PLY - 1) + ", got " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    void setFirstDepth(int firstDepth) {
+        this.firstDepth = firstDepth;
+    }
+
+    void clearStop() {
+        stopped = false;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * @return best move found by the deepest completed iteration
+     */
+    @Override
+    public SearchResult search(Board board, boolean isWhiteTurn, long budgetMillis) {
+        stopped = false;
+        return searchUntil(board, isWhiteTurn, System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Same as {@link #search(Board, boolean, long)} without clearing a previous {@link #stop()},
+     * so that a search stopped before it even started returns at once
+     *
+     * @param deadline {@link System#nanoTime()} at which the search must return
+     */
+    SearchResult searchUntil(Board board, boolean isWhiteTurn, long deadline) {
+        long start = System.nanoTime();
+        this.deadline = deadline;
+        nodes = 0;
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, 0);
+        }
+        for (int[] sideHistory : history) {
+            Arrays.fill(sideHistory, 0);
+        }
+
+        Board searched = new Board(board);
+        MoveBuffer rootMoves = new MoveBuffer();
+        if (searched.generateLegalMoves(isWhiteTurn, rootMoves) == 0) {
+            return new SearchResult(0, -MATE, 0, 0, new int[0], new int[0]);
+        }
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestLine = {bestMove};
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            int score = negamax(searched, isWhiteTurn, 0, depth, -INFINITY, INFINITY, 0);
+            if (stopped)
+                break;
+            completedDepth = depth;
+            bestScore = score;
+            bestLine = Arrays.copyOf(pv[0], pvLength[0]);
+            bestMove = bestLine[0];
+            // a forced mate will not change with more depth, nor is an iteration likely to end past half the budget
+            if (Math.abs(score) >= MATE - MAX_PLY || System.nanoTime() - start > (deadline - start) / 2)
+                break;
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, bestLine,
+                completeTurn(searched, isWhiteTurn, bestLine));
+    }
+
+    /**
+     * @param movingSquare square of the piece going on with the turn, 0 at the start of a turn
+     * @return score of the position from the point of view of the side to play, meaningless once stopped
+     */
+    private int negamax(Board board, boolean isWhiteTurn, int movingSquare, int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        if ((++nodes & CLOCK_CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+            stopped = true;
+        }
+        if (stopped)
+            return 0;
+
+        MoveBuffer moves = buffers[ply];
+        int count = board.generateLegalMoves(isWhiteTurn, movingSquare, moves);
+        if (count == 0)
+            return -MATE + ply;
+        boolean isCapture = MoveBuffer.isCapture(moves.get(0));
+        // eating is mandatory, so a position with pending attacks is never evaluated as is
+        if ((depth <= 0 && !isCapture) || ply >= MAX_PLY)
+            return Evaluation.evaluate(board, isWhiteTurn);
+
+        long key = key(board, isWhiteTurn, movingSquare);
+        long entry = table.probe(key);
+        int ttMove = 0;
+        if (TranspositionTable.isHit(entry)) {
+            ttMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int ttScore = fromTableScore(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && ttScore >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && ttScore <= alpha))
+                    return ttScore;
+            }
+        }
+
+        int side = isWhiteTurn ? 1 : 0;
+        int[] order = scoreMoves(moves, count, ttMove, side, ply);
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(moves, order, i, count);
+            boolean didTurnEnd = board.makeMove(move);
+            int score = didTurnEnd
+                    ? -negamax(board, !isWhiteTurn, 0, depth - 1, -beta, -alpha, ply + 1)
+                    : negamax(board, isWhiteTurn, MoveBuffer.to(move), depth, alpha, beta, ply + 1);
+            board.unmakeMove();
+            if (stopped)
+                return 0;
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                }
+            }
+            if (alpha >= beta) {
+                if (!isCapture) {
+                    rememberCutoff(side, ply, move, depth);
+                }
+                break;
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(key, bestMove, Math.max(depth, 0), bound, toTableScore(bestScore, ply));
+        return bestScore;
+    }
+
+    private static long key(Board board, boolean isWhiteTurn, int movingSquare) {
+        return board.getZobristKey() ^ (isWhiteTurn ? Zobrist.WHITE_TO_PLAY : 0L) ^ Zobrist.movingKey(movingSquare);
+    }
+
+    private int[] scoreMoves(MoveBuffer moves, int count, int ttMove, int side, int ply) {
+        if (orders[ply].length < count) {
+            orders[ply] = new int[Math.max(count, orders[ply].length * 2)];
+        }
+        int[] order = orders[ply];
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            if (move == ttMove) {
+                order[i] = TT_MOVE_ORDER;
+            } else if (move == killers[ply][0]) {
+                order[i] = KILLER_ORDER + 1;
+            } else if (move == killers[ply][1]) {
+                order[i] = KILLER_ORDER;
+            } else {
+                order[i] = history[side][move & 0xFFFF];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Selection sort step: bring the best ordered remaining move at index, so that a cutoff spares sorting the rest
+     */
+    private static int pickNext(MoveBuffer moves, int[] order, int index, int count) {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (order[i] > order[best])
+                best = i;
+        }
+        int move = moves.get(best);
+        if (best != index) {
+            order[best] = order[index];
+            moves.set(best, moves.get(index));
+            order[index] = 0;
+            moves.set(index, move);
+        }
+        return move;
+    }
+
+    private void rememberCutoff(int side, int ply, int move, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] sideHistory = history[side];
+        sideHistory[move & 0xFFFF] += depth * depth;
+        if (sideHistory[move & 0xFFFF] >= HISTORY_MAX) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] >>= 1;
+            }
+        }
+    }
+
+    private void updatePrincipalVariation(int ply, int move) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    /**
+     * Mate scores are stored relative to the stored position rather than to the root
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score >= MATE - MAX_PLY)
+            return score + ply;
+        if (score <= -MATE + MAX_PLY)
+            return score - ply;
+        return score;
+    }
+
+    private static int fromTableScore(int score, int ply) {
+        if (score >= MATE - MAX_PLY)
+            return score - ply;
+        if (score <= -MATE + MAX_PLY)
+            return score + ply;
+        return score;
+    }
+
+    /**
+     * Moves of the whole turn starting with the best line: the line may be cut short by a transposition table cutoff,
+     * missing moves of a chain are then taken from the table, or from the move generator.
+     */
+    private int[] completeTurn(Board board, boolean isWhiteTurn, int[] bestLine) {
+        MoveBuffer moves = new MoveBuffer();
+        MoveBuffer turn = new MoveBuffer();
+        int movingSquare = 0;
+        int made = 0;
+        boolean didTurnEnd = false;
+        while (!didTurnEnd && board.generateLegalMoves(isWhiteTurn, movingSquare, moves) > 0) {
+            int move = made < bestLine.length ? bestLine[made] : 0;
+            if (!contains(moves, move)) {
+                long entry = table.probe(key(board, isWhiteTurn, movingSquare));
+                move = contains(moves, TranspositionTable.move(entry)) ? TranspositionTable.move(entry) : moves.get(0);
+            }
+            turn.add(move);
+            didTurnEnd = board.makeMove(move);
+            movingSquare = MoveBuffer.to(move);
+            made++;
+        }
+        for (int i = 0; i < made; i++) {
+            board.unmakeMove();
+        }
+        return turn.toArray();
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package org.ecn.ai;
+
+import lombok.Data;
+import org.ecn.MoveBuffer;
+
+/**
+ * Outcome of {@link SearchEngine#search(org.ecn.Board, boolean, long)}, moves are encoded as defined in {@link MoveBuffer}
+ */
+@Data
+public class SearchResult {
+    /**
+     * First move of the best line found, 0 if the side to play has no legal move
+     */
+    private final int bestMove;
+    /**
+     * Score of the best line from the point of view of the side to play
+     */
+    private final int score;
+    /**
+     * Deepest iteration completed within the time budget
+     */
+    private final int depth;
+    private final long nodes;
+    private final int[] principalVariation;
+    /**
+     * Every move the side to play makes before its turn ends, starting with {@link #bestMove}:
+     * more than one move for a chain of attacks. Each of them can be played with
+     * {@link org.ecn.Board#moveItem(int, int, int, int)} through {@link MoveBuffer#direction(int)} and {@link MoveBuffer#steps(int)}.
+     */
+    private final int[] turn;
+
+    public boolean isMate() {
+        return Math.abs(score) >= SearchEngine.MATE - SearchEngine.MAX_PLY;
+    }
+}
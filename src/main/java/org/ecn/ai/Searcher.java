@@ -0,0 +1,25 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+
+/**
+ * Search of the best move within a time budget, on one thread with {@link SearchEngine}
+ * or on several with {@link ParallelSearch}
+ */
+public interface Searcher {
+
+    /**
+     * Search the best move of a side within a time budget
+     *
+     * @param board        the position to search, left untouched
+     * @param isWhiteTurn  <code>true</code> to search white moves
+     * @param budgetMillis time budget, the search returns shortly after it is spent
+     * @return best move found, with the whole turn it starts
+     */
+    SearchResult search(Board board, boolean isWhiteTurn, long budgetMillis);
+
+    /**
+     * Ask a running search to return as soon as possible, from any thread
+     */
+    void stop();
+}
@@ -0,0 +1,109 @@
+package org.ecn.ai;
+
+import java.util.Locale;
+
+/**
+ * Sequential probability ratio test between two Elo hypotheses, to stop a match as soon as its result is clear.
+ * <p>
+ * H0 states the candidate is <code>elo0</code> stronger than its opponent, H1 that it is <code>elo1</code> stronger.
+ * After each game the log likelihood ratio of H1 over H0 is compared to bounds derived from the error rates:
+ * <code>log(beta / (1 - alpha))</code> accepts H0, <code>log((1 - beta) / alpha)</code> accepts H1.
+ * The ratio uses the normal approximation of the mean score, with the variance of the games played so far,
+ * so that draws are taken into account without a draw model.
+ */
+public class Sprt {
+
+    public enum Status {
+        CONTINUE, ACCEPT_H0, ACCEPT_H1
+    }
+
+    private final double elo0;
+    private final double elo1;
+    private final double lowerBound;
+    private final double upperBound;
+    private long wins;
+    private long draws;
+    private long losses;
+
+    /**
+     * @param alpha probability to accept H1 when H0 holds
+     * @param beta  probability to accept H0 when H1 holds
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo0 >= elo1)
+            throw new IllegalArgumentException("elo0 " + elo0 + " must be lower than elo1 " + elo1);
+        if (alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1)
+            throw new IllegalArgumentException("Error rates must be between 0 and 1, got " + alpha + " and " + beta);
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * @param score 1 if the candidate won, 0.5 for a draw, 0 if it lost
+     */
+    public void addGame(double score) {
+        if (score > 0.5)
+            wins++;
+        else if (score < 0.5)
+            losses++;
+        else
+            draws++;
+    }
+
+    public long getGames() {
+        return wins + draws + losses;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return log likelihood ratio of H1 over H0, 0 before the first game
+     */
+    public double getLlr() {
+        long games = getGames();
+        if (games == 0)
+            return 0;
+        double score = (wins + draws / 2.0) / games;
+        // one more win and one more loss, so that a run of equal results still has a variance
+        double variance = ((wins + 1) * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score)
+                + (losses + 1) * score * score) / (games + 2);
+        double score0 = Elo.expectedScore(elo0);
+        double score1 = Elo.expectedScore(elo1);
+        return (score1 - score0) * (2 * score - score0 - score1) * games / (2 * variance);
+    }
+
+    public Status getStatus() {
+        double llr = getLlr();
+        if (llr <= lowerBound)
+            return Status.ACCEPT_H0;
+        if (llr >= upperBound)
+            return Status.ACCEPT_H1;
+        return Status.CONTINUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "LLR %.2f [%.2f, %.2f], %s after %d games (+%d =%d -%d), H0 elo %.0f, H1 elo %.0f",
+                getLlr(), lowerBound, upperBound, getStatus(), getGames(), wins, draws, losses, elo0, elo1);
+    }
+}
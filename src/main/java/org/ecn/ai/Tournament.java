@@ -0,0 +1,272 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.BoardController;
+import org.ecn.MoveBuffer;
+import org.ecn.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Play bots against each other on several threads, to compare engine versions.
+ * <p>
+ * Games are played in pairs: a few random turns played from <code>new Board(n)</code> with the seed of the pair make
+ * its opening, then both players get each color once from this opening with the same seeds, which cancels the
+ * advantage of a color and of a lucky position. The opening keeps deterministic players, such as an
+ * {@link EnginePlayer}, from replaying the same game pair after pair. A game reaching the turn limit is a draw,
+ * a player left without pieces or without legal move loses.
+ * <p>
+ * {@link #playRoundRobin(int, long)} plays every pair of players on every board size.
+ * {@link #playSprt(String, String, Sprt, int, long)} plays one match until a {@link Sprt} is decided.
+ * <p>
+ * Usage of the report: <code>Tournament [pairs] [threads] [board sizes...]</code>
+ */
+public class Tournament {
+
+    private final ExecutorService executor;
+    private final int threads;
+    private final List<String> names = new ArrayList<>();
+    private final List<LongFunction<Player>> factories = new ArrayList<>();
+    private int[] boardSizes = {10};
+    private int maxTurns = 300;
+    private int openingTurns = 4;
+
+    /**
+     * @param threads number of games played at the same time, at least 1
+     */
+    public Tournament(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Tournament needs at least 1 thread, got " + threads);
+        }
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tournament");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param factory new player for each game given its seed, so that players never share state between threads
+     */
+    public void addPlayer(String name, LongFunction<Player> factory) {
+        if (names.contains(name))
+            throw new IllegalArgumentException("Player " + name + " already added");
+        names.add(name);
+        factories.add(factory);
+    }
+
+    public List<String> getPlayerNames() {
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * @param boardSizes sizes given to {@link Board#Board(int)}, pairs of games are played on each of them
+     */
+    public void setBoardSizes(int... boardSizes) {
+        this.boardSizes = boardSizes.clone();
+    }
+
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * @param openingTurns random turns played before the players take over, shared by both games of a pair
+     */
+    public void setOpeningTurns(int openingTurns) {
+        this.openingTurns = openingTurns;
+    }
+
+    /**
+     * Play given number of pairs of games for every pair of players and every board size
+     */
+    public TournamentResult playRoundRobin(int pairsPerMatch, long seed) {
+        TournamentResult result = new TournamentResult(names);
+        List<int[]> matches = new ArrayList<>();
+        for (int player = 0; player < names.size(); player++) {
+            for (int opponent = player + 1; opponent < names.size(); opponent++) {
+                for (int tailleBoard : boardSizes) {
+                    for (int pair = 0; pair < pairsPerMatch; pair++) {
+                        matches.add(new int[]{player, opponent, tailleBoard});
+                    }
+                }
+            }
+        }
+        List<Future<double[]>> futures = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            int[] match = matches.get(i);
+            long pairSeed = seed + i;
+            futures.add(executor.submit(() -> playPair(match[0], match[1], match[2], pairSeed)));
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            int[] match = matches.get(i);
+            double[] scores = await(futures.get(i));
+            result.addGame(match[0], match[1], scores[0]);
+            result.addGame(match[0], match[1], scores[1]);
+        }
+        return result;
+    }
+
+    /**
+     * Play pairs of games between two players, board sizes taking turns, until the test is decided
+     *
+     * @param sprt     test of the candidate against the baseline, games are added to it
+     * @param maxPairs pairs after which the match stops even if the test goes on
+     * @return the given test
+     */
+    public Sprt playSprt(String candidate, String baseline, Sprt sprt, int maxPairs, long seed) {
+        int player = indexOf(candidate);
+        int opponent = indexOf(baseline);
+        CompletionService<double[]> completion = new ExecutorCompletionService<>(executor);
+        List<Future<double[]>> running = new ArrayList<>();
+        int submitted = 0;
+        try {
+            while (sprt.getStatus() == Sprt.Status.CONTINUE && (submitted < maxPairs || !running.isEmpty())) {
+                // keep every thread busy, as games in flight when the test ends are not counted
+                while (submitted < maxPairs && running.size() < threads) {
+                    int tailleBoard = boardSizes[submitted % boardSizes.length];
+                    long pairSeed = seed + submitted;
+                    running.add(completion.submit(() -> playPair(player, opponent, tailleBoard, pairSeed)));
+                    submitted++;
+                }
+                Future<double[]> done = takeDone(completion);
+                running.remove(done);
+                double[] scores = await(done);
+                sprt.addGame(scores[0]);
+                sprt.addGame(scores[1]);
+            }
+        } finally {
+            for (Future<double[]> future : running) {
+                future.cancel(true);
+            }
+        }
+        return sprt;
+    }
+
+    private int indexOf(String name) {
+        int index = names.indexOf(name);
+        if (index < 0)
+            throw new IllegalArgumentException("Unknown player " + name);
+        return index;
+    }
+
+    /**
+     * @return scores of the first player with white then with black
+     */
+    private double[] playPair(int player, int opponent, int tailleBoard, long seed) {
+        BoardController opening = playOpening(tailleBoard, seed);
+        return new double[]{
+                score(playGame(factories.get(player).apply(seed), factories.get(opponent).apply(seed), opening)),
+                1 - score(playGame(factories.get(opponent).apply(seed), factories.get(player).apply(seed), opening))
+        };
+    }
+
+    /**
+     * @return game after {@link #setOpeningTurns(int)} random turns from the initial position
+     */
+    BoardController playOpening(int tailleBoard, long seed) {
+        BoardController opening = new BoardController(new Board(tailleBoard));
+        RandomPlayer random = new RandomPlayer(seed);
+        opening.setWhitePlayer(random);
+        opening.setBlackPlayer(random);
+        opening.playHeadless(openingTurns);
+        return opening;
+    }
+
+    /**
+     * @param opening position and moves the game starts from, left untouched
+     * @return the game once over or stopped at the turn limit
+     */
+    BoardController playGame(Player white, Player black, BoardController opening) {
+        BoardController game = new BoardController(new Board(opening.getBoard()));
+        game.setWhiteTurn(opening.isWhiteTurn());
+        game.setMoveHistory(new ArrayList<>(opening.getMoveHistory()));
+        game.setWhitePlayer(white);
+        game.setBlackPlayer(black);
+        game.playHeadless(maxTurns);
+        return game;
+    }
+
+    /**
+     * @return 1 if white won, 0.5 for a draw, 0 if black won
+     */
+    private static double score(BoardController game) {
+        Board board = game.getBoard();
+        if (board.didGameOver())
+            return board.doPawnsColorExist(true) ? 1 : 0;
+        if (board.generateLegalMoves(game.isWhiteTurn(), new MoveBuffer()) == 0)
+            // the side to play is blocked
+            return game.isWhiteTurn() ? 0 : 1;
+        return 0.5;
+    }
+
+    private static Future<double[]> takeDone(CompletionService<double[]> completion) {
+        try {
+            return completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while playing", e);
+        }
+    }
+
+    private static double[] await(Future<double[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while playing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Round robin between random, greedy and search players, then a test of the deeper search against the shallower
+     */
+    public static void main(String[] args) {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int[] boardSizes = args.length > 2 ? new int[args.length - 2] : new int[]{8, 10};
+        for (int i = 2; i < args.length; i++) {
+            boardSizes[i - 2] = Integer.parseInt(args[i]);
+        }
+
+        Tournament tournament = new Tournament(threads);
+        try {
+            tournament.setBoardSizes(boardSizes);
+            tournament.addPlayer("random", RandomPlayer::new);
+            tournament.addPlayer("greedy", GreedyCapturePlayer::new);
+            tournament.addPlayer("depth2", seed -> searchPlayer(2));
+            tournament.addPlayer("depth4", seed -> searchPlayer(4));
+            long start = System.nanoTime();
+            System.out.print(tournament.playRoundRobin(pairs, 0));
+            System.out.printf("Round robin in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            Sprt sprt = tournament.playSprt("depth4", "depth2", new Sprt(0, 50, 0.05, 0.05), 1000, 0);
+            System.out.println(sprt);
+            System.out.printf("Test in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        } finally {
+            tournament.shutdown();
+        }
+    }
+
+    private static Player searchPlayer(int maxDepth) {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(4));
+        engine.setMaxDepth(maxDepth);
+        return new EnginePlayer(engine, 1000);
+    }
+}
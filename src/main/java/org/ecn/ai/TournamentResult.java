@@ -0,0 +1,104 @@
+package org.ecn.ai;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Results of the games of a {@link Tournament}, per pair of players and whatever the colors
+ */
+public class TournamentResult {
+
+    private final String[] names;
+    /**
+     * <code>wins[i][j]</code> games won by player i against player j
+     */
+    private final long[][] wins;
+    private final long[][] draws;
+
+    TournamentResult(List<String> names) {
+        this.names = names.toArray(new String[0]);
+        this.wins = new long[names.size()][names.size()];
+        this.draws = new long[names.size()][names.size()];
+    }
+
+    /**
+     * @param score 1 if the first player won, 0.5 for a draw, 0 if the second player won
+     */
+    synchronized void addGame(int player, int opponent, double score) {
+        if (score > 0.5) {
+            wins[player][opponent]++;
+        } else if (score < 0.5) {
+            wins[opponent][player]++;
+        } else {
+            draws[player][opponent]++;
+            draws[opponent][player]++;
+        }
+    }
+
+    public List<String> getNames() {
+        return Arrays.asList(names.clone());
+    }
+
+    public synchronized long getWins(int player, int opponent) {
+        return wins[player][opponent];
+    }
+
+    public synchronized long getDraws(int player, int opponent) {
+        return draws[player][opponent];
+    }
+
+    public synchronized long getGames(int player, int opponent) {
+        return wins[player][opponent] + wins[opponent][player] + draws[player][opponent];
+    }
+
+    /**
+     * @return Elo of the first player over the second one, from their games together
+     */
+    public synchronized Elo getElo(int player, int opponent) {
+        return Elo.fromResults(wins[player][opponent], draws[player][opponent], wins[opponent][player]);
+    }
+
+    /**
+     * @return Elo of a player over the average of its opponents, from all its games
+     */
+    public synchronized Elo getElo(int player) {
+        long playerWins = 0;
+        long playerDraws = 0;
+        long playerLosses = 0;
+        for (int opponent = 0; opponent < names.length; opponent++) {
+            playerWins += wins[player][opponent];
+            playerDraws += draws[player][opponent];
+            playerLosses += wins[opponent][player];
+        }
+        return Elo.fromResults(playerWins, playerDraws, playerLosses);
+    }
+
+    /**
+     * @return table of the results of each pair followed by the Elo of each player
+     */
+    @Override
+    public synchronized String toString() {
+        int width = 8;
+        for (String name : names) {
+            width = Math.max(width, name.length() + 1);
+        }
+        StringBuilder st = new StringBuilder(String.format(Locale.ROOT, "%-" + width + "s", ""));
+        for (String name : names) {
+            st.append(String.format(Locale.ROOT, "%" + width + "s", name));
+        }
+        st.append('\n');
+        for (int player = 0; player < names.length; player++) {
+            st.append(String.format(Locale.ROOT, "%-" + width + "s", names[player]));
+            for (int opponent = 0; opponent < names.length; opponent++) {
+                st.append(String.format(Locale.ROOT, "%" + width + "s", player == opponent ? "-"
+                        : wins[player][opponent] + "/" + draws[player][opponent] + "/" + wins[opponent][player]));
+            }
+            st.append('\n');
+        }
+        for (int player = 0; player < names.length; player++) {
+            st.append(String.format(Locale.ROOT, "%-" + width + "s", names[player])).append(getElo(player)).append('\n');
+        }
+        return st.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package org.ecn.ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size table of search results indexed by {@link org.ecn.Board#getZobristKey()}, shared by search threads
+ * without any lock.
+ * <p>
+ * Each entry is two longs: the packed data and the key xor the data. Concurrent writes to the same slot may tear
+ * an entry, but a torn entry no longer verifies against the probed key and reads as a miss.
+ * <p>
+ * Data is packed as follows:
+ * <pre>
+ *     bits  0 - 23 : best move as encoded in {@link org.ecn.MoveBuffer}
+ *     bits 24 - 31 : depth of the search
+ *     bits 32 - 33 : bound of the score, one of {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+ *     bit  34      : set for every stored entry, so that 0 means no entry
+ *     bits 48 - 63 : score, signed
+ * </pre>
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final long MOVE_MASK = 0xFFFFFFL;
+    private static final long VALID_BIT = 1L << 34;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int indexMask;
+
+    /**
+     * @param megabytes memory budget of the table, rounded down to a power of two number of entries
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB, got " + megabytes);
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        int capacity = (int) Math.min(entries, 1 << 30);
+        keys = new long[capacity];
+        data = new long[capacity];
+        indexMask = capacity - 1;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Store a search result, replacing the entry of the slot unless it holds a deeper result for the same position
+     *
+     * @param key   Zobrist key of the position
+     * @param move  best move found, 0 if none
+     * @param depth remaining depth of the search, from 0 to 255
+     * @param bound one of {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param score score of the position, fitting in a short
+     */
+    public void store(long key, int move, int depth, int bound, int score) {
+        int index = index(key);
+        long previous = data[index];
+        if ((keys[index] ^ previous) == key && depth(previous) > depth) {
+            return;
+        }
+        long entry = (move & MOVE_MASK)
+                | (long) (depth & 0xFF) << 24
+                | (long) (bound & 0x3) << 32
+                | VALID_BIT
+                | (long) score << 48;
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    /**
+     * @param key Zobrist key of the position
+     * @return packed entry stored for this position, to read with the static accessors, or 0 if none
+     */
+    public long probe(long key) {
+        int index = index(key);
+        long entry = data[index];
+        return (keys[index] ^ entry) == key ? entry : 0L;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    private int index(long key) {
+        return (int) (key ^ key >>> 32) & indexMask;
+    }
+
+    public static boolean isHit(long entry) {
+        return (entry & VALID_BIT) != 0;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 24) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 32) & 0x3;
+    }
+
+    public static int score(long entry) {
+        return (int) (entry >> 48);
+    }
+}
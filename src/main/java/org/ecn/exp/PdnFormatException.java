@@ -0,0 +1,10 @@
+package org.ecn.exp;
+
+/**
+ * Exception elevated when a PDN game cannot be read or one of its moves is not allowed.
+ */
+public class PdnFormatException extends Exception{
+    public PdnFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,108 @@
+package org.ecn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoSaveServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void coalesceSaves() throws IOException {
+        File targetFile = tempDir.resolve("autosave.json").toFile();
+        BoardController boardController = new BoardController(new Board(10), "Joueur 1", "Joueur 2");
+        boardController.getBoard().setGameEventListener(null);
+        MoveBuffer moves = new MoveBuffer();
+        boolean isWhiteTurn = false;
+        // the writer is held until every save is taken
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        writer.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try (AutoSaveService autoSave = new AutoSaveService(targetFile, false, writer)) {
+            for (int ply = 0; ply < 200 && boardController.getBoard().generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                isWhiteTurn ^= boardController.getBoard().playMove(moves.get(ply % moves.size()));
+                boardController.setWhiteTurn(isWhiteTurn);
+                autoSave.save(boardController);
+            }
+            assertEquals(0, autoSave.getWriteCount());
+            release.countDown();
+            autoSave.flush();
+            System.out.println(autoSave.getSaveCount() + " saves, " + autoSave.getWriteCount() + " writes");
+            assertTrue(autoSave.getSaveCount() > 1);
+            assertEquals(1, autoSave.getWriteCount());
+            assertEquals(boardController, GameSaver.loadGame(targetFile));
+
+            // binary snapshots are written by another service, on the same file
+            boardController.setSecondPlayerName("Joueur 3");
+            try (AutoSaveService binaryAutoSave = new AutoSaveService(targetFile, true)) {
+                binaryAutoSave.save(boardController);
+                assertTrue(binaryAutoSave.await(10_000));
+            }
+            assertEquals(boardController, GameSaver.loadGame(targetFile));
+        }
+        // no temporary file left
+        assertArrayEquals(new String[]{"autosave.json"}, tempDir.toFile().list());
+    }
+
+    @Test
+    void concurrentWritesOfSameTarget() throws Exception {
+        Path target = tempDir.resolve("shared.bin");
+        byte[][] contents = new byte[4][];
+        ExecutorService writers = Executors.newFixedThreadPool(contents.length);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < contents.length; i++) {
+                byte[] bytes = new byte[1000];
+                Arrays.fill(bytes, (byte) i);
+                contents[i] = bytes;
+                futures.add(writers.submit(() -> {
+                    for (int write = 0; write < 50; write++) {
+                        GameSaver.writeAtomically(bytes, target);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+        byte[] written = Files.readAllBytes(target);
+        assertTrue(Arrays.stream(contents).anyMatch(bytes -> Arrays.equals(bytes, written)));
+        assertArrayEquals(new String[]{"shared.bin"}, tempDir.toFile().list());
+    }
+
+    @Test
+    void reportWriteErrors() throws IOException {
+        File targetFile = tempDir.resolve("missing").resolve("autosave.json").toFile();
+        try (AutoSaveService autoSave = new AutoSaveService(targetFile, false)) {
+            autoSave.save(new BoardController(new Board(8)));
+            assertThrows(IOException.class, autoSave::flush);
+            // error is reported once
+            autoSave.flush();
+            assertEquals(0, autoSave.getWriteCount());
+        }
+    }
+}
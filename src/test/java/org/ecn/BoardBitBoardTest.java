@@ -0,0 +1,48 @@
+package org.ecn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replay all {@link BoardTest} scenarios with the bitboard engine
+ */
+class BoardBitBoardTest extends BoardTest {
+
+    @Override
+    Board.Engine engine() {
+        return Board.Engine.BITBOARD;
+    }
+
+    @Test
+    void attackQueriesMatchArrayEngine() {
+        Random random = new Random(42);
+        int[] pieces = {Board.EMPTY_PLACE, Board.BLACK_PAWN, Board.BLACK_QUEEN, Board.WHITE_PAWN, Board.WHITE_QUEEN, Board.DEAD_PAWN};
+        for (int tailleBoard = 4; tailleBoard <= 14; tailleBoard++) {
+            for (int round = 0; round < 50; round++) {
+                Board arrayBoard = new Board(tailleBoard, Board.Engine.ARRAY);
+                Board bitBoard = new Board(tailleBoard, Board.Engine.BITBOARD);
+                arrayBoard.clearBoard();
+                bitBoard.clearBoard();
+                for (int i = 1; i <= tailleBoard; i++) {
+                    for (int j = 1; j <= tailleBoard; j++) {
+                        int piece = random.nextInt(3) == 0 ? pieces[random.nextInt(pieces.length)] : Board.EMPTY_PLACE;
+                        arrayBoard.setPiece(i, j, piece);
+                        bitBoard.setPiece(i, j, piece);
+                    }
+                }
+                assertEquals(arrayBoard.getAttackersList(true), bitBoard.getAttackersList(true));
+                assertEquals(arrayBoard.getAttackersList(false), bitBoard.getAttackersList(false));
+                assertEquals(arrayBoard.didGameOver(), bitBoard.didGameOver());
+                for (int i = 1; i <= tailleBoard; i++) {
+                    for (int j = 1; j <= tailleBoard; j++) {
+                        assertEquals(arrayBoard.getAttackPossibilitiesList(i, j), bitBoard.getAttackPossibilitiesList(i, j),
+                                "Attack possibilities differ at " + BoardLocation.prettyPrint(i, j));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.ecn;
+
+import org.ecn.ai.EnginePlayer;
+import org.ecn.ai.GreedyCapturePlayer;
+import org.ecn.ai.ParallelSearch;
+import org.ecn.ai.RandomPlayer;
+import org.ecn.ai.SearchEngine;
+import org.ecn.ai.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardControllerTest {
+
+    @Test
+    void playHeadlessGames() {
+        long start = System.nanoTime();
+        int totalTurns = 0;
+        for (int g = 0; g < 50; g++) {
+            BoardController game = new BoardController(new Board(10));
+            game.setWhitePlayer(new RandomPlayer(g));
+            game.setBlackPlayer(new GreedyCapturePlayer(g));
+            int turns = game.playHeadless(300);
+            totalTurns += turns;
+            assertTrue(turns == 300 || game.getBoard().didGameOver() || game.getBoard().generateLegalMoves(game.isWhiteTurn(), new MoveBuffer()) == 0);
+
+            // the same moves replayed by a script reach the same position
+            List<Integer> moveHistory = game.getMoveHistory();
+            int[] moves = new int[moveHistory.size()];
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = moveHistory.get(i);
+            }
+            ScriptedPlayer script = new ScriptedPlayer(moves);
+            BoardController replay = new BoardController(new Board(10));
+            replay.setWhitePlayer(script);
+            replay.setBlackPlayer(script);
+            assertEquals(turns, replay.playHeadless(turns));
+            assertEquals(0, script.getRemainingMoves());
+            assertEquals(game.getBoard(), replay.getBoard());
+        }
+        System.out.printf("%d headless turns in %.1f ms%n", totalTurns, (System.nanoTime() - start) / 1e6);
+    }
+
+    @Test
+    void greedyPlayerTakesLongestChain() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        board.setPiece(4, 4, Board.BLACK_PAWN);
+        board.setPiece(4, 6, Board.BLACK_PAWN);
+        board.setPiece(2, 6, Board.BLACK_PAWN);
+        board.setPiece(9, 9, Board.BLACK_PAWN);
+        BoardController game = new BoardController(board);
+        game.setHeadless(true);
+        assertEquals(2, game.playTurn(new GreedyCapturePlayer(1), true));
+        assertEquals(Board.WHITE_QUEEN, board.getPiece(1, 5));
+    }
+
+    @Test
+    void enginePlayerFinishesChain() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        BoardController game = new BoardController(board);
+        SearchEngine engine = new SearchEngine(new TranspositionTable(4));
+        engine.setMaxDepth(4);
+        game.setBlackPlayer(new EnginePlayer(engine, 1000));
+        game.setWhitePlayer(new RandomPlayer(1));
+        assertEquals(1, game.playHeadless(10));
+        assertTrue(game.getBoard().didGameOver());
+        assertEquals(2, game.getMoveHistory().size());
+        assertFalse(game.isHeadless());
+    }
+
+    @Test
+    void parallelEnginePlayerFinishesChain() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        BoardController game = new BoardController(board);
+        ParallelSearch search = new ParallelSearch(2, new TranspositionTable(4));
+        search.setMaxDepth(4);
+        try {
+            game.setBlackPlayer(new EnginePlayer(search, 1000));
+            game.setWhitePlayer(new RandomPlayer(1));
+            assertEquals(1, game.playHeadless(10));
+            assertTrue(game.getBoard().didGameOver());
+            assertEquals(2, game.getMoveHistory().size());
+        } finally {
+            search.shutdown();
+        }
+    }
+
+    @Test
+    void computerPlaysChainWithMovingPiece() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        board.setPiece(6, 2, Board.BLACK_PAWN);
+        board.setPiece(7, 3, Board.WHITE_QUEEN);
+        BoardController game = new BoardController(board);
+        SearchEngine engine = new SearchEngine(new TranspositionTable(4));
+        engine.setMaxDepth(4);
+        game.setBlackPlayer(new EnginePlayer(engine, 1000));
+        game.playNextTurn(false);
+
+        List<Integer> moveHistory = game.getMoveHistory();
+        assertFalse(moveHistory.isEmpty());
+        for (int k = 1; k < moveHistory.size(); k++) {
+            assertEquals(MoveBuffer.to(moveHistory.get(k - 1)), MoveBuffer.from(moveHistory.get(k)));
+        }
+    }
+
+    @Test
+    void scriptedPlayerRejectsIllegalMove() {
+        BoardController game = new BoardController(new Board(10));
+        game.setHeadless(true);
+        ScriptedPlayer script = new ScriptedPlayer(MoveBuffer.encode(BoardLocation.toSquare(7, 2), BoardLocation.toSquare(5, 4), 0));
+        assertThrows(IllegalStateException.class, () -> game.playTurn(script, true));
+    }
+
+    @Test
+    void playBatchScript() {
+        // record a game as the moves a user would type
+        Board played = new Board(10);
+        played.setGameEventListener(null);
+        StringBuilder script = new StringBuilder("# row col direction steps\n");
+        Random random = new Random(7);
+        MoveBuffer moves = new MoveBuffer();
+        boolean isWhiteTurn = false;
+        int movingSquare = 0;
+        int moveCount = 0;
+        while (moveCount < 400 && played.generateLegalMoves(isWhiteTurn, movingSquare, moves) > 0) {
+            int move = moves.get(random.nextInt(moves.size()));
+            int row = BoardLocation.squareRow(MoveBuffer.from(move));
+            int col = BoardLocation.squareCol(MoveBuffer.from(move));
+            script.append(row).append(' ').append(col).append(' ').append(MoveBuffer.direction(move)).append(' ')
+                    .append(played.isNormalPawn(row, col) ? 1 : MoveBuffer.steps(move)).append('\n');
+            moveCount++;
+            boolean didTurnEnd = played.playMove(move);
+            isWhiteTurn ^= didTurnEnd;
+            movingSquare = didTurnEnd ? 0 : MoveBuffer.to(move);
+        }
+
+        try {
+            InputIntegerUtils.setInput(new StringReader(script.toString()));
+            BoardController game = new BoardController(new Board(10));
+            long start = System.nanoTime();
+            assertEquals(moveCount, game.playBatch());
+            System.out.printf("%d moves replayed in %.1f ms%n", moveCount, (System.nanoTime() - start) / 1e6);
+            assertEquals(played, game.getBoard());
+            assertEquals(isWhiteTurn, game.isWhiteTurn());
+            assertFalse(game.isHeadless());
+
+            // white cannot play first
+            InputIntegerUtils.setInput(new StringReader("7 2 9 1\n"));
+            assertThrows(IllegalArgumentException.class, () -> new BoardController(new Board(10)).playBatch());
+
+            // a chain of attacks goes on with the pawn that moved, not with the other pawn able to eat
+            Board chain = new Board(10);
+            chain.clearBoard();
+            chain.setPiece(2, 2, Board.BLACK_PAWN);
+            chain.setPiece(3, 3, Board.WHITE_PAWN);
+            chain.setPiece(5, 5, Board.WHITE_PAWN);
+            chain.setPiece(6, 2, Board.BLACK_PAWN);
+            chain.setPiece(7, 3, Board.WHITE_QUEEN);
+            InputIntegerUtils.setInput(new StringReader("2 2 3 1\n6 2 3 1\n"));
+            Exception e = assertThrows(IllegalArgumentException.class, () -> new BoardController(chain).playBatch());
+            assertEquals("Move 2: the turn goes on with the piece at " + BoardLocation.prettyPrint(4, 4), e.getMessage());
+
+            // the pawn at 8, 2 may step, but the pawn at 5, 5 must eat
+            Board obligation = new Board(10);
+            obligation.clearBoard();
+            obligation.setPiece(5, 5, Board.WHITE_PAWN);
+            obligation.setPiece(8, 2, Board.WHITE_PAWN);
+            obligation.setPiece(4, 4, Board.BLACK_PAWN);
+            BoardController whiteToPlay = new BoardController(obligation);
+            whiteToPlay.setWhiteTurn(true);
+            InputIntegerUtils.setInput(new StringReader("8 2 9 1\n"));
+            e = assertThrows(IllegalArgumentException.class, whiteToPlay::playBatch);
+            assertEquals("Move 1: another piece must eat", e.getMessage());
+            assertEquals(Board.WHITE_PAWN, obligation.getPiece(8, 2));
+        } finally {
+            InputIntegerUtils.setInput(System.in);
+        }
+    }
+}
@@ -9,6 +9,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class BoardTest {
@@ -18,9 +22,16 @@ class BoardTest {
     int whitePawnRow;
     int whitePawnCol;
 
+    /**
+     * Engine under test, scenarios are replayed against each engine by subclasses
+     */
+    Board.Engine engine() {
+        return Board.Engine.ARRAY;
+    }
+
     @BeforeEach
     void setUp() {
-        this.board = new Board(10);
+        this.board = new Board(10, engine());
         System.out.println(Board.prettyPrintLegend());
         System.out.println("Allowed directions as numpad:\n" +
                 "7\t-\t9" + "\n" +
@@ -31,8 +42,8 @@ class BoardTest {
         blackQueenCol = 1;
         whitePawnRow = 5;
         whitePawnCol = 5;
-        board.getBoardArray()[whitePawnRow][whitePawnCol] = Board.WHITE_PAWN;
-        board.getBoardArray()[blackQueenRow][blackQueenCol] = Board.BLACK_QUEEN;
+        board.setPiece(whitePawnRow, whitePawnCol, Board.WHITE_PAWN);
+        board.setPiece(blackQueenRow, blackQueenCol, Board.BLACK_QUEEN);
     }
 
     @AfterEach
@@ -65,7 +76,7 @@ class BoardTest {
         // adding white pawn at top right
         whitePawnRow = 2;
         whitePawnCol = 10;
-        board.getBoardArray()[whitePawnRow][whitePawnCol] = Board.WHITE_PAWN;
+        board.setPiece(whitePawnRow, whitePawnCol, Board.WHITE_PAWN);
         System.out.println(board);
         Exception exception;
         try {
@@ -97,7 +108,7 @@ class BoardTest {
         try {
             // Eat obligation rules test
             // add black pawn at position 4, 4
-            board.getBoardArray()[4][4] = Board.BLACK_PAWN;
+            board.setPiece(4, 4, Board.BLACK_PAWN);
             System.out.println(board);
 
             // test to eat added black pawn from 5, 5 location
@@ -109,7 +120,7 @@ class BoardTest {
             // add black pawn at position 3, 3
             System.out.println();
             System.out.println("Adding black pawn at 3,3");
-            board.getBoardArray()[3][3] = Board.BLACK_PAWN;
+            board.setPiece(3, 3, Board.BLACK_PAWN);
             System.out.println(board);
             // Trying to escape ensuring no more obligation is present as space is blocked by added pawn
             System.out.println("Direction 3 from 5, 5");
@@ -208,7 +219,7 @@ class BoardTest {
         // add white pawn at position 4, 2
         // and so chain will be eating 4,2 to 3,3
         // then eating 5,5 to 6,6
-        board.getBoardArray()[4][2] = Board.WHITE_PAWN;
+        board.setPiece(4, 2, Board.WHITE_PAWN);
         System.out.println(board);
 
         try {
@@ -235,4 +246,442 @@ class BoardTest {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateLegalMovesTest() {
+        MoveBuffer moves = new MoveBuffer(4);
+        // black queen at 5, 1 walks on diagonals 9 (4 places) and 3 (5 places)
+        assertEquals(9, board.generateLegalMoves(false, moves));
+        // white pawn at 5, 5 moves one step in each diagonal direction
+        assertEquals(4, board.generateLegalMoves(true, moves));
+
+        // black pawn at 4, 4 must be eaten by the white pawn: it becomes the only legal move
+        board.setPiece(4, 4, Board.BLACK_PAWN);
+        assertEquals(1, board.generateLegalMoves(true, moves));
+        int move = moves.get(0);
+        assertEquals(BoardLocation.toSquare(5, 5), MoveBuffer.from(move));
+        assertEquals(BoardLocation.toSquare(3, 3), MoveBuffer.to(move));
+        assertEquals(BoardLocation.toSquare(4, 4), MoveBuffer.captured(move));
+        assertEquals(7, MoveBuffer.direction(move));
+        assertEquals(2, MoveBuffer.steps(move));
+
+        // black queen eats the white pawn from distance and can land on 6, 6 up to 10, 10
+        board.setPiece(4, 4, Board.EMPTY_PLACE);
+        board.setPiece(3, 3, Board.BLACK_QUEEN);
+        assertEquals(5, board.generateLegalMoves(false, moves));
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(BoardLocation.toSquare(5, 5), MoveBuffer.captured(moves.get(i)));
+        }
+    }
+
+    @Test
+    void onlyMovingPieceGoesOnWithTurn() {
+        MoveBuffer moves = new MoveBuffer();
+        board.setPiece(4, 4, Board.BLACK_PAWN);
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(8, 8, Board.WHITE_PAWN);
+        board.setPiece(7, 7, Board.BLACK_PAWN);
+        assertEquals(2, board.generateLegalMoves(true, moves));
+        assertEquals(moves.size(), board.generateLegalMoves(true, 0, new MoveBuffer()));
+
+        int first = MoveBuffer.encode(BoardLocation.toSquare(5, 5), BoardLocation.toSquare(3, 3), BoardLocation.toSquare(4, 4));
+        assertFalse(board.playMove(first));
+        // the pawn at 8, 8 could still eat, but the turn belongs to the pawn that moved
+        assertEquals(2, board.generateLegalMoves(true, moves));
+        assertEquals(1, board.generateLegalMoves(true, MoveBuffer.to(first), moves));
+        assertEquals(BoardLocation.toSquare(3, 3), MoveBuffer.from(moves.get(0)));
+        assertEquals(BoardLocation.toSquare(2, 2), MoveBuffer.captured(moves.get(0)));
+        assertEquals(0, board.generateLegalMoves(false, MoveBuffer.to(first), moves));
+    }
+
+    @Test
+    void playMoveMatchesMoveItem() throws InvalidDirectionException, OutOfBoardException, EatObligationException {
+        Random random = new Random(7);
+        MoveBuffer moves = new MoveBuffer();
+        for (int game = 0; game < 5; game++) {
+            Board played = new Board(8, engine());
+            Board moved = new Board(8, engine());
+            boolean isWhiteTurn = false;
+            for (int ply = 0; ply < 200 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                int move = moves.get(random.nextInt(moves.size()));
+                boolean didTurnEnd = played.playMove(move);
+                assertEquals(didTurnEnd, moved.moveItem(BoardLocation.squareRow(MoveBuffer.from(move)),
+                        BoardLocation.squareCol(MoveBuffer.from(move)), MoveBuffer.direction(move), MoveBuffer.steps(move)));
+                assertEquals(moved, played);
+                isWhiteTurn ^= didTurnEnd;
+            }
+        }
+    }
+
+    @Test
+    void unmakeMoveRestoresBoard() {
+        Random random = new Random(11);
+        MoveBuffer moves = new MoveBuffer();
+        for (int game = 0; game < 5; game++) {
+            Board played = new Board(10, engine());
+            Deque<Board> snapshots = new ArrayDeque<>();
+            boolean isWhiteTurn = false;
+            for (int ply = 0; ply < 300 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                snapshots.push(new Board(played));
+                isWhiteTurn ^= played.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+            assertEquals(snapshots.size(), played.getMadeMovesCount());
+            // revert the whole game, captures, dead pawns and promotions included
+            while (!snapshots.isEmpty()) {
+                played.unmakeMove();
+                Board expected = snapshots.pop();
+                assertEquals(expected, played);
+                assertEquals(expected.getAttackersList(true), played.getAttackersList(true));
+                assertEquals(expected.getAttackersList(false), played.getAttackersList(false));
+            }
+            assertEquals(new Board(10, engine()), played);
+        }
+        assertThrows(IllegalStateException.class, () -> board.unmakeMove());
+    }
+
+    @Test
+    void zobristKeyFollowsMoves() throws InvalidDirectionException, OutOfBoardException, EatObligationException {
+        Random random = new Random(5);
+        MoveBuffer moves = new MoveBuffer();
+        Board played = new Board(10, engine());
+        long initialKey = played.getZobristKey();
+        assertEquals(Zobrist.computeKey(played.getBoardArray()), initialKey);
+        boolean isWhiteTurn = false;
+        for (int ply = 0; ply < 300 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+            int move = moves.get(random.nextInt(moves.size()));
+            // captures, dead pawns clearance and promotions included
+            isWhiteTurn ^= played.moveItem(BoardLocation.squareRow(MoveBuffer.from(move)), BoardLocation.squareCol(MoveBuffer.from(move)),
+                    MoveBuffer.direction(move), MoveBuffer.steps(move));
+            assertEquals(Zobrist.computeKey(played.getBoardArray()), played.getZobristKey());
+            assertEquals(played.hashCode(), new Board(played).hashCode());
+        }
+        assertNotEquals(initialKey, played.getZobristKey());
+
+        played.setBoardArray(new Board(10).getBoardArray());
+        assertEquals(initialKey, played.getZobristKey());
+    }
+
+    @Test
+    void boardArrayIsCopied() {
+        Board board = new Board(10, engine());
+        Board initial = new Board(board);
+        board.getBoardArray()[4][4] = Board.WHITE_QUEEN;
+        assertEquals(initial, board);
+
+        int[][] pieces = initial.getBoardArray();
+        board.setBoardArray(pieces);
+        pieces[4][4] = Board.WHITE_QUEEN;
+        assertEquals(Board.EMPTY_PLACE, board.getPiece(4, 4));
+        assertEquals(initial.getZobristKey(), board.getZobristKey());
+    }
+
+    @Test
+    void pieceCountsFollowMoves() {
+        Random random = new Random(13);
+        MoveBuffer moves = new MoveBuffer();
+        Board played = new Board(10, engine());
+        assertEquals(20, played.getPieceCount(Board.BLACK_PAWN));
+        assertEquals(20, played.getPieceCount(Board.WHITE_PAWN));
+        boolean isWhiteTurn = false;
+        for (int ply = 0; ply < 400 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+            isWhiteTurn ^= played.makeMove(moves.get(random.nextInt(moves.size())));
+            assertCountsMatchBoard(played);
+        }
+        while (played.getMadeMovesCount() > 0) {
+            played.unmakeMove();
+            assertCountsMatchBoard(played);
+        }
+        assertEquals(20, played.getPieceCount(Board.BLACK_PAWN));
+
+        played.clearBoard();
+        assertTrue(played.didGameOver());
+        played.setPiece(1, 1, Board.WHITE_QUEEN);
+        assertTrue(played.doPawnsColorExist(true));
+        assertFalse(played.doPawnsColorExist(false));
+        assertEquals("White pawns win!", played.prettyPrintWinningColor());
+    }
+
+    @Test
+    void attackersListFollowsMoves() {
+        Random random = new Random(17);
+        MoveBuffer moves = new MoveBuffer();
+        for (int game = 0; game < 5; game++) {
+            Board played = new Board(10, engine());
+            boolean isWhiteTurn = false;
+            for (int ply = 0; ply < 300 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                isWhiteTurn ^= played.makeMove(moves.get(random.nextInt(moves.size())));
+                // skipped queries let changes pile up between two refreshes
+                if (random.nextInt(4) == 0)
+                    continue;
+                // a copy computes its attackers from scratch
+                Board scanned = new Board(played);
+                assertEquals(scanned.getAttackersList(true), played.getAttackersList(true));
+                assertEquals(scanned.getAttackersList(false), played.getAttackersList(false));
+            }
+            while (played.getMadeMovesCount() > 0) {
+                played.unmakeMove();
+                Board scanned = new Board(played);
+                assertEquals(scanned.getAttackersList(isWhiteTurn), played.getAttackersList(isWhiteTurn));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, Board.MAX_SIZE + 1})
+    void rejectUnsupportedSize(int tailleBoard) {
+        board = null;
+        Exception e = assertThrows(IllegalArgumentException.class, () -> new Board(tailleBoard, engine()));
+        assertEquals("Board size must be from 1 to 15, got " + tailleBoard, e.getMessage());
+    }
+
+    @Test
+    void rejectSizeUnsupportedByEngine() {
+        Exception e = assertThrows(IllegalArgumentException.class, () -> new Board(15, Board.Engine.BITBOARD));
+        assertEquals("Engine BITBOARD supports board size from 1 to 14, got 15", e.getMessage());
+
+        Board large = new Board(15, Board.Engine.ARRAY);
+        assertThrows(IllegalArgumentException.class, () -> large.setEngine(Board.Engine.BITBOARD));
+        Board small = new Board(14, Board.Engine.BITBOARD);
+        assertThrows(IllegalArgumentException.class, () -> small.setTailleBoard(15));
+        assertEquals(Board.Engine.ARRAY, large.getEngine());
+        assertEquals(14, small.getTailleBoard());
+    }
+
+    @Test
+    void tryMoveReportsRuleViolations() {
+        Board initial = new Board(board);
+        assertEquals(MoveResult.INVALID_DIRECTION, board.tryMove(whitePawnRow, whitePawnCol, 2, 1));
+        assertEquals(MoveResult.NO_PIECE, board.tryMove(6, 6, 7, 1));
+        assertEquals(MoveResult.OUT_OF_BOARD, board.tryMove(blackQueenRow, blackQueenCol, 1, 1));
+        assertTrue(board.getMoveDiagnostic().contains("out of the board"));
+        assertEquals(initial, board);
+
+        board.setPiece(4, 4, Board.BLACK_PAWN);
+        board.setPiece(4, 6, Board.WHITE_PAWN);
+        board.setPiece(6, 6, Board.WHITE_PAWN);
+        initial = new Board(board);
+        assertEquals(MoveResult.EAT_OBLIGATION, board.tryMove(whitePawnRow, whitePawnCol, 9, 1));
+        assertTrue(board.getMoveDiagnostic().startsWith("Eat obligation exist at positions"));
+        assertEquals(MoveResult.OCCUPIED, board.tryMove(4, 6, 1, 1));
+        assertEquals(MoveResult.CANNOT_ATTACK, board.tryMove(4, 4, 3, 1));
+        assertEquals("Cannot Attack [5, 5] as next position isn't available!", board.getMoveDiagnostic());
+        assertEquals(initial, board);
+
+        assertEquals(MoveResult.OK, board.tryMove(whitePawnRow, whitePawnCol, 7, 1));
+        assertEquals(Board.WHITE_PAWN, board.getBoardArray()[3][3]);
+        assertEquals(Board.EMPTY_PLACE, board.getBoardArray()[4][4]);
+    }
+
+    @Test
+    void queenStopsAtBorderAfterEating() throws InvalidDirectionException, OutOfBoardException, EatObligationException {
+        board.setPiece(6, 2, Board.WHITE_PAWN);
+        assertEquals(MoveResult.EAT_OUT_OF_REACH, board.tryMove(blackQueenRow, blackQueenCol, 3, 1));
+        // steps beyond the border are discarded instead of failing once the pawn is eaten
+        assertTrue(board.moveItem(blackQueenRow, blackQueenCol, 3, 10));
+        assertEquals(Board.BLACK_QUEEN, board.getBoardArray()[10][6]);
+        assertEquals(Board.EMPTY_PLACE, board.getBoardArray()[6][2]);
+        assertEquals(1, board.getPieceCount(Board.WHITE_PAWN));
+    }
+
+    @Test
+    void checkMoveMatchesPlayMove() {
+        Random random = new Random(19);
+        MoveBuffer moves = new MoveBuffer();
+        for (int game = 0; game < 5; game++) {
+            Board played = new Board(10, engine());
+            Board tried = new Board(10, engine());
+            boolean isWhiteTurn = false;
+            for (int ply = 0; ply < 300 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                for (int i = 0; i < moves.size(); i++) {
+                    int move = moves.get(i);
+                    assertTrue(tried.checkMove(BoardLocation.squareRow(MoveBuffer.from(move)), BoardLocation.squareCol(MoveBuffer.from(move)),
+                            MoveBuffer.direction(move), MoveBuffer.steps(move)).isMade());
+                    assertEquals(played, tried);
+                }
+                int move = moves.get(random.nextInt(moves.size()));
+                boolean didTurnEnd = played.playMove(move);
+                MoveResult result = tried.tryMove(BoardLocation.squareRow(MoveBuffer.from(move)), BoardLocation.squareCol(MoveBuffer.from(move)),
+                        MoveBuffer.direction(move), MoveBuffer.steps(move));
+                assertEquals(didTurnEnd ? MoveResult.OK : MoveResult.TURN_CONTINUES, result);
+                assertEquals(played, tried);
+                isWhiteTurn ^= didTurnEnd;
+            }
+        }
+    }
+
+    @Test
+    void gameEventsFollowMoves() {
+        StringBuilder events = new StringBuilder();
+        GameEventListener recorder = new GameEventListener() {
+            @Override
+            public void moved(int fromRow, int fromCol, int toRow, int toCol) {
+                events.append("moved ").append(toRow).append(',').append(toCol).append(';');
+            }
+
+            @Override
+            public void captured(int row, int col) {
+                events.append("captured ").append(row).append(',').append(col).append(';');
+            }
+
+            @Override
+            public void promoted(int row, int col, boolean isWhite) {
+                events.append("promoted ").append(isWhite).append(';');
+            }
+
+            @Override
+            public void turnEnded(boolean isWhite) {
+                events.append("ended ").append(isWhite).append(';');
+            }
+        };
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setGameEventListener(recorder);
+        assertTrue(board.checkMove(3, 3, 7, 1).isMade());
+        assertEquals("", events.toString());
+
+        Board played = new Board(board);
+        assertEquals(MoveResult.OK, board.tryMove(3, 3, 7, 1));
+        assertEquals("captured 2,2;moved 1,1;promoted true;ended true;", events.toString());
+
+        events.setLength(0);
+        played.setGameEventListener(recorder);
+        assertTrue(played.playMove(MoveBuffer.encode(BoardLocation.toSquare(3, 3), BoardLocation.toSquare(1, 1), BoardLocation.toSquare(2, 2))));
+        assertEquals("captured 2,2;moved 1,1;promoted true;ended true;", events.toString());
+        assertEquals(board, played);
+    }
+
+    @Test
+    void captureSequencesFollowChains() {
+        CaptureSequences sequences = new CaptureSequences();
+        board.clearBoard();
+        board.setPiece(6, 2, Board.WHITE_PAWN);
+        board.setPiece(5, 3, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.BLACK_PAWN);
+        board.setPiece(3, 5, Board.BLACK_PAWN);
+        board.setPiece(3, 7, Board.BLACK_PAWN);
+        Board initial = new Board(board);
+        assertEquals(2, board.generateCaptureSequences(true, false, sequences));
+        assertEquals(3, sequences.getMaxLength());
+        assertEquals(1, board.generateCaptureSequences(true, true, sequences));
+        assertEquals(3, sequences.length(0));
+        assertEquals(BoardLocation.toSquare(4, 8), MoveBuffer.to(sequences.hop(0, 2)));
+        assertEquals(1, board.generateCaptureSequences(false, false, sequences));
+        assertEquals(initial, board);
+
+        // eaten pawns stay dead till the end of the turn: the pawn comes back to its place and cannot eat again
+        board.clearBoard();
+        board.setPiece(6, 4, Board.WHITE_PAWN);
+        board.setPiece(5, 3, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.BLACK_PAWN);
+        board.setPiece(3, 5, Board.BLACK_PAWN);
+        board.setPiece(5, 5, Board.BLACK_PAWN);
+        assertEquals(2, board.generateCaptureSequences(true, false, sequences));
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(4, sequences.length(i));
+            assertEquals(BoardLocation.toSquare(6, 4), MoveBuffer.to(sequences.hop(i, 3)));
+        }
+    }
+
+    @Test
+    void captureSequencesMatchPlayedMoves() {
+        Random random = new Random(23);
+        MoveBuffer moves = new MoveBuffer();
+        CaptureSequences sequences = new CaptureSequences();
+        CaptureSequences longest = new CaptureSequences();
+        for (int game = 0; game < 10; game++) {
+            Board played = new Board(10, engine());
+            boolean isWhiteTurn = false;
+            for (int ply = 0; ply < 300 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                Board initial = new Board(played);
+                int count = played.generateCaptureSequences(isWhiteTurn, false, sequences);
+                assertEquals(initial, played);
+                assertEquals(count > 0, MoveBuffer.isCapture(moves.get(0)));
+                for (int i = 0; i < count; i++) {
+                    // every hop but the last one lets the turn continue
+                    for (int k = 0; k < sequences.length(i); k++) {
+                        assertEquals(k == sequences.length(i) - 1, played.makeMove(sequences.hop(i, k)));
+                    }
+                    while (played.getMadeMovesCount() > 0) {
+                        played.unmakeMove();
+                    }
+                    assertEquals(initial, played);
+                }
+                played.generateCaptureSequences(isWhiteTurn, true, longest);
+                for (int i = 0; i < longest.size(); i++) {
+                    assertEquals(sequences.getMaxLength(), longest.length(i));
+                }
+                isWhiteTurn ^= played.playMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    @Test
+    void playCaptureSequenceIsAtomic() {
+        board.clearBoard();
+        board.setPiece(6, 2, Board.WHITE_PAWN);
+        board.setPiece(5, 3, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.BLACK_PAWN);
+        board.setPiece(3, 5, Board.BLACK_PAWN);
+        board.setPiece(3, 7, Board.BLACK_PAWN);
+        board.setPiece(9, 9, Board.BLACK_PAWN);
+        Board initial = new Board(board);
+        int from = BoardLocation.toSquare(6, 2);
+        assertEquals(MoveResult.EAT_OBLIGATION, board.playCaptureSequence(from, new int[]{BoardLocation.toSquare(5, 1)}));
+        assertEquals(MoveResult.INVALID_SEQUENCE, board.playCaptureSequence(from,
+                new int[]{BoardLocation.toSquare(4, 4), BoardLocation.toSquare(2, 2), BoardLocation.toSquare(4, 8)}));
+        assertEquals(MoveResult.INVALID_SEQUENCE, board.playCaptureSequence(from,
+                new int[]{BoardLocation.toSquare(4, 4), BoardLocation.toSquare(3, 4)}));
+        assertEquals(initial, board);
+
+        assertEquals(MoveResult.TURN_CONTINUES, board.playCaptureSequence(from, new int[]{BoardLocation.toSquare(4, 4)}));
+        assertEquals(Board.DEAD_PAWN, board.getBoardArray()[5][3]);
+        board = new Board(initial);
+        assertEquals(MoveResult.OK, board.playCaptureSequence(from,
+                new int[]{BoardLocation.toSquare(4, 4), BoardLocation.toSquare(2, 6), BoardLocation.toSquare(4, 8)}));
+        assertEquals(Board.WHITE_PAWN, board.getBoardArray()[4][8]);
+        assertEquals(Board.EMPTY_PLACE, board.getBoardArray()[5][3]);
+        assertEquals(2, board.getPieceCount(Board.BLACK_PAWN));
+        assertEquals(0, board.getMadeMovesCount());
+    }
+
+    @Test
+    void playCaptureSequenceMatchesHops() {
+        Random random = new Random(29);
+        MoveBuffer moves = new MoveBuffer();
+        CaptureSequences sequences = new CaptureSequences();
+        for (int game = 0; game < 10; game++) {
+            Board played = new Board(10, engine());
+            boolean isWhiteTurn = false;
+            for (int ply = 0; ply < 300 && played.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                for (int i = 0; i < played.generateCaptureSequences(isWhiteTurn, false, sequences); i++) {
+                    int[] hops = sequences.toArray(i);
+                    int[] path = new int[hops.length];
+                    Board hopped = new Board(played);
+                    for (int k = 0; k < hops.length; k++) {
+                        path[k] = MoveBuffer.to(hops[k]);
+                        hopped.playMove(hops[k]);
+                    }
+                    Board sequenced = new Board(played);
+                    assertEquals(MoveResult.OK, sequenced.playCaptureSequence(MoveBuffer.from(hops[0]), path));
+                    assertEquals(hopped, sequenced);
+                }
+                isWhiteTurn ^= played.playMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    private static void assertCountsMatchBoard(Board played) {
+        int[] counts = new int[Board.WHITE_QUEEN + 1];
+        for (int[] row : played.getBoardArray()) {
+            for (int piece : row) {
+                if (piece > Board.EMPTY_PLACE)
+                    counts[piece]++;
+            }
+        }
+        for (int piece = Board.BLACK_PAWN; piece <= Board.WHITE_QUEEN; piece++) {
+            assertEquals(counts[piece], played.getPieceCount(piece));
+        }
+        assertEquals(counts[Board.WHITE_PAWN] + counts[Board.WHITE_QUEEN] > 0, played.doPawnsColorExist(true));
+        assertEquals(counts[Board.BLACK_PAWN] + counts[Board.BLACK_QUEEN] > 0, played.doPawnsColorExist(false));
+    }
+}
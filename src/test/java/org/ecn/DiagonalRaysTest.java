@@ -0,0 +1,46 @@
+package org.ecn;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagonalRaysTest {
+
+    @Test
+    void raysWalkToTheBorder() {
+        DiagonalRays rays = DiagonalRays.of(10);
+        assertSame(rays, DiagonalRays.of(10));
+
+        int corner = BoardLocation.toSquare(1, 1);
+        // direction 3 goes down right along the main diagonal
+        int[] ray = rays.ray(corner, MoveBehavior.diagonalIndex(3));
+        assertEquals(9, ray.length);
+        for (int k = 0; k < ray.length; k++) {
+            assertEquals(BoardLocation.toSquare(k + 2, k + 2), ray[k]);
+        }
+        assertEquals(0, rays.ray(corner, MoveBehavior.diagonalIndex(1)).length);
+        assertEquals(0, rays.ray(corner, MoveBehavior.diagonalIndex(7)).length);
+        assertEquals(0, rays.ray(corner, MoveBehavior.diagonalIndex(9)).length);
+
+        int[] ray1 = rays.ray(BoardLocation.toSquare(4, 7), MoveBehavior.diagonalIndex(1));
+        assertArrayEquals(new int[]{BoardLocation.toSquare(5, 6), BoardLocation.toSquare(6, 5), BoardLocation.toSquare(7, 4),
+                BoardLocation.toSquare(8, 3), BoardLocation.toSquare(9, 2), BoardLocation.toSquare(10, 1)}, ray1);
+        int[] ray9 = rays.ray(BoardLocation.toSquare(4, 7), MoveBehavior.diagonalIndex(9));
+        assertArrayEquals(new int[]{BoardLocation.toSquare(3, 8), BoardLocation.toSquare(2, 9), BoardLocation.toSquare(1, 10)}, ray9);
+    }
+
+    @Test
+    void raysStayInsideSmallerBoards() {
+        DiagonalRays rays = DiagonalRays.of(4);
+        for (int row = 1; row <= 4; row++) {
+            for (int col = 1; col <= 4; col++) {
+                for (int direction = 0; direction < DiagonalRays.DIRECTIONS; direction++) {
+                    for (int square : rays.ray(BoardLocation.toSquare(row, col), direction)) {
+                        assertTrue(BoardLocation.squareRow(square) >= 1 && BoardLocation.squareRow(square) <= 4);
+                        assertTrue(BoardLocation.squareCol(square) >= 1 && BoardLocation.squareCol(square) <= 4);
+                    }
+                }
+            }
+        }
+    }
+}
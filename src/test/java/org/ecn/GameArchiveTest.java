@@ -0,0 +1,84 @@
+package org.ecn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamGames() throws IOException {
+        Path file = tempDir.resolve("games.archive");
+        List<BoardController> games = new ArrayList<>();
+        Random random = new Random(41);
+        MoveBuffer moves = new MoveBuffer();
+        // small blocks so that games spread over several blocks
+        try (GameArchive.Writer writer = new GameArchive.Writer(file, 16)) {
+            for (int g = 0; g < 100; g++) {
+                BoardController game = new BoardController(new Board(g % 2 == 0 ? 10 : 14), "Joueur " + g, g % 3 == 0 ? null : "Joueur é");
+                game.getBoard().setGameEventListener(null);
+                List<Integer> moveHistory = new ArrayList<>();
+                boolean isWhiteTurn = false;
+                for (int ply = 0; ply < 150 && game.getBoard().generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                    int move = moves.get(random.nextInt(moves.size()));
+                    moveHistory.add(move);
+                    isWhiteTurn ^= game.getBoard().playMove(move);
+                }
+                game.setMoveHistory(moveHistory);
+                game.setWhiteTurn(isWhiteTurn);
+                writer.add(game);
+                games.add(game);
+            }
+        }
+        System.out.println("Archive of " + games.size() + " games: " + Files.size(file) + " bytes");
+
+        try (GameArchive.Reader reader = GameArchive.open(file)) {
+            assertEquals(games.size(), reader.getGameCount());
+            int count = 0;
+            while (reader.next()) {
+                BoardController game = games.get(count);
+                assertEquals(count, reader.getGameIndex());
+                assertEquals(game.getMoveHistory().size(), reader.getMoveCount());
+                for (int i = 0; i < reader.getMoveCount(); i++) {
+                    assertEquals((int) game.getMoveHistory().get(i), reader.getMove(i));
+                }
+                assertEquals(game.getSecondPlayerName(), reader.getSecondPlayerName());
+                count++;
+            }
+            assertEquals(games.size(), count);
+
+            for (int g : new int[]{57, 3, 99, 16, 16}) {
+                reader.seek(g);
+                BoardController game = reader.toBoardController();
+                game.getBoard().setGameEventListener(null);
+                assertEquals(games.get(g), game);
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.seek(100));
+        }
+    }
+
+    @Test
+    void rejectsUnclosedArchive() throws IOException {
+        Path file = tempDir.resolve("unclosed.archive");
+        GameArchive.Writer writer = GameArchive.create(file);
+        writer.add(new BoardController(new Board(10)));
+        assertThrows(IOException.class, () -> GameArchive.open(file));
+        writer.close();
+        try (GameArchive.Reader reader = GameArchive.open(file)) {
+            assertTrue(reader.next());
+            assertEquals(0, reader.getMoveCount());
+            assertFalse(reader.next());
+        }
+    }
+}
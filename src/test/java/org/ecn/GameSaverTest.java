@@ -1,9 +1,16 @@
 package org.ecn;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,4 +30,72 @@ class GameSaverTest {
         // automatically delete file on exit
          targetFile.deleteOnExit();
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveGameBinary() throws IOException {
+        BoardController boardController = new BoardController(new Board(10), "Joueur 1", "Joueur 2");
+        MoveBuffer moves = new MoveBuffer();
+        boolean isWhiteTurn = false;
+        for (int ply = 0; ply < 40 && boardController.getBoard().generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+            isWhiteTurn ^= boardController.getBoard().playMove(moves.get(ply % moves.size()));
+        }
+        boardController.setWhiteTurn(isWhiteTurn);
+        assertFalse(boardController.getMoveHistory().isEmpty());
+
+        File jsonFile = new File("saveGameBinary.json");
+        File binaryFile = new File("saveGameBinary.bin");
+        jsonFile.deleteOnExit();
+        binaryFile.deleteOnExit();
+        GameSaver.saveGame(boardController, jsonFile);
+        GameSaver.saveGameBinary(boardController, binaryFile);
+        System.out.println("JSON " + jsonFile.length() + " bytes, binary " + binaryFile.length() + " bytes");
+        assertTrue(binaryFile.length() * 3 < jsonFile.length());
+        // both formats are detected
+        assertEquals(boardController, GameSaver.loadGame(jsonFile));
+        assertEquals(boardController, GameSaver.loadGame(binaryFile));
+    }
+
+    @Test
+    void binaryKeepsAnyPiece() throws IOException {
+        Board board = new Board(7, Board.Engine.BITBOARD);
+        // light square and dead pawn
+        board.setPiece(1, 1, Board.WHITE_QUEEN);
+        board.setPiece(2, 1, Board.DEAD_PAWN);
+        BoardController boardController = new BoardController(board, null, "Joueur 2");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSaver.writeBinary(boardController, out);
+        byte[] bytes = out.toByteArray();
+        assertEquals(boardController, GameSaver.readBinary(new ByteArrayInputStream(bytes)));
+
+        bytes[4] = 2;
+        assertThrows(IOException.class, () -> GameSaver.readBinary(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void corruptedBinaryThrowsIOException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSaver.writeBinary(new BoardController(new Board(7, Board.Engine.BITBOARD), null, null), out);
+        byte[] bytes = out.toByteArray();
+
+        for (int size : new int[]{0, 15, 255}) {
+            byte[] badSize = bytes.clone();
+            badSize[5] = (byte) size;
+            assertThrows(IOException.class, () -> GameSaver.readBinary(new ByteArrayInputStream(badSize)));
+        }
+
+        // no moves: the count is the last byte, replaced by a varint of Integer.MAX_VALUE then of a negative count
+        for (byte last : new byte[]{0x07, 0x0F}) {
+            byte[] badCount = Arrays.copyOf(bytes, bytes.length + 4);
+            Arrays.fill(badCount, bytes.length - 1, badCount.length - 1, (byte) 0xFF);
+            badCount[badCount.length - 1] = last;
+            assertThrows(IOException.class, () -> GameSaver.readBinary(new ByteArrayInputStream(badCount)));
+        }
+    }
+
+    @Test
+    void loadShortJson(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("short.json");
+        Files.write(file, "{}".getBytes(StandardCharsets.UTF_8));
+        assertNotNull(GameSaver.loadGame(file.toFile()));
+    }
+}
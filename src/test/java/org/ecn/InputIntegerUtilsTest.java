@@ -0,0 +1,32 @@
+package org.ecn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputIntegerUtilsTest {
+
+    @AfterEach
+    void restoreInput() {
+        InputIntegerUtils.setInput(System.in);
+        InputIntegerUtils.setPromptEnabled(true);
+    }
+
+    @Test
+    void readScriptedInput() {
+        InputIntegerUtils.setInput(new StringReader("# board size\n10\nx 20 5 # comment 8\n 4 \t7\n9"));
+        InputIntegerUtils.setPromptEnabled(false);
+        assertEquals(10, InputIntegerUtils.getBoundedInteger(4, 14, "Enter Board size"));
+        // wrong inputs are skipped
+        assertEquals(5, InputIntegerUtils.getBoundedInteger(1, 10, "Chosen Row"));
+        assertEquals(7, InputIntegerUtils.getIntegerInList(Arrays.asList(1, 3, 7, 9), "Chosen Direction: "));
+        assertEquals(9, (int) InputIntegerUtils.nextInteger());
+        assertNull(InputIntegerUtils.nextInteger());
+        assertThrows(NoSuchElementException.class, () -> InputIntegerUtils.getBoundedInteger(1, 10, "Chosen Column"));
+    }
+}
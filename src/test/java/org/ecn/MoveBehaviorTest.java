@@ -33,4 +33,23 @@ class MoveBehaviorTest {
         assertEquals(8, MoveBehavior.getDirectionFromDxDy(multXWith * 0, -1 * multYWith));
         assertEquals(9, MoveBehavior.getDirectionFromDxDy(multXWith * 1, -1 * multYWith));
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveTablesMatchMaps() {
+        for (int direction = 1; direction <= 9; direction++) {
+            assertEquals(MoveBehavior.DIRECTION_TO_DX.get(direction), MoveBehavior.dx(direction));
+            assertEquals(MoveBehavior.DIRECTION_TO_DY.get(direction), MoveBehavior.dy(direction));
+            assertEquals(direction, MoveBehavior.getDirectionFromDxDy(MoveBehavior.dx(direction), MoveBehavior.dy(direction)));
+            assertEquals(Board.ALLOWED_DIRECTIONS.indexOf(direction), MoveBehavior.diagonalIndex(direction));
+        }
+        assertEquals(-1, MoveBehavior.diagonalIndex(0));
+        assertEquals(-1, MoveBehavior.diagonalIndex(-3));
+        assertEquals(-1, MoveBehavior.diagonalIndex(10));
+        for (int index = 0; index < Board.ALLOWED_DIRECTIONS.size(); index++) {
+            int direction = MoveBehavior.diagonal(index);
+            assertEquals(Board.ALLOWED_DIRECTIONS.get(index), direction);
+            assertEquals(MoveBehavior.dx(direction), MoveBehavior.diagonalDx(index));
+            assertEquals(MoveBehavior.dy(direction), MoveBehavior.diagonalDy(index));
+        }
+    }
+}
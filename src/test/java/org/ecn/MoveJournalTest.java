@@ -0,0 +1,84 @@
+package org.ecn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void restoreAnyPly() throws IOException {
+        Path file = tempDir.resolve("game.journal");
+        Board board = new Board(10);
+        List<Board> positions = new ArrayList<>();
+        List<Boolean> turns = new ArrayList<>();
+        boolean isWhiteTurn = false;
+        try (MoveJournal journal = MoveJournal.create(file, board, isWhiteTurn, 10)) {
+            board.setGameEventListener(journal);
+            isWhiteTurn = playRandomly(board, isWhiteTurn, 200, new Random(31), positions, turns);
+            assertEquals(positions.size() - 1, journal.getPlyCount());
+            assertRestores(journal, positions, turns);
+        }
+
+        // reopened journal keeps recording where it stopped
+        try (MoveJournal journal = MoveJournal.open(file)) {
+            assertRestores(journal, positions, turns);
+            Board resumed = journal.resume();
+            assertEquals(board, resumed);
+            positions.remove(positions.size() - 1);
+            turns.remove(turns.size() - 1);
+            playRandomly(resumed, isWhiteTurn, 100, new Random(37), positions, turns);
+            assertRestores(journal, positions, turns);
+        }
+        try (MoveJournal journal = MoveJournal.open(file)) {
+            assertRestores(journal, positions, turns);
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("other.json");
+        Files.write(file, "{\"board\":null}".getBytes());
+        assertThrows(IOException.class, () -> MoveJournal.open(file));
+    }
+
+    /**
+     * Play moves through {@link Board#tryMove(int, int, int, int)}, keeping a copy of the board after each ply
+     *
+     * @return color playing next
+     */
+    private static boolean playRandomly(Board board, boolean isWhiteTurn, int plies, Random random,
+                                        List<Board> positions, List<Boolean> turns) {
+        MoveBuffer moves = new MoveBuffer();
+        positions.add(new Board(board));
+        turns.add(isWhiteTurn);
+        for (int ply = 0; ply < plies && board.generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+            int move = moves.get(random.nextInt(moves.size()));
+            MoveResult result = board.tryMove(BoardLocation.squareRow(MoveBuffer.from(move)), BoardLocation.squareCol(MoveBuffer.from(move)),
+                    MoveBuffer.direction(move), MoveBuffer.steps(move));
+            isWhiteTurn ^= result == MoveResult.OK;
+            positions.add(new Board(board));
+            turns.add(isWhiteTurn);
+        }
+        return isWhiteTurn;
+    }
+
+    private static void assertRestores(MoveJournal journal, List<Board> positions, List<Boolean> turns) {
+        for (int ply = 0; ply < positions.size(); ply++) {
+            assertEquals(positions.get(ply), journal.restore(ply), "ply " + ply);
+            assertEquals(turns.get(ply), journal.isWhiteTurn(ply), "ply " + ply);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> journal.restore(positions.size()));
+    }
+}
@@ -0,0 +1,147 @@
+package org.ecn;
+
+import org.ecn.exp.PdnFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdnTest {
+
+    @Test
+    void squareNumbering() {
+        SquareNumbering numbering = SquareNumbering.of(10);
+        assertEquals(50, numbering.getSquareCount());
+        assertEquals(BoardLocation.toSquare(1, 2), numbering.square(1));
+        assertEquals(BoardLocation.toSquare(10, 9), numbering.square(50));
+        assertEquals(0, numbering.square(51));
+        for (int number = 1; number <= 50; number++) {
+            assertEquals(number, numbering.number(numbering.square(number)));
+        }
+        assertEquals(0, numbering.number(BoardLocation.toSquare(1, 1)));
+    }
+
+    @Test
+    void writeAndReadGames() throws IOException, PdnFormatException {
+        List<BoardController> games = new ArrayList<>();
+        Random random = new Random(43);
+        MoveBuffer moves = new MoveBuffer();
+        StringWriter text = new StringWriter();
+        try (PdnWriter writer = new PdnWriter(text)) {
+            for (int g = 0; g < 50; g++) {
+                BoardController game = new BoardController(new Board(g % 2 == 0 ? 10 : 8), "Joueur " + g, g % 3 == 0 ? null : "Joueur \"é\"");
+                game.getBoard().setGameEventListener(null);
+                List<Integer> moveHistory = new ArrayList<>();
+                boolean isWhiteTurn = g % 4 == 1;
+                boolean isTurnEnded = true;
+                for (int ply = 0; (ply < 120 || !isTurnEnded) && game.getBoard().generateLegalMoves(isWhiteTurn, moves) > 0; ply++) {
+                    int move = moves.get(random.nextInt(moves.size()));
+                    // a chain goes on with the same piece
+                    for (int i = 0; !isTurnEnded && MoveBuffer.from(move) != MoveBuffer.to(moveHistory.get(moveHistory.size() - 1)); i++) {
+                        move = moves.get(i);
+                    }
+                    moveHistory.add(move);
+                    isTurnEnded = game.getBoard().playMove(move);
+                    isWhiteTurn ^= isTurnEnded;
+                }
+                game.setMoveHistory(moveHistory);
+                game.setWhiteTurn(isWhiteTurn);
+                writer.writeGame(game);
+                games.add(game);
+            }
+        }
+
+        try (PdnReader reader = new PdnReader(new StringReader(text.toString()))) {
+            int count = 0;
+            while (reader.next()) {
+                BoardController game = games.get(count);
+                assertEquals(game.getMoveHistory().size(), reader.getMoveCount(), "game " + count);
+                for (int i = 0; i < reader.getMoveCount(); i++) {
+                    assertEquals((int) game.getMoveHistory().get(i), reader.getMove(i));
+                }
+                assertEquals(game.isWhiteTurn(), reader.isWhiteTurn());
+                BoardController read = reader.toBoardController();
+                read.getBoard().setGameEventListener(null);
+                assertEquals(game, read);
+                count++;
+            }
+            assertEquals(games.size(), count);
+        }
+    }
+
+    @Test
+    void readAnnotatedGames() throws IOException, PdnFormatException {
+        String text = "[Event \"Test\"]\n[White \"Ami\"]\n[Result \"*\"]\n"
+                + "1. 32-28 {ouverture} 19-23 2. 28x19 ; prise\n 14x23 (2... 13x24) 3. 37-32! $1 *\n"
+                + "[GameType \"20\"]\n1. 32-28 18-23 2. 28-19 *\n"
+                + "[FEN \"W:WK46:B37,27\"]\n 46x21 0-2\n"
+                + "1. 32-28 17-22 2. 28x17 12x21 *";
+        try (PdnReader reader = new PdnReader(new StringReader(text))) {
+            assertTrue(reader.next());
+            assertEquals("Test", reader.getTag("Event"));
+            assertEquals("Ami", reader.toBoardController().getFirstPlayerName());
+            assertNull(reader.toBoardController().getSecondPlayerName());
+            assertEquals(5, reader.getMoveCount());
+            assertEquals("*", reader.getResult());
+            assertFalse(reader.isWhiteTurn());
+
+            // 19 is taken
+            PdnFormatException e = assertThrows(PdnFormatException.class, reader::next);
+            assertTrue(e.getMessage().startsWith("Line 7"), e.getMessage());
+
+            // short form of a chain of two attacks from a queen
+            assertTrue(reader.next());
+            assertEquals(2, reader.getMoveCount());
+            assertEquals(Board.WHITE_QUEEN, reader.getBoard().getPiece(5, 2));
+            assertEquals("0-2", reader.getResult());
+
+            assertTrue(reader.next());
+            assertEquals(4, reader.getMoveCount());
+            assertFalse(reader.next());
+            assertEquals(4, reader.getGameCount());
+        }
+    }
+
+    @Test
+    void rejectAmbiguousCapture() throws IOException, PdnFormatException {
+        // the pawn on 8 eats the four pawns around 18 and comes back, either through 17 first or through 19 first
+        String text = "[FEN \"B:W12,13,22,23:B8\"]\n 8x8 *\n"
+                + "[FEN \"B:W12,13,22,23:B8\"]\n 8x17x28x19x8 *";
+        try (PdnReader reader = new PdnReader(new StringReader(text))) {
+            PdnFormatException e = assertThrows(PdnFormatException.class, reader::next);
+            assertEquals("Line 2: Capture 8x8 is ambiguous, every landing square must be given", e.getMessage());
+
+            assertTrue(reader.next());
+            assertEquals(4, reader.getMoveCount());
+            assertEquals(BoardLocation.toSquare(4, 3), MoveBuffer.to(reader.getMove(0)));
+            assertEquals(Board.BLACK_PAWN, reader.getBoard().getPiece(2, 5));
+            assertFalse(reader.getBoard().doPawnsColorExist(true));
+        }
+    }
+
+    @Test
+    void movesFollowTurnEnd() throws IOException, PdnFormatException {
+        String text = "[FEN \"W:W32:B23,1\"]\n 1. 32-28x19 *\n"
+                + "[FEN \"W:WK47:B28,1\"]\n 1. 47-41 1-7 *\n"
+                + "[FEN \"W:WK47:B28,1\"]\n 1. 47-41x23 1-7 *";
+        try (PdnReader reader = new PdnReader(new StringReader(text))) {
+            // a quiet step of a normal pawn ends its turn
+            PdnFormatException e = assertThrows(PdnFormatException.class, reader::next);
+            assertEquals("Line 2: Move 32-28x19 goes on after the end of the turn", e.getMessage());
+
+            // the queen can attack after its quiet move, the turn is not over
+            e = assertThrows(PdnFormatException.class, reader::next);
+            assertEquals("Line 4: Move 47-41 stops before the end of the turn", e.getMessage());
+
+            assertTrue(reader.next());
+            assertEquals(3, reader.getMoveCount());
+            assertTrue(reader.isWhiteTurn());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.ecn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    private Perft perft;
+
+    @BeforeEach
+    void setUp() {
+        perft = new Perft(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        perft.shutdown();
+    }
+
+    @Test
+    void firstMovesOfInitialBoard() {
+        // front row pawns move forward, the pawn on the border has a single choice
+        assertEquals(9, perft.perft(new Board(10), false, 1));
+        assertEquals(9, perft.perft(new Board(10), true, 1));
+        assertEquals(81, perft.perft(new Board(10), false, 2));
+    }
+
+    @Test
+    void parallelCountMatchesSequentialCount() {
+        Board board = new Board(8);
+        int depth = Perft.SPLIT_DEPTH + 2;
+        long expected = Perft.countSequentially(new Board(board), false, depth, Perft.createBuffers(depth));
+        assertEquals(expected, perft.perft(board, false, depth));
+        assertEquals(expected, perft.perft(new Board(8, Board.Engine.BITBOARD), false, depth));
+    }
+
+    @Test
+    void divideSumsToPerft() {
+        Board board = new Board(10);
+        MoveBuffer rootMoves = new MoveBuffer();
+        long[] nodes = perft.divide(board, true, 4, rootMoves);
+        assertEquals(rootMoves.size(), nodes.length);
+        long total = 0;
+        for (long n : nodes) {
+            total += n;
+        }
+        assertEquals(perft.perft(board, true, 4), total);
+        // starting position is left untouched
+        assertEquals(new Board(10), board);
+    }
+}
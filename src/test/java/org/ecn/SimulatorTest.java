@@ -0,0 +1,54 @@
+package org.ecn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+
+    @Test
+    void runIsReproducible() {
+        Simulator single = new Simulator(1);
+        Simulator parallel = new Simulator(3);
+        try {
+            for (Simulator.Strategy strategy : Simulator.Strategy.values()) {
+                SimulationStats expected = single.run(60, 8, strategy, 200, 11);
+                SimulationStats stats = parallel.run(60, 8, strategy, 200, 11);
+                System.out.print(stats);
+                assertEquals(60, stats.getGames());
+                assertEquals(expected.getWhiteWins(), stats.getWhiteWins());
+                assertEquals(expected.getBlackWins(), stats.getBlackWins());
+                assertEquals(expected.getMoves(), stats.getMoves());
+                assertEquals(expected.getCaptures(), stats.getCaptures());
+                assertEquals(expected.getPromotions(), stats.getPromotions());
+                assertArrayEquals(expected.getLengthHistogram(), stats.getLengthHistogram());
+                assertEquals(stats.getGames(), Arrays.stream(stats.getLengthHistogram()).sum());
+                assertTrue(stats.getCaptures() > 0);
+                assertTrue(stats.getTurns() <= stats.getMoves());
+                assertTrue(stats.getGamesPerSecond() > 0);
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void gameWonOnLastTurnIsFinished() {
+        Simulator simulator = new Simulator(1);
+        try {
+            long[] lengths = simulator.run(60, 8, Simulator.Strategy.MIXED, 1000, 5).getLengthHistogram();
+            long endedBefore = 0;
+            for (int bucket = 0; bucket < 10; bucket++) {
+                endedBefore += lengths[bucket];
+                // stopped on the last turn of the bucket, the games of the bucket are over
+                SimulationStats stats = simulator.run(60, 8, Simulator.Strategy.MIXED, (bucket + 1) * SimulationStats.LENGTH_BUCKET - 1, 5);
+                assertEquals(endedBefore, stats.getWhiteWins() + stats.getBlackWins());
+            }
+        } finally {
+            simulator.shutdown();
+        }
+    }
+}
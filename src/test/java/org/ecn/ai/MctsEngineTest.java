@@ -0,0 +1,88 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsEngineTest {
+    private MctsEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MctsEngine(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void playsWinningChain() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        Board searched = new Board(board);
+
+        MctsResult result = engine.search(board, false, 500, 10_000);
+        assertEquals(searched, board);
+        assertEquals(500, result.getPlayouts());
+        assertEquals(2, result.getTurn().length);
+        assertEquals(result.getBestMove(), result.getTurn()[0]);
+        assertEquals(1.0, result.getWinRate());
+    }
+
+    @Test
+    void playoutsArePrintFree() {
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        MctsResult result;
+        try {
+            System.setOut(new PrintStream(printed));
+            System.setErr(new PrintStream(printed));
+            result = engine.search(new Board(10), false, 1000, 10_000);
+        } finally {
+            System.setOut(out);
+            System.setErr(err);
+        }
+        assertEquals(0, printed.size());
+        assertEquals(1000, result.getPlayouts());
+        assertTrue(result.getPlayoutsPerSecond() > 0);
+
+        MoveBuffer moves = new MoveBuffer();
+        new Board(10).generateLegalMoves(false, moves);
+        boolean isLegal = false;
+        for (int i = 0; i < moves.size(); i++) {
+            isLegal |= moves.get(i) == result.getBestMove();
+        }
+        assertTrue(isLegal);
+    }
+
+    @Test
+    void stopsAtDeadline() {
+        long start = System.nanoTime();
+        MctsResult result = engine.search(new Board(10), false, Long.MAX_VALUE, 100);
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2000);
+        assertTrue(result.getPlayouts() > 0);
+    }
+
+    @Test
+    void noLegalMove() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(1, 1, Board.WHITE_PAWN);
+        MctsResult result = engine.search(board, false, 100, 1000);
+        assertEquals(0, result.getBestMove());
+        assertEquals(0, result.getTurn().length);
+    }
+}
@@ -0,0 +1,60 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.MoveBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchTest {
+    private ParallelSearch search;
+
+    @BeforeEach
+    void setUp() {
+        search = new ParallelSearch(4, new TranspositionTable(4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        search.shutdown();
+    }
+
+    @Test
+    void findsSameChainAsSingleThread() {
+        Board board = new Board(10);
+        board.clearBoard();
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+
+        SearchResult expected = new SearchEngine(new TranspositionTable(1)).search(board, false, 1000);
+        SearchResult result = search.search(board, false, 1000);
+        assertArrayEquals(expected.getTurn(), result.getTurn());
+        assertEquals(expected.getScore(), result.getScore());
+    }
+
+    @Test
+    void searchesStandardPositions() {
+        List<Board> positions = ParallelSearch.standardPositions(3);
+        assertEquals(3, positions.size());
+        assertEquals(new Board(10), positions.get(0));
+        MoveBuffer moves = new MoveBuffer();
+        for (Board position : positions) {
+            Board searched = new Board(position);
+            SearchResult result = search.search(position, false, 100);
+            assertEquals(searched, position);
+            assertTrue(result.getDepth() >= 1);
+            assertTrue(result.getNodes() > 0);
+            position.generateLegalMoves(false, moves);
+            boolean isLegal = false;
+            for (int i = 0; i < moves.size(); i++) {
+                isLegal |= moves.get(i) == result.getBestMove();
+            }
+            assertTrue(isLegal);
+        }
+    }
+}
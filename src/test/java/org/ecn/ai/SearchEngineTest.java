@@ -0,0 +1,111 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.BoardLocation;
+import org.ecn.MoveBuffer;
+import org.ecn.exp.EatObligationException;
+import org.ecn.exp.InvalidDirectionException;
+import org.ecn.exp.OutOfBoardException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchEngineTest {
+    private SearchEngine engine;
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SearchEngine(new TranspositionTable(4));
+        board = new Board(10);
+        board.clearBoard();
+    }
+
+    @Test
+    void playsWholeAttackChain() throws InvalidDirectionException, OutOfBoardException, EatObligationException {
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        Board searched = new Board(board);
+
+        SearchResult result = engine.search(board, false, 1000);
+        assertEquals(searched, board);
+        assertEquals(2, result.getTurn().length);
+        assertEquals(result.getBestMove(), result.getTurn()[0]);
+        assertTrue(result.isMate());
+        assertTrue(result.getScore() > 0);
+
+        boolean didTurnEnd = false;
+        for (int move : result.getTurn()) {
+            assertFalse(didTurnEnd);
+            didTurnEnd = board.moveItem(BoardLocation.squareRow(MoveBuffer.from(move)), BoardLocation.squareCol(MoveBuffer.from(move)),
+                    MoveBuffer.direction(move), MoveBuffer.steps(move));
+        }
+        assertTrue(didTurnEnd);
+        assertFalse(board.doPawnsColorExist(true));
+    }
+
+    @Test
+    void chainGoesOnWithMovingPiece() {
+        // after its first attack the pawn at 2, 2 must go on, though eating the queen with the other pawn pays more
+        board.setPiece(2, 2, Board.BLACK_PAWN);
+        board.setPiece(3, 3, Board.WHITE_PAWN);
+        board.setPiece(5, 5, Board.WHITE_PAWN);
+        board.setPiece(6, 2, Board.BLACK_PAWN);
+        board.setPiece(7, 3, Board.WHITE_QUEEN);
+        engine.setMaxDepth(4);
+
+        int[] turn = engine.search(board, false, 10_000).getTurn();
+        assertTrue(turn.length > 0);
+        for (int k = 1; k < turn.length; k++) {
+            assertEquals(MoveBuffer.to(turn[k - 1]), MoveBuffer.from(turn[k]));
+        }
+    }
+
+    @Test
+    void avoidsLosingPawn() {
+        board.setPiece(4, 4, Board.BLACK_PAWN);
+        board.setPiece(9, 1, Board.BLACK_PAWN);
+        board.setPiece(6, 6, Board.WHITE_PAWN);
+        engine.setMaxDepth(4);
+
+        SearchResult result = engine.search(board, false, 10_000);
+        assertTrue(result.getDepth() >= 1 && result.getDepth() <= 4);
+        assertTrue(result.getNodes() > 0);
+        assertNotEquals(BoardLocation.toSquare(5, 5), MoveBuffer.to(result.getBestMove()));
+        assertTrue(result.getScore() > 0);
+    }
+
+    @Test
+    void answersWithinBudget() {
+        Board initial = new Board(10);
+        long start = System.nanoTime();
+        SearchResult result = engine.search(initial, false, 50);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 500, "Search took " + elapsedMillis + " ms");
+        assertTrue(result.getDepth() >= 1);
+        assertEquals(1, result.getTurn().length);
+        MoveBuffer moves = new MoveBuffer();
+        initial.generateLegalMoves(false, moves);
+        assertTrue(contains(moves, result.getBestMove()));
+    }
+
+    @Test
+    void noLegalMove() {
+        board.setPiece(1, 1, Board.WHITE_PAWN);
+        SearchResult result = engine.search(board, false, 50);
+        assertEquals(0, result.getBestMove());
+        assertEquals(0, result.getTurn().length);
+        assertTrue(result.isMate());
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move)
+                return true;
+        }
+        return false;
+    }
+}
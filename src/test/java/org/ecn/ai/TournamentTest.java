@@ -0,0 +1,101 @@
+package org.ecn.ai;
+
+import org.ecn.BoardController;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    @Test
+    void eloFromResults() {
+        Elo even = Elo.fromResults(10, 0, 10);
+        assertEquals(0, even.getDifference(), 1e-9);
+        assertTrue(even.getLower() < 0 && even.getUpper() > 0);
+        // 3 points out of 4 is about 191 Elo
+        Elo better = Elo.fromResults(300, 0, 100);
+        assertEquals(190.8, better.getDifference(), 0.1);
+        assertTrue(better.getLower() > 150 && better.getUpper() < 235);
+        assertEquals(Elo.MAX_DIFFERENCE, Elo.fromResults(5, 0, 0).getDifference());
+        assertEquals(0.75, Elo.expectedScore(Elo.difference(0.75)), 1e-9);
+    }
+
+    @Test
+    void sprtStopsOnClearResults() {
+        Sprt stronger = new Sprt(0, 50, 0.05, 0.05);
+        while (stronger.getStatus() == Sprt.Status.CONTINUE) {
+            // 3 wins for 1 loss
+            stronger.addGame(stronger.getGames() % 4 == 3 ? 0 : 1);
+        }
+        assertEquals(Sprt.Status.ACCEPT_H1, stronger.getStatus());
+        assertTrue(stronger.getGames() < 100, stronger.toString());
+
+        Sprt even = new Sprt(0, 50, 0.05, 0.05);
+        while (even.getStatus() == Sprt.Status.CONTINUE) {
+            even.addGame(even.getGames() % 2);
+        }
+        assertEquals(Sprt.Status.ACCEPT_H0, even.getStatus());
+        assertThrows(IllegalArgumentException.class, () -> new Sprt(10, 0, 0.05, 0.05));
+    }
+
+    @Test
+    void playRoundRobinAndSprt() {
+        Tournament tournament = new Tournament(2);
+        try {
+            tournament.setBoardSizes(6, 8);
+            tournament.setMaxTurns(200);
+            tournament.addPlayer("random", RandomPlayer::new);
+            tournament.addPlayer("greedy", GreedyCapturePlayer::new);
+            tournament.addPlayer("search", seed -> {
+                SearchEngine engine = new SearchEngine(new TranspositionTable(1));
+                engine.setMaxDepth(2);
+                return new EnginePlayer(engine, 1000);
+            });
+            TournamentResult result = tournament.playRoundRobin(3, 5);
+            System.out.print(result);
+            for (int player = 0; player < 3; player++) {
+                for (int opponent = 0; opponent < 3; opponent++) {
+                    // 3 pairs on 2 board sizes
+                    assertEquals(player == opponent ? 0 : 12, result.getGames(player, opponent));
+                }
+            }
+            assertEquals(24, result.getElo(0).getGames());
+            assertEquals(-result.getElo(0, 1).getDifference(), result.getElo(1, 0).getDifference(), 1e-9);
+
+            Sprt sprt = tournament.playSprt("search", "random", new Sprt(0, 100, 0.1, 0.1), 50, 0);
+            System.out.println(sprt);
+            assertEquals(0, sprt.getGames() % 2);
+            assertTrue(sprt.getStatus() != Sprt.Status.CONTINUE || sprt.getGames() == 100);
+        } finally {
+            tournament.shutdown();
+        }
+    }
+
+    @Test
+    void enginePairsPlayDifferentGames() {
+        Tournament tournament = new Tournament(1);
+        try {
+            tournament.setMaxTurns(100);
+            Set<List<Integer>> games = new HashSet<>();
+            for (long seed = 0; seed < 4; seed++) {
+                BoardController opening = tournament.playOpening(8, seed);
+                BoardController game = tournament.playGame(searchPlayer(4), searchPlayer(2), opening);
+                assertEquals(opening.getMoveHistory(), game.getMoveHistory().subList(0, opening.getMoveHistory().size()));
+                games.add(game.getMoveHistory());
+            }
+            assertEquals(4, games.size());
+        } finally {
+            tournament.shutdown();
+        }
+    }
+
+    private static EnginePlayer searchPlayer(int maxDepth) {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1));
+        engine.setMaxDepth(maxDepth);
+        return new EnginePlayer(engine, 1000);
+    }
+}
@@ -0,0 +1,90 @@
+package org.ecn.ai;
+
+import org.ecn.Board;
+import org.ecn.BoardLocation;
+import org.ecn.MoveBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void capacityFollowsMemoryBudget() {
+        assertEquals(65536, new TranspositionTable(1).capacity());
+        assertEquals(131072, new TranspositionTable(2).capacity());
+        assertEquals(131072, new TranspositionTable(3).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void storeAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = new Board(10).getZobristKey();
+        assertEquals(0L, table.probe(key));
+
+        int move = MoveBuffer.encode(BoardLocation.toSquare(3, 0), BoardLocation.toSquare(4, 1), 0);
+        table.store(key, move, 7, TranspositionTable.LOWER_BOUND, -1234);
+        long entry = table.probe(key);
+        assertTrue(TranspositionTable.isHit(entry));
+        assertEquals(move, TranspositionTable.move(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(-1234, TranspositionTable.score(entry));
+
+        // same slot, other position
+        assertEquals(0L, table.probe(key + table.capacity()));
+
+        // shallower results do not replace deeper ones of the same position
+        table.store(key, 0, 3, TranspositionTable.EXACT, 0);
+        assertEquals(entry, table.probe(key));
+        table.store(key, 0, 8, TranspositionTable.EXACT, 0);
+        assertEquals(8, TranspositionTable.depth(table.probe(key)));
+
+        table.clear();
+        assertEquals(0L, table.probe(key));
+    }
+
+    @Test
+    void concurrentWritesNeverMixEntries() throws InterruptedException {
+        // tiny table so that threads keep overwriting the same slots
+        TranspositionTable table = new TranspositionTable(1);
+        long[] keys = new long[4 * table.capacity()];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int round = 0; round < 4; round++) {
+                    for (long key : keys) {
+                        // every stored field is derived from the key, a hit must give all of them back
+                        table.store(key, (int) key & 0xFFFFFF, (int) (key >>> 24) & 0xFF, TranspositionTable.EXACT, (short) (key >>> 40));
+                        long entry = table.probe(key);
+                        if (entry != 0L && (TranspositionTable.move(entry) != ((int) key & 0xFFFFFF)
+                                || TranspositionTable.score(entry) != (short) (key >>> 40))) {
+                            throw new AssertionError("Mixed entry for key " + key);
+                        }
+                    }
+                }
+            });
+            thread.setUncaughtExceptionHandler((th, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures::toString);
+    }
+}